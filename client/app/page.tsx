@@ -1,6 +1,6 @@
 "use client"
 
-import { useState, useEffect, useCallback } from "react"
+import { useState, useEffect, useCallback, useRef } from "react"
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card"
 import { Button } from "@/components/ui/button"
 import { Input } from "@/components/ui/input"
@@ -190,10 +190,14 @@ export default function FlexFitApp() {
   } = useTts()
   const [selectedVoice, setSelectedVoice] = useState<string>('en-US-Neural2-F')
 
+  // Days whose markdown was already requested; range reads leave the markdown out
+  const markdownRequested = useRef<Set<string>>(new Set())
+
   // Function to load workouts from backend
   const loadWorkouts = useCallback(async () => {
     if (!user?.id) return
 
+    markdownRequested.current.clear()
     setIsLoadingWorkouts(true)
     setWorkoutError(null)
 
@@ -313,6 +317,22 @@ export default function FlexFitApp() {
     console.log(`Selected date: ${dateKey}, Workout found:`, workout ? workout.name : "None")
   }, [selectedDate, workoutSessions])
 
+  useEffect(() => {
+    // Fetch the selected day's markdown once; the month's range read does not include it
+    const dateKey = formatDateForAPI(selectedDate)
+    const workout = workoutSessions[dateKey]
+    if (!user?.id || !workout || workout.content || markdownRequested.current.has(dateKey)) return
+
+    markdownRequested.current.add(dateKey)
+    workoutService.getWorkoutMarkdown(user.id, dateKey).then(response => {
+      const markdown = response.data?.markdownContent
+      if (!markdown) return
+      setWorkoutSessions(prev => prev[dateKey]?.id === workout.id
+        ? { ...prev, [dateKey]: { ...prev[dateKey], content: markdown } }
+        : prev)
+    })
+  }, [user?.id, selectedDate, workoutSessions])
+
   const getDateStatus = (date: Date): WorkoutStatus => {
     const dateKey = formatDateForAPI(date)
     const workout = workoutSessions[dateKey]
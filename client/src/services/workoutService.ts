@@ -70,6 +70,16 @@ export class WorkoutService {
     );
   }
 
+  /**
+   * Get only the markdown of a user's workout on a specific date.
+   * Range reads leave the markdown out; fetch it here when a day is opened.
+   */
+  async getWorkoutMarkdown(userId: string, date: string): Promise<ApiResponse<Pick<DailyWorkoutResponse, 'markdownContent'>>> {
+    return apiClient.get<Pick<DailyWorkoutResponse, 'markdownContent'>>(
+      `${this.baseEndpoint}/user/${userId}/date/${date}?fields=markdownContent`
+    );
+  }
+
   /**
    * Get current user's workout for a specific date
    * Note: This requires the user ID to be passed. In a real implementation,
@@ -77,7 +77,7 @@ export interface DailyWorkoutResponse {
   completionStatus: CompletionStatus;
   rpeOverallFeedback?: number;
   completionNotes?: string;
-  markdownContent: string;
+  markdownContent?: string; // Left out of range reads; see workoutService.getWorkoutMarkdown
   scheduledExercises: ScheduledExerciseResponse[];
 }
 
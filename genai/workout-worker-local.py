@@ -4,7 +4,7 @@ import time
 import logging
 from typing import List, Optional, Any
 from fastapi import FastAPI, HTTPException, Header
-from fastapi.responses import Response
+from fastapi.responses import Response, StreamingResponse
 from pydantic import BaseModel, Field
 from langchain.llms.base import LLM
 from langchain_core.prompts import PromptTemplate
@@ -61,6 +61,7 @@ class WeeklyPromptContext(BaseModel):
     user_preferences: dict
     text_prompt: str = ""
     last_7_days_exercises: List[dict] = []
+    start_date: Optional[str] = None  # ISO date of the week's first day
 
 # --- Local LLM Implementations ---
 class LocalLLM(LLM):
@@ -709,10 +710,10 @@ async def generate_weekly_workout(context: WeeklyPromptContext, authorization: O
     try:
         logger.info(f"Generating weekly workout with local AI model: {llm._llm_type}")
         
-        # Get dates for the next 7 days starting from today
+        # Get dates for the 7 days starting at the requested week start (today if not given)
         from datetime import datetime, timedelta
-        today = datetime.now().date()
-        dates = [(today + timedelta(days=i)).isoformat() for i in range(7)]
+        start = datetime.fromisoformat(context.start_date).date() if context.start_date else datetime.now().date()
+        dates = [(start + timedelta(days=i)).isoformat() for i in range(7)]
         
         # Add dates to context
         context_dict = context.dict()
@@ -755,6 +756,82 @@ async def generate_weekly_workout(context: WeeklyPromptContext, authorization: O
         logger.error(f"Unexpected error during local weekly workout generation: {e}")
         raise HTTPException(status_code=500, detail=f"Local AI weekly workout generation failed: {str(e)}")
 
+# --- Streaming Weekly Generation ---
+# Sport types cycled through when the user has no preferences; REST days are fixed
+DEFAULT_WEEKLY_ROTATION = ["STRENGTH", "HIIT", "YOGA_MOBILITY", "RUNNING_INTERVALS"]
+WEEKLY_REST_DAY_INDEXES = {3, 6}
+
+def plan_weekly_sport_types(user_preferences: dict) -> List[str]:
+    """Assign a focus sport type to each of the 7 days before any day is generated."""
+    preferred = [s for s in (user_preferences or {}).get("preferredSportTypes") or [] if s != "REST"]
+    rotation = preferred or DEFAULT_WEEKLY_ROTATION
+    schedule = []
+    training_days = 0
+    for day in range(7):
+        if day in WEEKLY_REST_DAY_INDEXES:
+            schedule.append("REST")
+        else:
+            schedule.append(rotation[training_days % len(rotation)])
+            training_days += 1
+    return schedule
+
+def summarize_day(workout: GenAIDailyWorkout) -> dict:
+    """History entry in the same shape the Java service sends in last_7_days_exercises."""
+    return {
+        "day_date": workout.day_date,
+        "sport_type": workout.focus_sport_type_for_the_day,
+        "exercises": [e.exercise_name for e in workout.scheduled_exercises],
+        "muscle_groups_worked": sorted({m for e in workout.scheduled_exercises for m in e.muscle_groups_primary}),
+    }
+
+@app.post("/generate-weekly/stream", summary="Stream a Weekly Workout Plan day by day as NDJSON")
+async def generate_weekly_workout_stream(context: WeeklyPromptContext, authorization: Optional[str] = Header(None)):
+    """
+    Generate the 7 days one at a time with the daily prompt and write each as one JSON line
+    (a GenAIDailyWorkout) as soon as it is ready, so callers can persist and display the first
+    day without waiting for the whole week. Days already generated are fed back as history so
+    later days avoid repeating them. A failure is reported as a final {"error": ...} line.
+    """
+    if not authorization:
+        logger.warning("No authorization header provided - continuing in development mode")
+
+    from datetime import datetime, timedelta
+    start = datetime.fromisoformat(context.start_date).date() if context.start_date else datetime.now().date()
+    dates = [(start + timedelta(days=i)).isoformat() for i in range(7)]
+    sport_types = plan_weekly_sport_types(context.user_preferences)
+
+    def generate_days():
+        start_time = time.time()
+        history = list(context.last_7_days_exercises)
+        try:
+            for day_date, sport_type in zip(dates, sport_types):
+                day_context = {
+                    "user_profile": context.user_profile,
+                    "user_preferences": context.user_preferences,
+                    "daily_focus": {
+                        "day_date": day_date,
+                        "focus_sport_type_for_the_day": sport_type,
+                    },
+                    "last_7_days_exercises": history,
+                    "text_prompt": context.text_prompt,
+                }
+                response_text = llm._call(prompt.format(context=json.dumps(day_context, indent=2)))
+                workout = GenAIResponse(**json.loads(response_text)).daily_workout
+                history.append(summarize_day(workout))
+                logger.info(f"Streamed weekly day {day_date} ({sport_type}) after {time.time() - start_time:.2f} seconds")
+                yield workout.json() + "\n"
+
+            REQUEST_COUNT.labels(method="POST", endpoint="/generate-weekly/stream", status="success").inc()
+        except Exception as e:
+            REQUEST_COUNT.labels(method="POST", endpoint="/generate-weekly/stream", status="error").inc()
+            logger.error(f"Streaming weekly workout generation failed: {e}")
+            yield json.dumps({"error": f"Local AI weekly workout generation failed: {str(e)}"}) + "\n"
+        finally:
+            REQUEST_DURATION.labels(method="POST", endpoint="/generate-weekly/stream").observe(time.time() - start_time)
+
+    # A plain generator is iterated in the threadpool, so the blocking LLM calls do not stall the event loop
+    return StreamingResponse(generate_days(), media_type="application/x-ndjson")
+
 # --- Startup Event ---
 @app.on_event("startup")
 async def startup_event():
@@ -60,6 +60,7 @@ class WeeklyPromptContext(BaseModel):
     user_preferences: Any
     text_prompt: str
     last_7_days_exercises: List[Any]
+    start_date: Optional[str] = None  # ISO date of the week's first day
 
 # --- Custom LangChain LLM for Open WebUI ---
 class OpenWebUILLM(LLM):
@@ -347,10 +348,10 @@ async def generate_weekly_workout(context: WeeklyPromptContext, authorization: O
         return generate_mock_weekly_response(context)
     
     try:
-        # Get dates for the next 7 days starting from today
+        # Get dates for the 7 days starting at the requested week start (today if not given)
         from datetime import datetime, timedelta
-        today = datetime.now().date()
-        dates = [(today + timedelta(days=i)).isoformat() for i in range(7)]
+        start = datetime.fromisoformat(context.start_date).date() if context.start_date else datetime.now().date()
+        dates = [(start + timedelta(days=i)).isoformat() for i in range(7)]
         
         # Add dates to context
         context_dict = context.dict()
@@ -447,7 +448,7 @@ def generate_mock_weekly_response(context: WeeklyPromptContext) -> GenAIWeeklyRe
     """Generate a mock weekly workout response for testing purposes"""
     from datetime import datetime, timedelta
     
-    today = datetime.now().date()
+    start = datetime.fromisoformat(context.start_date).date() if context.start_date else datetime.now().date()
     workouts = []
     
     # Define a 7-day split with REST days included
@@ -462,7 +463,7 @@ def generate_mock_weekly_response(context: WeeklyPromptContext) -> GenAIWeeklyRe
     ]
     
     for i, (sport_type, workout_name, muscle_groups) in enumerate(workout_plan):
-        date = (today + timedelta(days=i)).isoformat()
+        date = (start + timedelta(days=i)).isoformat()
         
         exercises = []
         if sport_type == "STRENGTH":
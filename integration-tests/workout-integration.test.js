@@ -197,6 +197,21 @@ async function runWorkoutIntegrationTests() {
       
       // Store workout ID for further tests
       CONFIG.CLOUD_WORKOUT_ID = cloudResponse.data.id;
+
+      // Range reads leave the markdown out; the client reads it per day when the day is opened
+      const day = CONFIG.TEST_WORKOUT_REQUEST.dayDate;
+      const plansUrl = `${CONFIG.API_GATEWAY}/workout-plan-service/api/v1/plans/user/${authData.userId}`;
+      const rangeResponse = await makeRequest(`${plansUrl}/range?startDate=${day}&endDate=${day}`, {
+        headers: { 'Authorization': `Bearer ${authData.token}` }
+      });
+      assert.strictEqual(rangeResponse.statusCode, 200, 'Range read should return 200');
+      assert.strictEqual(rangeResponse.data[0].markdownContent, undefined, 'Range read should leave the markdown out');
+      const markdownResponse = await makeRequest(`${plansUrl}/date/${day}?fields=markdownContent`, {
+        headers: { 'Authorization': `Bearer ${authData.token}` }
+      });
+      assert.strictEqual(markdownResponse.statusCode, 200, 'Markdown read should return 200');
+      assert.strictEqual(markdownResponse.data.markdownContent, cloudResponse.data.markdownContent,
+        'Markdown read should return the generated content');
       
       console.log('✅ API Gateway Cloud AI workout generation passed');
       console.log(`   Generated workout with ${cloudResponse.data.scheduledExercises.length} exercises`);
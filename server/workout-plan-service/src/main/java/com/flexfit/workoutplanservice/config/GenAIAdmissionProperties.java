@@ -0,0 +1,42 @@
+package com.flexfit.workoutplanservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission limits for calls to each GenAI worker, bound from {@code flexfit.genai.admission.*}.
+ * Calls beyond {@code maxConcurrent} wait in a priority queue of at most {@code maxQueued}
+ * entries, for no longer than the queue timeout of their priority.
+ */
+@Data
+@ConfigurationProperties(prefix = "flexfit.genai.admission")
+public class GenAIAdmissionProperties {
+
+    private Worker cloud = new Worker(16, 100);
+    private Worker local = new Worker(4, 50);
+    private QueueTimeout queueTimeout = new QueueTimeout();
+
+    @Data
+    public static class Worker {
+        // Keep at or below the worker's HTTP connection pool size
+        private int maxConcurrent;
+        private int maxQueued;
+
+        public Worker() {
+        }
+
+        public Worker(int maxConcurrent, int maxQueued) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+        }
+    }
+
+    @Data
+    public static class QueueTimeout {
+        private Duration interactive = Duration.ofSeconds(10);
+        private Duration weekly = Duration.ofSeconds(30);
+        private Duration batch = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,37 @@
+package com.flexfit.workoutplanservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hedging and circuit breaker settings for calls to the cloud and local GenAI workers, bound
+ * from {@code flexfit.genai.routing.*}. See {@code GenAIWorkerRouter} for how they are used.
+ */
+@Data
+@ConfigurationProperties(prefix = "flexfit.genai.routing")
+public class GenAIRoutingProperties {
+
+    private Hedging hedging = new Hedging();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class Hedging {
+        private boolean enabled = true;
+        // Hedge delay until the preferred worker has enough recent samples for a p95
+        private Duration initialDelay = Duration.ofSeconds(20);
+        private int minSamples = 20;
+        // Bounds on the p95-based delay, so a very fast or very slow worker is not hedged absurdly
+        private Duration minDelay = Duration.ofSeconds(1);
+        private Duration maxDelay = Duration.ofSeconds(90);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        // Consecutive failures that open a worker's circuit
+        private int failureThreshold = 5;
+        // How long an open circuit rejects calls before letting a single trial call through
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
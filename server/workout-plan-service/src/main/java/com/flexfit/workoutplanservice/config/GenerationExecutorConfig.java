@@ -0,0 +1,24 @@
+package com.flexfit.workoutplanservice.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class GenerationExecutorConfig {
+
+    /**
+     * Executor for background workout generation. Each task gets its own virtual thread,
+     * so blocking on the GenAI workers does not tie up platform or servlet threads.
+     * Callers are responsible for bounding how many tasks they hand to it.
+     * @return A virtual-thread-per-task executor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @Qualifier("generationExecutor")
+    public ExecutorService generationExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
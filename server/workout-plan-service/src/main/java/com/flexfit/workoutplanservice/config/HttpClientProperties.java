@@ -0,0 +1,43 @@
+package com.flexfit.workoutplanservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeout settings for each downstream service, bound from
+ * {@code flexfit.http-clients.*}. The GenAI workers get long read timeouts because a
+ * weekly plan can take a minute to generate; user-service lookups should be fast.
+ */
+@Data
+@ConfigurationProperties(prefix = "flexfit.http-clients")
+public class HttpClientProperties {
+
+    private Pool userService = new Pool(50, Duration.ofSeconds(2), Duration.ofSeconds(5));
+    private Pool genaiCloud = new Pool(20, Duration.ofSeconds(2), Duration.ofSeconds(120));
+    private Pool genaiLocal = new Pool(10, Duration.ofSeconds(2), Duration.ofSeconds(180));
+
+    @Data
+    public static class Pool {
+        // All calls go to a single host, so this is both the total and the per-route limit
+        private int maxConnections;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        // How long a caller may wait for a free pooled connection
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        // Idle connections older than this are closed by the background evictor
+        private Duration idleEviction = Duration.ofSeconds(30);
+        // Upper bound on connection lifetime, so DNS/endpoint changes are picked up
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public Pool() {
+        }
+
+        public Pool(int maxConnections, Duration connectTimeout, Duration readTimeout) {
+            this.maxConnections = maxConnections;
+            this.connectTimeout = connectTimeout;
+            this.readTimeout = readTimeout;
+        }
+    }
+}
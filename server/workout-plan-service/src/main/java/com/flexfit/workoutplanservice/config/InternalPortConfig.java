@@ -0,0 +1,27 @@
+package com.flexfit.workoutplanservice.config;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opens a second connector for the /internal/** operator endpoints. Eureka registers only
+ * server.port, so the gateway never reaches this one; SecurityConfig refuses /internal/**
+ * on every other port.
+ */
+@Configuration
+public class InternalPortConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> internalPortConnector(
+            @Value("${flexfit.internal.port}") int internalPort) {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(internalPort);
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.flexfit.workoutplanservice.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Lets reads trim workouts to the requested {@link WorkoutFields}. The filter is attached
+     * through a mix-in on the application's ObjectMapper only, so other mappers serialize the
+     * DTO as usual; unless a response supplies its own filters, every property is written.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer workoutFieldsFilter() {
+        return builder -> builder
+                .mixIn(DailyWorkoutResponse.class, WorkoutFieldsFilter.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(WorkoutFields.FILTER)
+    private interface WorkoutFieldsFilter {
+    }
+}
@@ -0,0 +1,32 @@
+package com.flexfit.workoutplanservice.config;
+
+import com.flexfit.workoutplanservice.model.enums.WeeklyGenerationMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Nightly pregeneration of weekly plans, bound from {@code flexfit.pregeneration.*}. The
+ * schedule itself is {@code flexfit.pregeneration.cron}, read by {@code @Scheduled}.
+ */
+@Data
+@ConfigurationProperties(prefix = "flexfit.pregeneration")
+public class PregenerationProperties {
+
+    private boolean enabled = false;
+    private ZoneId zone = ZoneId.of("UTC");
+    // Bearer token sent to user-service for profile lookups; runs are skipped without one
+    private String serviceToken = "";
+    // Users generated concurrently, and how many are fetched and checkpointed at a time
+    private int parallelism = 4;
+    private int pageSize = 40;
+    // Only users with a workout this recently are considered active
+    private Duration activeWithin = Duration.ofDays(14);
+    // A single trigger stops taking new pages after this long; the next trigger resumes
+    private Duration maxDuration = Duration.ofHours(4);
+    private int targetDurationMinutes = 45;
+    private String aiPreference = "cloud";
+    private WeeklyGenerationMode mode = WeeklyGenerationMode.FAN_OUT;
+}
@@ -1,13 +1,31 @@
 package com.flexfit.workoutplanservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 @Configuration
-public class RestClientConfig {
+@EnableConfigurationProperties({HttpClientProperties.class, GenAIRoutingProperties.class, GenAIAdmissionProperties.class})
+public class RestClientConfig implements DisposableBean {
 
     // Injects the URL for the user-service from application.properties
     @Value("${flexfit.services.user-service.url}")
@@ -20,6 +38,16 @@ public class RestClientConfig {
     @Value("${flexfit.services.genai-service.local.url}")
     private String genaiLocalServiceUrl;
 
+    private final HttpClientProperties httpClientProperties;
+    private final MeterRegistry meterRegistry;
+    // Clients behind the RestTemplate beans, which do not close them themselves
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    public RestClientConfig(HttpClientProperties httpClientProperties, MeterRegistry meterRegistry) {
+        this.httpClientProperties = httpClientProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Creates a RestTemplate bean specifically for calling the user-service.
      * @return A configured RestTemplate instance.
@@ -27,9 +55,7 @@ public class RestClientConfig {
     @Bean
     @Qualifier("userSvcRestTemplate")
     public RestTemplate userSvcRestTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setUriTemplateHandler(new RootUriTemplateHandler(userServiceUrl));
-        return restTemplate;
+        return pooledRestTemplate("user-service", userServiceUrl, httpClientProperties.getUserService());
     }
 
     /**
@@ -39,9 +65,7 @@ public class RestClientConfig {
     @Bean
     @Qualifier("genaiCloudRestTemplate")
     public RestTemplate genaiCloudRestTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setUriTemplateHandler(new RootUriTemplateHandler(genaiCloudServiceUrl));
-        return restTemplate;
+        return pooledRestTemplate("genai-cloud", genaiCloudServiceUrl, httpClientProperties.getGenaiCloud());
     }
     
     /**
@@ -51,9 +75,7 @@ public class RestClientConfig {
     @Bean
     @Qualifier("genaiLocalRestTemplate")
     public RestTemplate genaiLocalRestTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setUriTemplateHandler(new RootUriTemplateHandler(genaiLocalServiceUrl));
-        return restTemplate;
+        return pooledRestTemplate("genai-local", genaiLocalServiceUrl, httpClientProperties.getGenaiLocal());
     }
 
     /**
@@ -64,8 +86,48 @@ public class RestClientConfig {
     @Qualifier("genaiSvcRestTemplate")
     @Deprecated
     public RestTemplate genaiSvcRestTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setUriTemplateHandler(new RootUriTemplateHandler(genaiCloudServiceUrl));
+        return pooledRestTemplate("genai-legacy", genaiCloudServiceUrl, httpClientProperties.getGenaiCloud());
+    }
+
+    /**
+     * Builds a RestTemplate backed by its own Apache HttpClient connection pool, so connections
+     * to the downstream are kept alive and reused instead of re-handshaking on every call.
+     * Pool usage (leased, pending, available) is published to Micrometer under the given name.
+     * The client, and with it the pool and its eviction thread, is closed on shutdown.
+     */
+    private RestTemplate pooledRestTemplate(String poolName, String baseUrl, HttpClientProperties.Pool pool) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(pool.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(pool.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(pool.getTimeToLive()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, poolName).bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(pool.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(pool.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getIdleEviction()))
+                .build();
+        httpClients.add(httpClient);
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.setUriTemplateHandler(new RootUriTemplateHandler(baseUrl));
         return restTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Closes the pooled clients on shutdown, which also closes their connection managers.
+     */
+    @Override
+    public void destroy() {
+        httpClients.forEach(httpClient -> httpClient.close(CloseMode.GRACEFUL));
+    }
+}
@@ -1,23 +1,29 @@
 package com.flexfit.workoutplanservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${flexfit.internal.port}") int internalPort) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 // CORS is handled by API Gateway - disabling here to prevent duplicate headers
                 // .cors(cors -> cors.and()) 
                 .authorizeHttpRequests(authorize -> authorize
+                        // Operator endpoints only answer on the internal port (see InternalPortConfig)
+                        .requestMatchers(internalEndpointsOutside(internalPort)).denyAll()
                         // Allow public access to swagger endpoints for testing
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/v3/api-docs/swagger-config").permitAll()
                         // For development: Allow all requests (disable authentication)
@@ -29,4 +35,10 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /** Matches /internal/** requests that did not arrive on the internal port. */
+    static RequestMatcher internalEndpointsOutside(int internalPort) {
+        RequestMatcher internalPaths = PathPatternRequestMatcher.withDefaults().matcher("/internal/**");
+        return request -> request.getLocalPort() != internalPort && internalPaths.matches(request);
+    }
 }
@@ -0,0 +1,29 @@
+package com.flexfit.workoutplanservice.controller;
+
+import com.flexfit.workoutplanservice.exception.GenAIRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    /**
+     * Turns GenAI admission rejections into 429 (queue full or timed out) or 503 (no worker
+     * available) responses, with a Retry-After telling the client when to try again.
+     */
+    @ExceptionHandler(GenAIRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleGenAIRejected(GenAIRejectedException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        logger.warn("Rejected GenAI request with {}: {}", e.getStatus().value(), e.getMessage());
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ProblemDetail.forStatusAndDetail(e.getStatus(), e.getMessage()));
+    }
+}
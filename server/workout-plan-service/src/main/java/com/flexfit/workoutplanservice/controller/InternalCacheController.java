@@ -0,0 +1,75 @@
+package com.flexfit.workoutplanservice.controller;
+
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+import com.flexfit.workoutplanservice.service.GenAIResponseCache;
+import com.flexfit.workoutplanservice.service.UserProfileCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Service-internal cache management. Answers only on flexfit.internal.port (see
+ * InternalPortConfig), which the gateway never routes to; user-service (or an operator)
+ * calls it there directly after a profile changes.
+ */
+@RestController
+@RequestMapping("/internal/v1/cache")
+@RequiredArgsConstructor
+@Tag(name = "Internal Cache Management", description = "Service-internal endpoints for invalidating in-process caches")
+public class InternalCacheController {
+
+    private final UserProfileCache userProfileCache;
+    private final GenAIResponseCache genAIResponseCache;
+    private final ExerciseCatalog exerciseCatalog;
+
+    @DeleteMapping("/user-profiles/{userId}")
+    @Operation(
+        summary = "Invalidate a cached user profile",
+        description = "Drop the cached user-service profile for one user so the next generation fetches it again"
+    )
+    public ResponseEntity<Void> invalidateUserProfile(
+            @Parameter(
+                description = "User ID",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathVariable UUID userId) {
+        userProfileCache.invalidate(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/user-profiles")
+    @Operation(
+        summary = "Invalidate all cached user profiles",
+        description = "Drop every cached user-service profile"
+    )
+    public ResponseEntity<Void> invalidateAllUserProfiles() {
+        userProfileCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/genai-responses")
+    @Operation(
+        summary = "Invalidate cached GenAI responses",
+        description = "Drop every cached GenAI worker response from the memory and disk tiers"
+    )
+    public ResponseEntity<Void> invalidateGenAIResponses() {
+        genAIResponseCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/exercise-catalog")
+    @Operation(
+        summary = "Invalidate interned exercise catalog entries",
+        description = "Drop every interned exercise catalog entry so the next save reads them from the database"
+    )
+    public ResponseEntity<Void> invalidateExerciseCatalog() {
+        exerciseCatalog.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.flexfit.workoutplanservice.controller;
+
+import com.flexfit.workoutplanservice.config.PregenerationProperties;
+import com.flexfit.workoutplanservice.dto.PregenerationRunResponse;
+import com.flexfit.workoutplanservice.service.WeeklyPregenerationService;
+import com.flexfit.workoutplanservice.service.WorkoutPlanMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Operator endpoints for the nightly weekly-plan pregeneration. Like the cache endpoints,
+ * they answer only on flexfit.internal.port (see InternalPortConfig); the gateway also
+ * refuses /internal/** under the service's discovery and docs prefixes.
+ */
+@RestController
+@RequestMapping("/internal/v1/pregeneration")
+@Tag(name = "Internal Pregeneration", description = "Service-internal endpoints for nightly weekly plan pregeneration")
+public class InternalPregenerationController {
+
+    private final WeeklyPregenerationService pregenerationService;
+    private final WorkoutPlanMapper mapper;
+    private final PregenerationProperties properties;
+    private final ExecutorService generationExecutor;
+
+    public InternalPregenerationController(WeeklyPregenerationService pregenerationService,
+                                           WorkoutPlanMapper mapper,
+                                           PregenerationProperties properties,
+                                           @Qualifier("generationExecutor") ExecutorService generationExecutor) {
+        this.pregenerationService = pregenerationService;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.generationExecutor = generationExecutor;
+    }
+
+    @GetMapping("/runs")
+    @Operation(
+        summary = "List recent pregeneration runs",
+        description = "Reports for the most recent nightly runs, newest first, with throughput and latency"
+    )
+    public ResponseEntity<List<PregenerationRunResponse>> recentRuns() {
+        return ResponseEntity.ok(pregenerationService.recentRuns().stream()
+                .map(mapper::toPregenerationRunResponse)
+                .toList());
+    }
+
+    @PostMapping("/runs")
+    @Operation(
+        summary = "Start or resume today's pregeneration run",
+        description = "Runs in the background; poll GET /runs for progress. Does nothing if today's run already completed"
+    )
+    public ResponseEntity<Void> startRun() {
+        LocalDate runDate = LocalDate.now(properties.getZone());
+        generationExecutor.execute(() -> pregenerationService.run(runDate));
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.flexfit.workoutplanservice.controller;
+
+import java.util.UUID;
+
+/**
+ * Strong ETags for daily workouts, derived from the row id and its JPA version. The id is
+ * included so a workout that was deleted and recreated never reuses an old tag.
+ */
+final class WorkoutETags {
+
+    private WorkoutETags() {
+    }
+
+    static String of(UUID workoutId, Long version) {
+        return of(workoutId, version, null);
+    }
+
+    /**
+     * Tag for one representation of the workout. Trimmed representations (see WorkoutFields)
+     * carry their variant, so a cache never answers a full read with a trimmed body.
+     */
+    static String of(UUID workoutId, Long version, String variant) {
+        return "\"" + workoutId + "-" + (version != null ? version : 0L)
+                + (variant != null ? ";" + variant : "") + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header against the current tag: "*" or any listed tag
+     * matches. Comparison is weak, as RFC 9110 requires for If-None-Match, so a W/ prefix
+     * added by an intermediary does not defeat the match.
+     */
+    static boolean matches(String ifNoneMatch, String currentETag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
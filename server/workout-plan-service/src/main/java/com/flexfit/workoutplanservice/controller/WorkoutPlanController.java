@@ -1,8 +1,29 @@
 package com.flexfit.workoutplanservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.flexfit.workoutplanservice.dto.ChangeCursor;
+import com.flexfit.workoutplanservice.dto.CompletionSyncRequest;
+import com.flexfit.workoutplanservice.dto.CompletionSyncResponse;
 import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.GenerationJobResponse;
+import com.flexfit.workoutplanservice.dto.HistoryPageToken;
+import com.flexfit.workoutplanservice.dto.WorkoutChangesResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutFields;
+import com.flexfit.workoutplanservice.dto.WorkoutHistoryPage;
 import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.model.GenerationJob;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobType;
+import com.flexfit.workoutplanservice.service.CompletionSyncService;
+import com.flexfit.workoutplanservice.service.GenerationJobService;
+import com.flexfit.workoutplanservice.service.WeeklyPlanStreamService;
+import com.flexfit.workoutplanservice.service.WorkoutChangeService;
+import com.flexfit.workoutplanservice.service.WorkoutHistoryService;
+import com.flexfit.workoutplanservice.service.WorkoutPlanMapper;
 import com.flexfit.workoutplanservice.service.WorkoutPlanService;
+import com.flexfit.workoutplanservice.service.WorkoutReadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,14 +35,26 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/plans")
@@ -29,7 +62,18 @@ import java.util.Optional;
 @Tag(name = "Workout Plan Management", description = "APIs for generating and managing AI-powered workout plans")
 public class WorkoutPlanController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String MARKDOWN_VALUE = "text/markdown";
+
     private final WorkoutPlanService workoutPlanService;
+    private final GenerationJobService generationJobService;
+    private final WorkoutReadService workoutReadService;
+    private final WeeklyPlanStreamService weeklyPlanStreamService;
+    private final CompletionSyncService completionSyncService;
+    private final WorkoutChangeService workoutChangeService;
+    private final WorkoutHistoryService workoutHistoryService;
+    private final WorkoutPlanMapper mapper;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/generate")
     @SecurityRequirement(name = "bearerAuth")
@@ -57,6 +101,7 @@ public class WorkoutPlanController {
                           "scheduledExercises": [
                             {
                               "sequenceOrder": 1,
+                              "exerciseId": "11fa698d-4a27-3e71-98ce-633200f9ac0c",
                               "exerciseName": "Push-ups",
                               "description": "Classic upper body strength exercise",
                               "muscleGroupsPrimary": ["Chest", "Triceps"],
@@ -71,7 +116,9 @@ public class WorkoutPlanController {
         ),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
         @ApiResponse(responseCode = "400", description = "Bad request - validation error or invalid parameters"),
-        @ApiResponse(responseCode = "500", description = "Internal server error - GenAI service unavailable or user profile not found")
+        @ApiResponse(responseCode = "500", description = "Internal server error - GenAI service unavailable or user profile not found"),
+        @ApiResponse(responseCode = "429", description = "Too many requests - GenAI worker queue is full or the wait timed out; see Retry-After"),
+        @ApiResponse(responseCode = "503", description = "Service unavailable - no GenAI worker is available; see Retry-After")
     })
     public ResponseEntity<DailyWorkoutResponse> generatePlan(
             @Valid 
@@ -108,7 +155,7 @@ public class WorkoutPlanController {
     @SecurityRequirement(name = "bearerAuth")
     @Operation(
         summary = "Get workout by user and date",
-        description = "Retrieve a specific workout plan for a user on a given date"
+        description = "Retrieve a specific workout plan for a user on a given date. Use view or fields to return, and read, only some properties. The response carries a strong ETag; send it back in If-None-Match to get 304 Not Modified while the workout is unchanged."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -119,10 +166,11 @@ public class WorkoutPlanController {
                 schema = @Schema(implementation = DailyWorkoutResponse.class)
             )
         ),
+        @ApiResponse(responseCode = "304", description = "Not modified - the workout still matches the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
         @ApiResponse(responseCode = "404", description = "Workout not found for the specified user and date")
     })
-    public ResponseEntity<DailyWorkoutResponse> getWorkoutByUserAndDate(
+    public ResponseEntity<MappingJacksonValue> getWorkoutByUserAndDate(
             @Parameter(
                 description = "User ID",
                 example = "550e8400-e29b-41d4-a716-446655440000",
@@ -135,20 +183,98 @@ public class WorkoutPlanController {
                 required = true
             )
             @PathVariable String date,
+            @Parameter(
+                description = "Preset selection of workout properties: summary (id, dayDate, focusSportTypeForTheDay, completionStatus) for calendars, or full",
+                example = "summary",
+                schema = @Schema(allowableValues = {"summary", "full"})
+            )
+            @RequestParam(required = false) String view,
+            @Parameter(
+                description = "Comma-separated workout properties to return, instead of a view. Only these are read from the database.",
+                example = "dayDate,focusSportTypeForTheDay,completionStatus"
+            )
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
         
         LocalDate workoutDate = LocalDate.parse(date);
-        Optional<DailyWorkoutResponse> workout = workoutPlanService.getWorkoutByUserAndDate(userId, workoutDate);
+        WorkoutFields selection = parseFields(view, fields, WorkoutFields.DETAIL);
+
+        // Revalidation only needs the version, not the workout graph
+        if (ifNoneMatch != null) {
+            Optional<String> currentETag = workoutReadService.findWorkoutVersion(userId, workoutDate)
+                    .map(version -> WorkoutETags.of(version.id(), version.version(), selection.variant()));
+            if (currentETag.isPresent() && WorkoutETags.matches(ifNoneMatch, currentETag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get()).build();
+            }
+        }
+
+        Optional<DailyWorkoutResponse> workout = selection.isFull()
+                ? workoutPlanService.getWorkoutByUserAndDate(userId, workoutDate)
+                : workoutReadService.getWorkoutByUserAndDate(userId, workoutDate, selection);
         
-        return workout.map(ResponseEntity::ok)
+        return workout.map(body -> ResponseEntity.ok()
+                        .eTag(WorkoutETags.of(body.getId(), body.getVersion(), selection.variant()))
+                        .body(trimmed(body, selection)))
                      .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/user/{userId}/date/{date}/markdown", produces = MARKDOWN_VALUE)
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Get workout markdown by user and date",
+        description = "Retrieve only the generated markdown of a user's workout on a given date. Range reads leave the markdown out; fetch it here when a day is opened. The ETag is the workout's, so If-None-Match works as for the workout itself."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Markdown found and returned",
+            content = @Content(mediaType = MARKDOWN_VALUE, schema = @Schema(type = "string"))
+        ),
+        @ApiResponse(responseCode = "304", description = "Not modified - the workout still matches the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "No workout, or no markdown, for the specified user and date")
+    })
+    public ResponseEntity<String> getWorkoutMarkdownByUserAndDate(
+            @Parameter(
+                description = "User ID",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathVariable UUID userId,
+            @Parameter(
+                description = "Workout date in YYYY-MM-DD format",
+                example = "2025-01-20",
+                required = true
+            )
+            @PathVariable String date,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        LocalDate workoutDate = LocalDate.parse(date);
+
+        // Revalidation only needs the version, not the markdown bytes
+        if (ifNoneMatch != null) {
+            Optional<String> currentETag = workoutReadService.findWorkoutVersion(userId, workoutDate)
+                    .map(version -> WorkoutETags.of(version.id(), version.version()));
+            if (currentETag.isPresent() && WorkoutETags.matches(ifNoneMatch, currentETag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get()).build();
+            }
+        }
+
+        return workoutReadService.findWorkoutMarkdown(userId, workoutDate)
+                .map(row -> ResponseEntity.ok()
+                        .eTag(WorkoutETags.of(row.id(), row.version()))
+                        .contentType(new MediaType("text", "markdown", StandardCharsets.UTF_8))
+                        .body(row.markdownContent()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/user/{userId}/range")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(
         summary = "Get workouts by date range",
-        description = "Retrieve all workout plans for a user within a specified date range"
+        description = "Retrieve all workout plans for a user within a specified date range. Workouts are returned without markdownContent; fetch it per day from /user/{userId}/date/{date}/markdown, or list it in fields. For calendars, view=summary returns and reads only the day, sport and status of each workout."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -162,7 +288,7 @@ public class WorkoutPlanController {
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
         @ApiResponse(responseCode = "400", description = "Bad request - invalid date format")
     })
-    public ResponseEntity<List<DailyWorkoutResponse>> getWorkoutsByUserAndDateRange(
+    public ResponseEntity<MappingJacksonValue> getWorkoutsByUserAndDateRange(
             @Parameter(
                 description = "User ID",
                 example = "550e8400-e29b-41d4-a716-446655440000",
@@ -181,13 +307,205 @@ public class WorkoutPlanController {
                 required = true
             )
             @RequestParam String endDate,
+            @Parameter(
+                description = "Preset selection of workout properties: summary (id, dayDate, focusSportTypeForTheDay, completionStatus) for calendars, or full",
+                example = "summary",
+                schema = @Schema(allowableValues = {"summary", "full"})
+            )
+            @RequestParam(required = false) String view,
+            @Parameter(
+                description = "Comma-separated workout properties to return, instead of a view. Only these are read from the database.",
+                example = "dayDate,focusSportTypeForTheDay,completionStatus"
+            )
+            @RequestParam(required = false) String fields,
             @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
         
         LocalDate start = LocalDate.parse(startDate);
         LocalDate end = LocalDate.parse(endDate);
-        List<DailyWorkoutResponse> workouts = workoutPlanService.getWorkoutsByUserAndDateRange(userId, start, end);
+        WorkoutFields selection = parseFields(view, fields, WorkoutFields.LIST);
+        List<DailyWorkoutResponse> workouts = workoutReadService.getWorkoutsByUserAndDateRange(userId, start, end, selection);
         
-        return ResponseEntity.ok(workouts);
+        return ResponseEntity.ok(trimmed(workouts, selection));
+    }
+
+    @GetMapping(value = "/user/{userId}/range/stream", produces = {NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Stream workouts by date range",
+        description = "Stream all workout plans for a user within a date range. Workouts are read 100 at a time, each page in its own short transaction, and written once read, so neither memory use nor database connections depend on the size of the range or the speed of the client. Send Accept: application/x-ndjson for one JSON object per line, or application/json for a single JSON array. As with the range read, markdownContent is left out, and view or fields limit what is read and written; markdownContent cannot be selected here."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Workouts streamed successfully (may be empty)",
+            content = {
+                @Content(mediaType = NDJSON_VALUE, schema = @Schema(implementation = DailyWorkoutResponse.class)),
+                @Content(mediaType = "application/json", schema = @Schema(type = "array", implementation = DailyWorkoutResponse.class))
+            }
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid date format")
+    })
+    public ResponseEntity<StreamingResponseBody> streamWorkoutsByUserAndDateRange(
+            @Parameter(
+                description = "User ID",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathVariable UUID userId,
+            @Parameter(
+                description = "Start date in YYYY-MM-DD format",
+                example = "2024-01-01",
+                required = true
+            )
+            @RequestParam String startDate,
+            @Parameter(
+                description = "End date in YYYY-MM-DD format",
+                example = "2025-12-31",
+                required = true
+            )
+            @RequestParam String endDate,
+            @Parameter(
+                description = "Preset selection of workout properties: summary (id, dayDate, focusSportTypeForTheDay, completionStatus) for calendars, or full",
+                example = "summary",
+                schema = @Schema(allowableValues = {"summary", "full"})
+            )
+            @RequestParam(required = false) String view,
+            @Parameter(
+                description = "Comma-separated workout properties to return, instead of a view. Only these are read from the database.",
+                example = "dayDate,focusSportTypeForTheDay,completionStatus"
+            )
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        WorkoutFields selection = parseFields(view, fields, WorkoutFields.LIST);
+        if (selection.includes(WorkoutFields.MARKDOWN_CONTENT)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "markdownContent cannot be streamed; read it per day from /user/{userId}/date/{date}/markdown");
+        }
+        boolean ndjson = accept != null && accept.contains(NDJSON_VALUE);
+        ObjectWriter workoutWriter = selection.isFull() ? objectMapper.writer() : objectMapper.writer(selection.filters());
+
+        StreamingResponseBody body = outputStream -> {
+            if (ndjson) {
+                workoutReadService.streamWorkoutsByUserAndDateRange(userId, start, end, selection, workout -> {
+                    try {
+                        outputStream.write(workoutWriter.writeValueAsBytes(workout));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } else {
+                ObjectWriter writer = workoutWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                try (SequenceWriter array = writer.writeValuesAsArray(outputStream)) {
+                    workoutReadService.streamWorkoutsByUserAndDateRange(userId, start, end, selection, workout -> {
+                        try {
+                            array.write(workout);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType(NDJSON_VALUE) : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/user/{userId}/history")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Page through workout history",
+        description = "Retrieve a user's workouts newest day first, one page at a time, without markdownContent. Pass nextPageToken from a response as pageToken to get the following page; it is null on the last page. Every page costs the same however deep, and workouts added between requests do not shift pages."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "History page retrieved",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = WorkoutHistoryPage.class)
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid page token or size")
+    })
+    public ResponseEntity<WorkoutHistoryPage> getWorkoutHistory(
+            @Parameter(
+                description = "User ID",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathVariable UUID userId,
+            @Parameter(
+                description = "nextPageToken from the previous page; omit for the newest page",
+                example = "aDE6MjAyNS0wMS0yMDo1NTBlODQwMC1lMjli"
+            )
+            @RequestParam(required = false) String pageToken,
+            @Parameter(
+                description = "Workouts per page (default 20, at most 100)",
+                example = "20"
+            )
+            @RequestParam(required = false) Integer size,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        try {
+            return ResponseEntity.ok(workoutHistoryService.getHistory(userId, HistoryPageToken.decode(pageToken), size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/user/{userId}/changes")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Get workout changes since a cursor",
+        description = "Delta sync: returns the workouts created or changed after the cursor, whole and without markdownContent, tombstones for deleted exercises, and a new cursor for the next poll. Omit since for a full initial sync. While hasMore is true, poll again right away. A cursor older than the tombstone retention is rejected with 410 Gone; resync without since."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Changes retrieved",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = WorkoutChangesResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid cursor"),
+        @ApiResponse(responseCode = "410", description = "Cursor expired - resync without since")
+    })
+    public ResponseEntity<WorkoutChangesResponse> getWorkoutChanges(
+            @Parameter(
+                description = "User ID",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathVariable UUID userId,
+            @Parameter(
+                description = "Cursor from the previous response; omit for a full sync",
+                example = "YzE6MTczNzM1ODIwMDAwMDAwMDo"
+            )
+            @RequestParam(required = false) String since,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        ChangeCursor cursor;
+        try {
+            cursor = ChangeCursor.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (workoutChangeService.isExpired(cursor)) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Change cursor expired; resync without since");
+        }
+        return ResponseEntity.ok(workoutChangeService.getChanges(userId, cursor));
     }
 
     @PostMapping("/generate-weekly-plan")
@@ -224,7 +542,9 @@ public class WorkoutPlanController {
         ),
         @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
         @ApiResponse(responseCode = "400", description = "Bad request - validation error"),
-        @ApiResponse(responseCode = "500", description = "Internal server error - GenAI service unavailable")
+        @ApiResponse(responseCode = "500", description = "Internal server error - GenAI service unavailable"),
+        @ApiResponse(responseCode = "429", description = "Too many requests - GenAI worker queue is full or the wait timed out; see Retry-After"),
+        @ApiResponse(responseCode = "503", description = "Service unavailable - no GenAI worker is available; see Retry-After")
     })
     public ResponseEntity<List<DailyWorkoutResponse>> generateWeeklyPlan(
             @Valid 
@@ -257,6 +577,181 @@ public class WorkoutPlanController {
         return ResponseEntity.ok(weeklyPlan);
     }
 
+    @PostMapping(value = "/generate-weekly-plan/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Stream weekly workout plan generation",
+        description = "Generate a 7-day workout plan and receive it over Server-Sent Events. Each day is saved and sent as a \"day\" event (data: DailyWorkoutResponse) as soon as the GenAI worker has produced it, so the first day arrives long before the whole week. The stream ends with a \"complete\" event ({\"days\": n}) or an \"error\" event ({\"message\": ...}); days sent before an error stay saved."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Event stream of generated days",
+            content = @Content(
+                mediaType = "text/event-stream",
+                examples = @ExampleObject(
+                    name = "Weekly Plan Stream",
+                    value = """
+                        event: day
+                        id: 2025-01-20
+                        data: {"dayDate":"2025-01-20","focusSportTypeForTheDay":"STRENGTH","scheduledExercises":[...]}
+
+                        event: complete
+                        data: {"days":7}
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "400", description = "Bad request - validation error")
+    })
+    public SseEmitter streamWeeklyPlan(
+            @Valid
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Weekly workout generation request",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = WorkoutPlanGenerationRequest.class)
+                )
+            )
+            WorkoutPlanGenerationRequest request,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        return weeklyPlanStreamService.stream(request, bearerToken);
+    }
+
+    @PostMapping("/user/{userId}/completion/sync")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Sync workout completion and RPE feedback",
+        description = "Apply a batch of completion status, RPE and notes updates across many workouts and their exercises, e.g. after an offline session. Each workout update carries the version the client last saw; updates whose workout has changed since are reported as conflicts and the rest of the batch is still applied. Applied workouts get a new version, and so a new ETag."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; see the per-workout results",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CompletionSyncResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "400", description = "Bad request - validation error")
+    })
+    public ResponseEntity<CompletionSyncResponse> syncCompletion(
+            @Parameter(
+                description = "User ID",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathVariable UUID userId,
+            @Valid
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Completion updates",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CompletionSyncRequest.class)
+                )
+            )
+            CompletionSyncRequest request,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        return ResponseEntity.ok(completionSyncService.sync(userId, request.getWorkouts()));
+    }
+
+    @PostMapping("/jobs")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Submit asynchronous workout generation job",
+        description = "Queue a daily or weekly workout generation and return immediately with a job id. Poll GET /api/v1/plans/jobs/{jobId}?userId={userId} for the status and the generated workouts."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Job accepted and queued",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GenerationJobResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "400", description = "Bad request - validation error or invalid parameters"),
+        @ApiResponse(responseCode = "503", description = "Generation job queue is full - retry later")
+    })
+    public ResponseEntity<GenerationJobResponse> submitGenerationJob(
+            @Valid
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Workout generation request parameters",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = WorkoutPlanGenerationRequest.class)
+                )
+            )
+            WorkoutPlanGenerationRequest request,
+            @Parameter(
+                description = "Kind of generation to run",
+                example = "WEEKLY"
+            )
+            @RequestParam(defaultValue = "DAILY") GenerationJobType type,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        try {
+            GenerationJob job = generationJobService.submit(request, type, bearerToken);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/plans/jobs/" + job.getId() + "?userId=" + job.getUserId()))
+                    .body(mapper.toGenerationJobResponse(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Get generation job status",
+        description = "Retrieve the status of an asynchronous generation job, including the generated workouts once it has succeeded. Only the user the job was submitted for can read it."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job found and returned",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GenerationJobResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - invalid or missing JWT token"),
+        @ApiResponse(responseCode = "404", description = "Job not found, already expired or submitted for another user")
+    })
+    public ResponseEntity<GenerationJobResponse> getGenerationJob(
+            @Parameter(
+                description = "Job ID",
+                example = "7d3c2a4e-91b0-4f6e-8d0a-2b9f1c5e7a11",
+                required = true
+            )
+            @PathVariable UUID jobId,
+            @Parameter(
+                description = "User ID the job was submitted for",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @RequestParam UUID userId,
+            @Parameter(hidden = true) @RequestHeader("Authorization") String bearerToken) {
+
+        return generationJobService.getJob(jobId, userId)
+                .map(mapper::toGenerationJobResponse)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/health")
     @Operation(
         summary = "Workout service health check",
@@ -301,4 +796,21 @@ public class WorkoutPlanController {
             "description", "FlexFit Workout Plan Management Service"
         );
     }
-}
\ No newline at end of file
+
+    private static WorkoutFields parseFields(String view, String fields, WorkoutFields full) {
+        try {
+            return WorkoutFields.parse(view, fields, full);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    // Writes only the selected workout properties; full views are written unfiltered
+    private static MappingJacksonValue trimmed(Object workouts, WorkoutFields selection) {
+        MappingJacksonValue body = new MappingJacksonValue(workouts);
+        if (!selection.isFull()) {
+            body.setFilters(selection.filters());
+        }
+        return body;
+    }
+}
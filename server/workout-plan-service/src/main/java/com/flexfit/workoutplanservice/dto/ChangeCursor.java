@@ -0,0 +1,46 @@
+package com.flexfit.workoutplanservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a user's workout change feed: everything changed up to {@code position} has
+ * been delivered, and at exactly {@code position} every workout up to {@code afterId}. The
+ * id is null when the whole timestamp was delivered. Clients only see the opaque
+ * {@link #encode() token}.
+ */
+public record ChangeCursor(Instant position, UUID afterId) {
+
+    private static final String VERSION = "c1";
+
+    /** The position before any change; a feed read from here returns every workout. */
+    public static final ChangeCursor START = new ChangeCursor(Instant.EPOCH, null);
+
+    public String encode() {
+        String raw = VERSION + ":" + ChronoUnit.MICROS.between(Instant.EPOCH, position) + ":" + (afterId != null ? afterId : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token A token from {@link #encode()}, or null for {@link #START}.
+     * @throws IllegalArgumentException If the token was not issued by this service.
+     */
+    public static ChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 3 || !parts[0].equals(VERSION)) {
+                throw new IllegalArgumentException("Invalid change cursor");
+            }
+            Instant position = Instant.EPOCH.plus(Long.parseLong(parts[1]), ChronoUnit.MICROS);
+            return new ChangeCursor(position, parts[2].isEmpty() ? null : UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) { // Also covers bad Base64, numbers and UUIDs
+            throw new IllegalArgumentException("Invalid change cursor", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.flexfit.workoutplanservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Batch of completion and RPE updates recorded by a client, e.g. while offline")
+public class CompletionSyncRequest {
+
+    @Valid
+    @NotEmpty
+    @Size(max = 500, message = "At most 500 workouts can be synced at once")
+    @Schema(description = "Updates, at most one per workout; each is applied or rejected on its own", required = true)
+    private List<WorkoutCompletionUpdate> workouts;
+}
@@ -0,0 +1,24 @@
+package com.flexfit.workoutplanservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a completion sync, per workout in request order")
+public class CompletionSyncResponse {
+
+    @Schema(description = "Workouts whose update was applied", example = "12")
+    private int applied;
+
+    @Schema(description = "Workouts whose update was rejected", example = "1")
+    private int rejected;
+
+    @Schema(description = "One result per submitted workout, in request order")
+    private List<WorkoutSyncResult> results;
+}
@@ -5,6 +5,7 @@ import com.flexfit.workoutplanservice.model.enums.SportType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -20,6 +21,18 @@ public class DailyWorkoutResponse {
     )
     private UUID id;
     
+    @Schema(
+        description = "Version of the workout, incremented on every change; also sent as the ETag", 
+        example = "3"
+    )
+    private Long version;
+
+    @Schema(
+        description = "When the workout or any of its exercises last changed",
+        example = "2025-01-20T07:30:00Z"
+    )
+    private Instant updatedAt;
+    
     @Schema(
         description = "User ID for whom this workout was generated", 
         example = "550e8400-e29b-41d4-a716-446655440000",
@@ -0,0 +1,32 @@
+package com.flexfit.workoutplanservice.dto;
+
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Completion state of one scheduled exercise. Omitted values are left unchanged")
+public class ExerciseCompletionUpdate {
+
+    @NotNull
+    @Schema(description = "Scheduled exercise ID", example = "456e7890-e89b-12d3-a456-426614174001", required = true, format = "uuid")
+    private UUID scheduledExerciseId;
+
+    @Schema(description = "Exercise completion status", example = "COMPLETED",
+        allowableValues = {"PENDING", "COMPLETED", "SKIPPED", "IN_PROGRESS"})
+    private CompletionStatus completionStatus;
+
+    @Min(1)
+    @Max(10)
+    @Schema(description = "Rate of perceived exertion for this exercise", example = "8", minimum = "1", maximum = "10")
+    private Integer rpeFeedback;
+}
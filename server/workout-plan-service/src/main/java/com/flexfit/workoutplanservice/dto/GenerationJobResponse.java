@@ -0,0 +1,42 @@
+package com.flexfit.workoutplanservice.dto;
+
+import com.flexfit.workoutplanservice.model.enums.GenerationJobStatus;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Schema(description = "Status of an asynchronous workout generation job")
+public class GenerationJobResponse {
+
+    @Schema(description = "Unique job identifier", example = "7d3c2a4e-91b0-4f6e-8d0a-2b9f1c5e7a11", format = "uuid")
+    private UUID jobId;
+
+    @Schema(description = "Kind of generation the job runs", example = "WEEKLY", allowableValues = {"DAILY", "WEEKLY"})
+    private GenerationJobType type;
+
+    @Schema(description = "User ID the job generates workouts for", example = "550e8400-e29b-41d4-a716-446655440000", format = "uuid")
+    private UUID userId;
+
+    @Schema(description = "Current job status", example = "RUNNING", allowableValues = {"QUEUED", "RUNNING", "SUCCEEDED", "FAILED"})
+    private GenerationJobStatus status;
+
+    @Schema(description = "When the job was accepted")
+    private Instant submittedAt;
+
+    @Schema(description = "When the job started running")
+    private Instant startedAt;
+
+    @Schema(description = "When the job finished")
+    private Instant completedAt;
+
+    @Schema(description = "Error message if the job failed", example = "Failed to generate workout plan from GenAI service.")
+    private String error;
+
+    @Schema(description = "Generated workouts, present once the job has succeeded")
+    private List<DailyWorkoutResponse> workouts;
+}
@@ -0,0 +1,42 @@
+package com.flexfit.workoutplanservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Continuation token of the workout history: the (dayDate, id) of the last workout on the
+ * previous page. The next page seeks to the workouts before it, so it costs the same however
+ * deep it is. Clients only see the opaque {@link #encode() token}.
+ */
+public record HistoryPageToken(LocalDate dayDate, UUID id) {
+
+    private static final String VERSION = "h1";
+
+    public String encode() {
+        String raw = VERSION + ":" + dayDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token A token from {@link #encode()}, or null for the first page.
+     * @return The position to continue after, or null for the first page.
+     * @throws IllegalArgumentException If the token was not issued by this service.
+     */
+    public static HistoryPageToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 3 || !parts[0].equals(VERSION)) {
+                throw new IllegalArgumentException("Invalid page token");
+            }
+            return new HistoryPageToken(LocalDate.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+    }
+}
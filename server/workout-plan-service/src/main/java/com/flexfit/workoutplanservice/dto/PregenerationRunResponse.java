@@ -0,0 +1,46 @@
+package com.flexfit.workoutplanservice.dto;
+
+import com.flexfit.workoutplanservice.model.enums.PregenerationRunStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "Report of a nightly weekly-plan pregeneration run")
+public class PregenerationRunResponse {
+
+    @Schema(description = "Date the run belongs to", example = "2025-01-20", format = "date")
+    private LocalDate runDate;
+
+    @Schema(description = "First day of the pregenerated week", example = "2025-01-20", format = "date")
+    private LocalDate weekStart;
+
+    @Schema(description = "Run status", example = "COMPLETED", allowableValues = {"RUNNING", "COMPLETED"})
+    private PregenerationRunStatus status;
+
+    @Schema(description = "When the run was first started")
+    private Instant startedAt;
+
+    @Schema(description = "When the run completed; null while running")
+    private Instant completedAt;
+
+    @Schema(description = "Times the run was resumed after stopping early", example = "0")
+    private int resumeCount;
+
+    @Schema(description = "Users whose week was generated", example = "120")
+    private int usersSucceeded;
+
+    @Schema(description = "Users whose generation failed", example = "2")
+    private int usersFailed;
+
+    @Schema(description = "Users processed per minute of active run time", example = "14.5")
+    private double usersPerMinute;
+
+    @Schema(description = "Average time to generate one user's week, in milliseconds", example = "16500")
+    private long averageLatencyMillis;
+
+    @Schema(description = "Slowest single user's generation, in milliseconds", example = "41000")
+    private long maxLatencyMillis;
+}
@@ -12,6 +12,7 @@ import java.util.UUID;
 public class ScheduledExerciseResponse {
     private UUID id;
     private Integer sequenceOrder;
+    private UUID exerciseId; // Catalog entry, shared by every instance of the same exercise
     private String exerciseName;
     private String description;
     private List<SportType> applicableSportTypes;
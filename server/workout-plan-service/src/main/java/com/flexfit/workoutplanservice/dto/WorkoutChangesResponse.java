@@ -0,0 +1,27 @@
+package com.flexfit.workoutplanservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Workout changes since a cursor")
+public class WorkoutChangesResponse {
+
+    @Schema(description = "Workouts created or changed since the cursor, whole and without markdownContent, oldest change first")
+    private List<DailyWorkoutResponse> workouts;
+
+    @Schema(description = "Workouts and scheduled exercises deleted since the cursor")
+    private List<WorkoutTombstoneResponse> tombstones;
+
+    @Schema(description = "Opaque cursor to send as since on the next poll", example = "YzE6MTczNzM1ODIwMDAwMDAwMDo")
+    private String cursor;
+
+    @Schema(description = "More changes are waiting; poll again right away with the new cursor", example = "false")
+    private boolean hasMore;
+}
@@ -0,0 +1,49 @@
+package com.flexfit.workoutplanservice.dto;
+
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Completion state of one workout and its exercises. Omitted values are left unchanged")
+public class WorkoutCompletionUpdate {
+
+    @NotNull
+    @Schema(description = "Workout ID", example = "123e4567-e89b-12d3-a456-426614174000", required = true, format = "uuid")
+    private UUID workoutId;
+
+    @NotNull
+    @Schema(description = "Workout version the client last saw; the update is rejected as a conflict if it has changed since",
+        example = "3", required = true)
+    private Long version;
+
+    @Schema(description = "Workout completion status", example = "COMPLETED",
+        allowableValues = {"PENDING", "COMPLETED", "SKIPPED", "IN_PROGRESS"})
+    private CompletionStatus completionStatus;
+
+    @Min(1)
+    @Max(10)
+    @Schema(description = "Overall rate of perceived exertion", example = "7", minimum = "1", maximum = "10")
+    private Integer rpeOverallFeedback;
+
+    @Size(max = 2000)
+    @Schema(description = "User notes on the session", example = "Felt strong, increase weight next time")
+    private String completionNotes;
+
+    @Valid
+    @Size(max = 50)
+    @Schema(description = "Per-exercise completion state")
+    private List<ExerciseCompletionUpdate> exercises;
+}
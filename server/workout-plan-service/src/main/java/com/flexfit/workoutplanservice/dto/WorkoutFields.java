@@ -0,0 +1,142 @@
+package com.flexfit.workoutplanservice.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The {@link DailyWorkoutResponse} properties a read asks for, from its {@code view} and
+ * {@code fields} parameters. Reads push the selection down: only the selected workout columns
+ * are queried (plus id and version, which stitching and ETags need), and exercises and markdown
+ * are only queried when selected. Responses are trimmed to the selection through the
+ * {@value #FILTER} Jackson filter.
+ */
+public final class WorkoutFields {
+
+    public static final String FILTER = "workoutFields";
+
+    public static final String ID = "id";
+    public static final String VERSION = "version";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String USER_ID = "userId";
+    public static final String DAY_DATE = "dayDate";
+    public static final String FOCUS_SPORT_TYPE = "focusSportTypeForTheDay";
+    public static final String COMPLETION_STATUS = "completionStatus";
+    public static final String RPE_OVERALL_FEEDBACK = "rpeOverallFeedback";
+    public static final String COMPLETION_NOTES = "completionNotes";
+    public static final String MARKDOWN_CONTENT = "markdownContent";
+    public static final String SCHEDULED_EXERCISES = "scheduledExercises";
+
+    // Response order; the columns are also the DailyWorkout attribute names
+    private static final List<String> COLUMNS = List.of(ID, VERSION, UPDATED_AT, USER_ID, DAY_DATE, FOCUS_SPORT_TYPE,
+            COMPLETION_STATUS, RPE_OVERALL_FEEDBACK, COMPLETION_NOTES);
+    private static final List<String> ALL = concat(COLUMNS, List.of(MARKDOWN_CONTENT, SCHEDULED_EXERCISES));
+
+    /** Every property; the default of single-day reads. */
+    public static final WorkoutFields DETAIL = new WorkoutFields(null, ALL);
+
+    /** Every property but the markdown; the default of range reads. */
+    public static final WorkoutFields LIST = new WorkoutFields(null, concat(COLUMNS, List.of(SCHEDULED_EXERCISES)));
+
+    /** What a calendar needs: one workout column set, no exercises or markdown. */
+    public static final WorkoutFields SUMMARY = new WorkoutFields("summary",
+            List.of(ID, DAY_DATE, FOCUS_SPORT_TYPE, COMPLETION_STATUS));
+
+    private final String variant;
+    private final Set<String> names;
+
+    private WorkoutFields(String variant, List<String> names) {
+        this.variant = variant;
+        this.names = new LinkedHashSet<>(names);
+    }
+
+    /**
+     * Resolves the request parameters; with neither given, the endpoint's full view applies.
+     * @param view "summary" or "full", or null.
+     * @param fields Comma-separated property names, or null. Cannot be combined with a view.
+     * @param full The endpoint's full view, {@link #DETAIL} or {@link #LIST}.
+     * @throws IllegalArgumentException For an unknown view or property, or both parameters.
+     */
+    public static WorkoutFields parse(String view, String fields, WorkoutFields full) {
+        if (view != null && fields != null) {
+            throw new IllegalArgumentException("Use either view or fields, not both");
+        }
+        if (fields != null) {
+            List<String> requested = Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .toList();
+            if (requested.isEmpty()) {
+                throw new IllegalArgumentException("fields must name at least one property");
+            }
+            for (String name : requested) {
+                if (!ALL.contains(name)) {
+                    throw new IllegalArgumentException("Unknown field '" + name + "'; expected any of " + ALL);
+                }
+            }
+            List<String> ordered = ALL.stream().filter(requested::contains).toList();
+            return new WorkoutFields(String.join("+", ordered), ordered);
+        }
+        if (view == null || view.equalsIgnoreCase("full")) {
+            return full;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return SUMMARY;
+        }
+        throw new IllegalArgumentException("Unknown view '" + view + "'; expected summary or full");
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    /** True for an endpoint's default view, whose responses are serialized unfiltered. */
+    public boolean isFull() {
+        return variant == null;
+    }
+
+    /** Distinguishes this selection's representation in ETags; null for a full view. */
+    public String variant() {
+        return variant;
+    }
+
+    /** The workout columns to query: the selected ones, and always id and version. */
+    public List<String> columns() {
+        return COLUMNS.stream()
+                .filter(column -> column.equals(ID) || column.equals(VERSION) || names.contains(column))
+                .toList();
+    }
+
+    /** Serializes only the selected properties of a {@link DailyWorkoutResponse}. */
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WorkoutFields that && Objects.equals(variant, that.variant) && names.equals(that.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(variant, names);
+    }
+
+    @Override
+    public String toString() {
+        return names.toString();
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return List.copyOf(all);
+    }
+}
@@ -0,0 +1,21 @@
+package com.flexfit.workoutplanservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a user's workout history, newest first")
+public class WorkoutHistoryPage {
+
+    @Schema(description = "Workouts on this page, newest day first, without markdownContent")
+    private List<DailyWorkoutResponse> workouts;
+
+    @Schema(description = "Opaque token for the next page; null on the last page", example = "aDE6MjAyNS0wMS0yMDo1NTBlODQwMC1lMjli")
+    private String nextPageToken;
+}
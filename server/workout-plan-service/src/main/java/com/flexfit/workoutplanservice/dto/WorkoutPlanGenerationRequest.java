@@ -1,6 +1,7 @@
 package com.flexfit.workoutplanservice.dto;
 
 import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.model.enums.WeeklyGenerationMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -62,12 +63,29 @@ public class WorkoutPlanGenerationRequest {
     private String textPrompt;
     
     @Schema(
-        description = "AI preference for workout generation", 
+        description = "AI preference for workout generation; 'template' builds the plan from the local exercise library without calling a GenAI worker", 
         example = "cloud",
         required = false,
-        allowableValues = {"cloud", "local"},
+        allowableValues = {"cloud", "local", "template"},
         defaultValue = "cloud"
     )
     private String aiPreference = "cloud";
-}
 
+    @Schema(
+        description = "Skip the GenAI response cache and always call the worker",
+        example = "false",
+        required = false,
+        defaultValue = "false"
+    )
+    private Boolean bypassCache = false;
+
+    @Schema(
+        description = "Weekly generation strategy: one /generate-weekly call, or one concurrent /generate call per day. " +
+            "The streaming weekly endpoint always uses a single call",
+        example = "FAN_OUT",
+        required = false,
+        allowableValues = {"SINGLE_CALL", "FAN_OUT"},
+        defaultValue = "SINGLE_CALL"
+    )
+    private WeeklyGenerationMode weeklyMode = WeeklyGenerationMode.SINGLE_CALL;
+}
@@ -0,0 +1,35 @@
+package com.flexfit.workoutplanservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one workout's completion update")
+public class WorkoutSyncResult {
+
+    public enum Status {
+        APPLIED,
+        // The workout changed since the client's version; refetch it and reapply
+        CONFLICT,
+        // No such workout for the user, or an exercise that is not part of it
+        NOT_FOUND
+    }
+
+    @Schema(description = "Workout ID", example = "123e4567-e89b-12d3-a456-426614174000", format = "uuid")
+    private UUID workoutId;
+
+    @Schema(description = "Outcome", example = "APPLIED", allowableValues = {"APPLIED", "CONFLICT", "NOT_FOUND"})
+    private Status status;
+
+    @Schema(description = "New version when applied; the current version, when known, on a conflict", example = "4")
+    private Long version;
+
+    @Schema(description = "Why the update was rejected", example = "Workout changed since version 3")
+    private String message;
+}
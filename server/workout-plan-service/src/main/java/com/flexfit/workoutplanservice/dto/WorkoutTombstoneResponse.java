@@ -0,0 +1,27 @@
+package com.flexfit.workoutplanservice.dto;
+
+import com.flexfit.workoutplanservice.model.enums.TombstoneType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Schema(description = "A deleted scheduled exercise")
+public class WorkoutTombstoneResponse {
+
+    @Schema(description = "Kind of entity deleted", example = "SCHEDULED_EXERCISE",
+        allowableValues = {"SCHEDULED_EXERCISE"})
+    private TombstoneType entityType;
+
+    @Schema(description = "ID of the deleted entity", example = "456e7890-e89b-12d3-a456-426614174001", format = "uuid")
+    private UUID id;
+
+    @Schema(description = "The workout the exercise belonged to",
+        example = "123e4567-e89b-12d3-a456-426614174000", format = "uuid")
+    private UUID dailyWorkoutId;
+
+    @Schema(description = "When the entity was deleted", example = "2025-01-20T07:30:00Z")
+    private Instant deletedAt;
+}
@@ -9,5 +9,7 @@ public record WeeklyPromptContext(
     @JsonProperty("user_profile") Map<String, Object> userProfile,
     @JsonProperty("user_preferences") UserPreferencesResponse userPreferences,
     @JsonProperty("text_prompt") String textPrompt,
-    @JsonProperty("last_7_days_exercises") List<Map<String, Object>> last7DaysExercises
+    @JsonProperty("last_7_days_exercises") List<Map<String, Object>> last7DaysExercises,
+    // First day of the week; the generated days carry absolute dates, so it is part of the cache key
+    @JsonProperty("start_date") String startDate
 ) {}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.flexfit.workoutplanservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a GenAI call is turned away before reaching a worker, either because the
+ * worker's queue is full or timed out ({@link HttpStatus#TOO_MANY_REQUESTS}) or because no
+ * worker is available ({@link HttpStatus#SERVICE_UNAVAILABLE}).
+ */
+@Getter
+public class GenAIRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public GenAIRejectedException(HttpStatus status, Duration retryAfter, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
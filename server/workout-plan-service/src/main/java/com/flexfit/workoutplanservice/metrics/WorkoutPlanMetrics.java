@@ -0,0 +1,64 @@
+package com.flexfit.workoutplanservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.flexfit.workoutplanservice.model.enums.WeeklyGenerationMode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class WorkoutPlanMetrics {
+
+    private final Counter coalescedDailyRequests;
+    private final Counter coalescedWeeklyRequests;
+    private final MeterRegistry meterRegistry;
+
+    public WorkoutPlanMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        // Single-flight Metrics
+        this.coalescedDailyRequests = Counter.builder("workout_generation_coalesced_requests_total")
+                .description("Generation requests that joined an identical in-flight request instead of calling GenAI")
+                .tag("type", "daily")
+                .register(meterRegistry);
+
+        this.coalescedWeeklyRequests = Counter.builder("workout_generation_coalesced_requests_total")
+                .description("Generation requests that joined an identical in-flight request instead of calling GenAI")
+                .tag("type", "weekly")
+                .register(meterRegistry);
+    }
+
+    // Single-flight Methods
+    public void incrementCoalescedDailyRequests() {
+        coalescedDailyRequests.increment();
+    }
+
+    public void incrementCoalescedWeeklyRequests() {
+        coalescedWeeklyRequests.increment();
+    }
+
+    // Weekly Generation Methods
+    public void recordWeeklyGeneration(WeeklyGenerationMode mode, Duration duration) {
+        Timer.builder("workout_generation_weekly_duration_seconds")
+                .description("Wall-clock time to generate and save a weekly plan, by generation mode")
+                .tag("mode", mode.name().toLowerCase())
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    // Template Generation Methods
+    /**
+     * @param operation The GenAI operation the template stood in for, "daily" or "weekly".
+     * @param reason "requested" for aiPreference=template, otherwise why the worker answer was not used.
+     */
+    public void incrementTemplateGenerations(String operation, String reason) {
+        Counter.builder("workout_generation_template_total")
+                .description("Plans built from the local exercise library instead of a GenAI worker")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -7,12 +7,20 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "daily_workouts")
+@Table(
+    name = "daily_workouts",
+    // One workout per user and day; also serves the (user_id, day_date) lookups
+    uniqueConstraints = @UniqueConstraint(name = "uk_daily_workouts_user_day", columnNames = {"user_id", "day_date"}),
+    // Change feed: a user's workouts changed after a cursor position
+    indexes = @Index(name = "idx_daily_workouts_user_updated", columnList = "user_id, updated_at")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +30,15 @@ public class DailyWorkout {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // Bumped on every change to the workout or its exercises; the source of the read ETags
+    @Version
+    private Long version;
+
+    // When the workout or any of its exercises last changed; the change feed's position.
+    // Nullable at the JPA level only so ddl-auto can add the column to a populated table;
+    // schema-postgresql.sql backfills it and sets NOT NULL.
+    private Instant updatedAt;
+
     @Column(nullable = false)
     private UUID userId; // Links to the User in user-service, but not a hard FK
 
@@ -41,14 +58,25 @@ public class DailyWorkout {
     @Column(columnDefinition = "TEXT")
     private String completionNotes;
     
-    // Generated markdown content from GenAI for display on frontend
-    @Column(columnDefinition = "TEXT")
+    // Generated markdown content from GenAI for display on frontend. Stored compressed in
+    // DailyWorkoutMarkdown and only filled in on reads that ask for it.
+    @Transient
     private String markdownContent;
     
     @OneToMany(mappedBy = "dailyWorkout", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
     @OrderBy("sequenceOrder ASC") // Ensures exercises are always ordered correctly
     private List<ScheduledExercise> scheduledExercises;
 
+    /**
+     * Stamps the workout as changed now. Runs on every insert and dirty update; call it
+     * directly when only the exercises changed, as that does not dirty the workout row.
+     */
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS); // Database precision
+    }
+
     // Helper method to correctly link exercises to this workout
     public void setScheduledExercises(List<ScheduledExercise> scheduledExercises) {
         this.scheduledExercises = scheduledExercises;
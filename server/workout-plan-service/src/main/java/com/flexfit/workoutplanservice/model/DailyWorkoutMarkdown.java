@@ -0,0 +1,31 @@
+package com.flexfit.workoutplanservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Generated markdown of a daily workout, kept out of daily_workouts so that reading workouts
+ * never reads these bytes. Only the markdown endpoint and the single-day read load it.
+ * Rows are replaced, not updated, when the workout is regenerated.
+ */
+@Entity
+@Table(name = "daily_workout_markdown")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyWorkoutMarkdown {
+
+    // Compressed size limit; generated days are a few KB before compression
+    public static final int MAX_COMPRESSED_BYTES = 1_048_576;
+
+    @Id
+    private UUID dailyWorkoutId; // Same as daily_workouts.id; schema-postgresql.sql adds the FK
+
+    @Convert(converter = GzipTextConverter.class)
+    @Column(name = "content_gzip", nullable = false, length = MAX_COMPRESSED_BYTES)
+    private String content;
+}
@@ -0,0 +1,115 @@
+package com.flexfit.workoutplanservice.model;
+
+import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Catalog entry shared by every scheduled instance of the same exercise. The id is derived
+ * from the normalized name, so "Push-ups", "push ups" and "PUSH UPS" are one entry and any
+ * instance can compute it without a lookup. Letters and digits of every script count, so
+ * "Приседания" and "Übungen" get entries of their own; a name with neither has no entry. The first generated description and attributes
+ * for a name are kept; entries are never updated afterwards.
+ */
+@Entity
+@Table(name = "exercises")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Exercise {
+
+    @Id
+    private UUID id; // UUID.nameUUIDFromBytes(normalizedName); see idFor
+
+    // Null until the row is inserted, which lets Hibernate and Spring Data tell a new entry
+    // from an existing one by its assigned id without querying for it first
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private String name; // As first generated, e.g. "Push-ups"
+
+    @Column(nullable = false)
+    private String normalizedName; // e.g. "push ups"
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "applicable_sport_types")
+    private List<SportType> applicableSportTypes;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "muscle_groups_primary")
+    private List<String> muscleGroupsPrimary;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "muscle_groups_secondary")
+    private List<String> muscleGroupsSecondary;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "equipment_needed")
+    private List<EquipmentItem> equipmentNeeded;
+
+    private String difficulty; // e.g. "Beginner"
+
+    private String videoUrl;
+
+    /**
+     * Creates a new, not yet persisted entry keyed by the given name.
+     *
+     * @throws IllegalArgumentException if the name is null or has no letters or digits
+     */
+    public static Exercise named(String name) {
+        Exercise exercise = new Exercise();
+        exercise.setName(name);
+        exercise.setNormalizedName(normalize(name));
+        exercise.setId(idFor(name));
+        return exercise;
+    }
+
+    /** Whether the name has a letter or digit and can therefore key a catalog entry. */
+    public static boolean isValidName(String name) {
+        return name != null && !collapse(name).isEmpty();
+    }
+
+    /**
+     * Applies NFKC, lower-cases the name and collapses everything but letters and digits of
+     * any script into single spaces. Mirrored by flexfit_normalize_exercise_name().
+     *
+     * @throws IllegalArgumentException if the name is null or has no letters or digits
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Exercise name must not be null");
+        }
+        String normalized = collapse(name);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Exercise name has no letters or digits: '" + name + "'");
+        }
+        return normalized;
+    }
+
+    private static String collapse(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    // Mirrored by flexfit_exercise_id() in schema-postgresql.sql for the backfill
+    public static UUID idFor(String name) {
+        return UUID.nameUUIDFromBytes(normalize(name).getBytes(StandardCharsets.UTF_8));
+    }
+}
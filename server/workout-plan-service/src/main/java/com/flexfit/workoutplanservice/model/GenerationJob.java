@@ -0,0 +1,57 @@
+package com.flexfit.workoutplanservice.model;
+
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobStatus;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobType;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory state of an asynchronous generation job. Not persisted: jobs only live
+ * until the retention window of the owning GenerationJobService expires.
+ */
+@Getter
+public class GenerationJob {
+
+    private final UUID id;
+    private final GenerationJobType type;
+    private final UUID userId;
+    private final Instant submittedAt;
+
+    private volatile GenerationJobStatus status = GenerationJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile List<DailyWorkoutResponse> workouts;
+    private volatile String error;
+
+    public GenerationJob(UUID id, GenerationJobType type, UUID userId) {
+        this.id = id;
+        this.type = type;
+        this.userId = userId;
+        this.submittedAt = Instant.now();
+    }
+
+    public synchronized void markRunning() {
+        this.status = GenerationJobStatus.RUNNING;
+        this.startedAt = Instant.now();
+    }
+
+    public synchronized void markSucceeded(List<DailyWorkoutResponse> workouts) {
+        this.workouts = workouts;
+        this.status = GenerationJobStatus.SUCCEEDED;
+        this.completedAt = Instant.now();
+    }
+
+    public synchronized void markFailed(String error) {
+        this.error = error;
+        this.status = GenerationJobStatus.FAILED;
+        this.completedAt = Instant.now();
+    }
+
+    public boolean isFinished() {
+        return status == GenerationJobStatus.SUCCEEDED || status == GenerationJobStatus.FAILED;
+    }
+}
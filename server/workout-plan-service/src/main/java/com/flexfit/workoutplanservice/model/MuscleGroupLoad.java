@@ -0,0 +1,6 @@
+package com.flexfit.workoutplanservice.model;
+
+/**
+ * Number of a day's exercises that train a muscle group as a primary mover.
+ */
+public record MuscleGroupLoad(String muscleGroup, int exercises) {}
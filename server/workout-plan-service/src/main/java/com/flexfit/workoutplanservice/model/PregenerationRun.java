@@ -0,0 +1,65 @@
+package com.flexfit.workoutplanservice.model;
+
+import com.flexfit.workoutplanservice.model.enums.PregenerationRunStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Progress and totals of one night's pregeneration run. Users are processed in user_id order
+ * and the checkpoint is the last user_id of the last fully processed page, so a run that was
+ * interrupted resumes after it instead of starting over.
+ */
+@Entity
+@Table(
+    name = "pregeneration_runs",
+    uniqueConstraints = @UniqueConstraint(name = "uk_pregeneration_runs_run_date", columnNames = "run_date")
+)
+@Data
+@NoArgsConstructor
+public class PregenerationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    // First day of the week being pregenerated
+    @Column(nullable = false)
+    private LocalDate weekStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PregenerationRunStatus status = PregenerationRunStatus.RUNNING;
+
+    private UUID checkpointUserId;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    // Times the run was picked up again after stopping before it finished
+    private int resumeCount;
+
+    private int usersSucceeded;
+
+    private int usersFailed;
+
+    // Wall-clock time spent processing, summed over all segments of the run
+    private long activeMillis;
+
+    // Per-user generation latency, summed and worst case
+    private long totalLatencyMillis;
+
+    private long maxLatencyMillis;
+}
@@ -0,0 +1,59 @@
+package com.flexfit.workoutplanservice.model;
+
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What one user trained on one day, kept next to the workout so prompt building reads a few
+ * small rows instead of whole workout graphs. Rewritten in the same transaction as the
+ * workout it summarizes; rows older than the retention window are dropped.
+ */
+@Entity
+@Table(
+    name = "training_load_days",
+    // One summary per user and day; also serves the rolling-window range reads
+    uniqueConstraints = @UniqueConstraint(name = "uk_training_load_days_user_day", columnNames = {"user_id", "day_date"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingLoadDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDate dayDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SportType sportType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CompletionStatus completionStatus;
+
+    // In sequence order
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "exercise_names")
+    private List<String> exerciseNames;
+
+    // In order of first appearance; a list rather than a map because jsonb does not keep key order
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "muscle_group_load")
+    private List<MuscleGroupLoad> muscleGroupLoad;
+}
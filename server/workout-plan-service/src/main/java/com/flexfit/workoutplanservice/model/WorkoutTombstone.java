@@ -0,0 +1,59 @@
+package com.flexfit.workoutplanservice.model;
+
+import com.flexfit.workoutplanservice.model.enums.TombstoneType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Records that a scheduled exercise was deleted, so the change feed can tell
+ * clients to drop their copy. Kept for the feed's tombstone retention; a cursor older than
+ * that can no longer be served and the client has to resync.
+ */
+@Entity
+@Table(
+    name = "workout_tombstones",
+    // Change feed: a user's deletions after a cursor position
+    indexes = @Index(name = "idx_workout_tombstones_user_deleted", columnList = "user_id, deleted_at")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TombstoneType entityType;
+
+    @Column(nullable = false)
+    private UUID entityId;
+
+    @Column(nullable = false)
+    private UUID dailyWorkoutId; // The workout itself, or the one the exercise belonged to
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    public static WorkoutTombstone of(ScheduledExercise exercise) {
+        DailyWorkout workout = exercise.getDailyWorkout();
+        WorkoutTombstone tombstone = new WorkoutTombstone();
+        tombstone.setUserId(workout.getUserId());
+        tombstone.setEntityType(TombstoneType.SCHEDULED_EXERCISE);
+        tombstone.setEntityId(exercise.getId());
+        tombstone.setDailyWorkoutId(workout.getId());
+        tombstone.setDeletedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        return tombstone;
+    }
+}
@@ -0,0 +1,11 @@
+package com.flexfit.workoutplanservice.model.enums;
+
+// Order in which queued GenAI calls are admitted; earlier constants go first.
+public enum GenAIPriority {
+    // A user is waiting on a single day
+    INTERACTIVE,
+    // A user is waiting on a whole week
+    WEEKLY,
+    // Background jobs nobody is actively waiting on
+    BATCH
+}
@@ -0,0 +1,9 @@
+package com.flexfit.workoutplanservice.model.enums;
+
+// Lifecycle of an asynchronous workout generation job.
+public enum GenerationJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.flexfit.workoutplanservice.model.enums;
+
+// Which generation flow an asynchronous job runs.
+public enum GenerationJobType {
+    DAILY,
+    WEEKLY
+}
@@ -0,0 +1,8 @@
+package com.flexfit.workoutplanservice.model.enums;
+
+// Lifecycle of a nightly weekly-plan pregeneration run.
+public enum PregenerationRunStatus {
+    // Started and not finished; the next trigger resumes it from its checkpoint
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,7 @@
+package com.flexfit.workoutplanservice.model.enums;
+
+// Kinds of deleted entities reported by the workout change feed. Workouts are never deleted
+// yet; they get a kind here once something deletes them.
+public enum TombstoneType {
+    SCHEDULED_EXERCISE
+}
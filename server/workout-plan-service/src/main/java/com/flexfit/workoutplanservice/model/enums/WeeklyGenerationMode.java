@@ -0,0 +1,9 @@
+package com.flexfit.workoutplanservice.model.enums;
+
+// How a weekly plan is requested from the GenAI worker.
+public enum WeeklyGenerationMode {
+    // One /generate-weekly call that writes the whole week
+    SINGLE_CALL,
+    // Seven concurrent /generate calls, one per day, with the sport of each day decided up front
+    FAN_OUT
+}
@@ -0,0 +1,44 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.model.DailyWorkoutMarkdown;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutMarkdownRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DailyWorkoutMarkdownRepository extends JpaRepository<DailyWorkoutMarkdown, UUID> {
+
+    // Markdown endpoint: one indexed (user_id, day_date) lookup joined to the side table by primary key.
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutMarkdownRow(w.id, w.version, m.content)
+            from DailyWorkout w join DailyWorkoutMarkdown m on m.dailyWorkoutId = w.id
+            where w.userId = :userId and w.dayDate = :dayDate
+            """)
+    Optional<DailyWorkoutMarkdownRow> findRowByUserIdAndDayDate(@Param("userId") UUID userId,
+                                                                @Param("dayDate") LocalDate dayDate);
+
+    // Range reads that ask for markdown: one statement for the whole range, in day order.
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutMarkdownRow(w.id, w.version, m.content)
+            from DailyWorkout w join DailyWorkoutMarkdown m on m.dailyWorkoutId = w.id
+            where w.userId = :userId and w.dayDate between :startDate and :endDate
+            order by w.dayDate
+            """)
+    List<DailyWorkoutMarkdownRow> findRowsByUserIdAndDayDateBetween(@Param("userId") UUID userId,
+                                                                    @Param("startDate") LocalDate startDate,
+                                                                    @Param("endDate") LocalDate endDate);
+
+    // Bulk delete ahead of re-inserting regenerated markdown, without loading the old rows.
+    @Modifying
+    @Query("delete from DailyWorkoutMarkdown m where m.dailyWorkoutId in :dailyWorkoutIds")
+    int deleteByDailyWorkoutIdIn(@Param("dailyWorkoutIds") Collection<UUID> dailyWorkoutIds);
+}
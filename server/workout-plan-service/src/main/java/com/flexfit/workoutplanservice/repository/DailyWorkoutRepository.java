@@ -1,10 +1,17 @@
 package com.flexfit.workoutplanservice.repository;
 
 import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,9 +19,125 @@ import java.util.UUID;
 @Repository
 public interface DailyWorkoutRepository extends JpaRepository<DailyWorkout, UUID> {
 
-    // Finds a workout for a specific user on a specific date.
+    // Finds a workout for a specific user on a specific date; (user_id, day_date) is unique.
     Optional<DailyWorkout> findByUserIdAndDayDate(UUID userId, LocalDate dayDate);
 
+    // Conditional GET: one indexed (user_id, day_date) lookup, without loading the entity graph.
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutVersion(w.id, w.version)
+            from DailyWorkout w
+            where w.userId = :userId and w.dayDate = :dayDate
+            """)
+    Optional<DailyWorkoutVersion> findVersionByUserIdAndDayDate(@Param("userId") UUID userId,
+                                                                @Param("dayDate") LocalDate dayDate);
+
+    // Finds a user's workouts on the given dates, with their exercises, in one statement.
+    @Query("""
+            select w from DailyWorkout w left join fetch w.scheduledExercises e left join fetch e.exercise
+            where w.userId = :userId and w.dayDate in :dayDates
+            """)
+    List<DailyWorkout> findByUserIdAndDayDateIn(@Param("userId") UUID userId,
+                                                @Param("dayDates") Collection<LocalDate> dayDates);
+
     // Finds all workouts for a user within a given date range.
     List<DailyWorkout> findByUserIdAndDayDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    // Read path: workout columns only, without exercises or their collections.
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow(
+                w.id, w.version, w.updatedAt, w.userId, w.dayDate, w.focusSportTypeForTheDay, w.completionStatus,
+                w.rpeOverallFeedback, w.completionNotes)
+            from DailyWorkout w
+            where w.userId = :userId and w.dayDate between :startDate and :endDate
+            order by w.dayDate
+            """)
+    List<DailyWorkoutRow> findRowsByUserIdAndDayDateBetween(@Param("userId") UUID userId,
+                                                            @Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate);
+
+    // History pages, newest first. The next page seeks past the previous page's last
+    // (day_date, id): the day_date bound is a range condition on the (user_id, day_date) index,
+    // and the id tie-break only filters the one row on that day, so every page is an index
+    // range scan of page-size rows however deep it is.
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow(
+                w.id, w.version, w.updatedAt, w.userId, w.dayDate, w.focusSportTypeForTheDay, w.completionStatus,
+                w.rpeOverallFeedback, w.completionNotes)
+            from DailyWorkout w
+            where w.userId = :userId
+            order by w.dayDate desc, w.id desc
+            """)
+    List<DailyWorkoutRow> findHistoryRows(@Param("userId") UUID userId, Pageable page);
+
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow(
+                w.id, w.version, w.updatedAt, w.userId, w.dayDate, w.focusSportTypeForTheDay, w.completionStatus,
+                w.rpeOverallFeedback, w.completionNotes)
+            from DailyWorkout w
+            where w.userId = :userId
+              and w.dayDate <= :dayDate
+              and (w.dayDate < :dayDate or w.id < :id)
+            order by w.dayDate desc, w.id desc
+            """)
+    List<DailyWorkoutRow> findHistoryRowsBefore(@Param("userId") UUID userId,
+                                                @Param("dayDate") LocalDate dayDate,
+                                                @Param("id") UUID id,
+                                                Pageable page);
+
+    // Change feed: a user's workouts changed after a position and up to a settled upper bound,
+    // oldest change first. The second form resumes within a timestamp after the given id.
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow(
+                w.id, w.version, w.updatedAt, w.userId, w.dayDate, w.focusSportTypeForTheDay, w.completionStatus,
+                w.rpeOverallFeedback, w.completionNotes)
+            from DailyWorkout w
+            where w.userId = :userId and w.updatedAt > :since and w.updatedAt <= :until
+            order by w.updatedAt, w.id
+            """)
+    List<DailyWorkoutRow> findRowsChangedBetween(@Param("userId") UUID userId,
+                                                 @Param("since") Instant since,
+                                                 @Param("until") Instant until,
+                                                 Pageable page);
+
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow(
+                w.id, w.version, w.updatedAt, w.userId, w.dayDate, w.focusSportTypeForTheDay, w.completionStatus,
+                w.rpeOverallFeedback, w.completionNotes)
+            from DailyWorkout w
+            where w.userId = :userId
+              and (w.updatedAt > :since or (w.updatedAt = :since and w.id > :afterId))
+              and w.updatedAt <= :until
+            order by w.updatedAt, w.id
+            """)
+    List<DailyWorkoutRow> findRowsChangedBetween(@Param("userId") UUID userId,
+                                                 @Param("since") Instant since,
+                                                 @Param("afterId") UUID afterId,
+                                                 @Param("until") Instant until,
+                                                 Pageable page);
+
+    /**
+     * Users who recorded feedback (a completion status, RPE or notes) on a workout in the
+     * activity window but have nothing in the given week, in user_id order and after
+     * {@code afterUserId}, so the caller can page through them and checkpoint. Untouched
+     * PENDING days do not count, or every pregenerated week would earn the next one.
+     */
+    @Query("""
+            select w.userId from DailyWorkout w
+            where w.dayDate between :activeSince and :activeUntil
+              and (w.completionStatus <> com.flexfit.workoutplanservice.model.enums.CompletionStatus.PENDING
+                   or w.rpeOverallFeedback is not null or w.completionNotes is not null)
+              and w.userId > :afterUserId
+              and not exists (
+                  select 1 from DailyWorkout planned
+                  where planned.userId = w.userId and planned.dayDate between :weekStart and :weekEnd
+              )
+            group by w.userId
+            order by w.userId
+            """)
+    List<UUID> findUsersWithoutPlannedWeek(@Param("activeSince") LocalDate activeSince,
+                                           @Param("activeUntil") LocalDate activeUntil,
+                                           @Param("weekStart") LocalDate weekStart,
+                                           @Param("weekEnd") LocalDate weekEnd,
+                                           @Param("afterUserId") UUID afterUserId,
+                                           Pageable page);
+}
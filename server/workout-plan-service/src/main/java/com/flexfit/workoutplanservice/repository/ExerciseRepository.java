@@ -0,0 +1,11 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.model.Exercise;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ExerciseRepository extends JpaRepository<Exercise, UUID> {
+}
@@ -0,0 +1,18 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.model.PregenerationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PregenerationRunRepository extends JpaRepository<PregenerationRun, UUID> {
+
+    Optional<PregenerationRun> findByRunDate(LocalDate runDate);
+
+    List<PregenerationRun> findTop14ByOrderByRunDateDesc();
+}
@@ -1,13 +1,45 @@
 package com.flexfit.workoutplanservice.repository;
 
 import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.repository.projection.ScheduledExerciseRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ScheduledExerciseRepository extends JpaRepository<ScheduledExercise, UUID> {
-    // Basic CRUD methods are inherited from JpaRepository.
-    // Custom query methods can be added here if needed later.
+
+    // The range read-path query below selects by the parent's user and date range rather than
+    // an IN list of workout ids, so it is a single statement however many days are requested.
+    // The change feed's workouts are not contiguous in time, so it selects them by id.
+
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.ScheduledExerciseRow(
+                e.id, w.id, e.sequenceOrder, x.id, x.name, x.description,
+                x.applicableSportTypes, x.muscleGroupsPrimary, x.muscleGroupsSecondary, x.equipmentNeeded, x.difficulty,
+                e.prescribedSetsRepsDuration, e.voiceScriptCueText, x.videoUrl, e.rpeFeedback, e.completionStatus)
+            from ScheduledExercise e join e.dailyWorkout w join e.exercise x
+            where w.userId = :userId and w.dayDate between :startDate and :endDate
+            order by w.dayDate, e.sequenceOrder
+            """)
+    List<ScheduledExerciseRow> findRowsByUserIdAndDayDateBetween(@Param("userId") UUID userId,
+                                                                 @Param("startDate") LocalDate startDate,
+                                                                 @Param("endDate") LocalDate endDate);
+
+    @Query("""
+            select new com.flexfit.workoutplanservice.repository.projection.ScheduledExerciseRow(
+                e.id, w.id, e.sequenceOrder, x.id, x.name, x.description,
+                x.applicableSportTypes, x.muscleGroupsPrimary, x.muscleGroupsSecondary, x.equipmentNeeded, x.difficulty,
+                e.prescribedSetsRepsDuration, e.voiceScriptCueText, x.videoUrl, e.rpeFeedback, e.completionStatus)
+            from ScheduledExercise e join e.dailyWorkout w join e.exercise x
+            where w.id in :dailyWorkoutIds
+            order by w.id, e.sequenceOrder
+            """)
+    List<ScheduledExerciseRow> findRowsByDailyWorkoutIdIn(@Param("dailyWorkoutIds") Collection<UUID> dailyWorkoutIds);
 }
@@ -0,0 +1,38 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.model.TrainingLoadDay;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TrainingLoadDayRepository extends JpaRepository<TrainingLoadDay, UUID> {
+
+    List<TrainingLoadDay> findByUserIdAndDayDateIn(UUID userId, Collection<LocalDate> dayDates);
+
+    // Prompt context: one indexed (user_id, day_date) range scan over narrow rows.
+    List<TrainingLoadDay> findByUserIdAndDayDateBetweenOrderByDayDate(UUID userId, LocalDate startDate, LocalDate endDate);
+
+    // Completion sync: one statement for all of a user's days moving to the same status.
+    @Modifying
+    @Query("""
+            update TrainingLoadDay d set d.completionStatus = :status
+            where d.userId = :userId and d.dayDate in :dayDates
+            """)
+    int updateCompletionStatus(@Param("userId") UUID userId,
+                               @Param("dayDates") Collection<LocalDate> dayDates,
+                               @Param("status") CompletionStatus status);
+
+    // Bulk delete without loading the rows first.
+    @Modifying
+    @Query("delete from TrainingLoadDay d where d.userId = :userId and d.dayDate < :cutoff")
+    int deleteByUserIdAndDayDateBefore(@Param("userId") UUID userId, @Param("cutoff") LocalDate cutoff);
+}
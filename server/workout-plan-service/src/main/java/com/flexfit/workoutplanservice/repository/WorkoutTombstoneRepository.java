@@ -0,0 +1,31 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.model.WorkoutTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WorkoutTombstoneRepository extends JpaRepository<WorkoutTombstone, UUID> {
+
+    // Change feed: the deletions between two feed positions, oldest first.
+    @Query("""
+            select t from WorkoutTombstone t
+            where t.userId = :userId and t.deletedAt > :since and t.deletedAt <= :until
+            order by t.deletedAt
+            """)
+    List<WorkoutTombstone> findDeletedBetween(@Param("userId") UUID userId,
+                                              @Param("since") Instant since,
+                                              @Param("until") Instant until);
+
+    // Bulk delete without loading the rows first.
+    @Modifying
+    @Query("delete from WorkoutTombstone t where t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") Instant cutoff);
+}
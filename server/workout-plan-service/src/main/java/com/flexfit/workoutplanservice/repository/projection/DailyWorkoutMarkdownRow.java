@@ -0,0 +1,10 @@
+package com.flexfit.workoutplanservice.repository.projection;
+
+import java.util.UUID;
+
+// Markdown of a daily workout with the workout's identity and version, for the ETag.
+public record DailyWorkoutMarkdownRow(
+    UUID id,
+    Long version,
+    String markdownContent
+) {}
@@ -0,0 +1,21 @@
+package com.flexfit.workoutplanservice.repository.projection;
+
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Flat, read-only projection of a daily_workouts row; no entity graph or markdown is loaded.
+public record DailyWorkoutRow(
+    UUID id,
+    Long version,
+    Instant updatedAt,
+    UUID userId,
+    LocalDate dayDate,
+    SportType focusSportTypeForTheDay,
+    CompletionStatus completionStatus,
+    Integer rpeOverallFeedback,
+    String completionNotes
+) {}
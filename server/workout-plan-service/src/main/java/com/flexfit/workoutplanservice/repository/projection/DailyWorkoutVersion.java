@@ -0,0 +1,9 @@
+package com.flexfit.workoutplanservice.repository.projection;
+
+import java.util.UUID;
+
+// Identity and version of a daily_workouts row; enough to compute its ETag.
+public record DailyWorkoutVersion(
+    UUID id,
+    Long version
+) {}
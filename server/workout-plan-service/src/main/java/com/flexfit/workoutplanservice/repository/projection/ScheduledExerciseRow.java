@@ -0,0 +1,29 @@
+package com.flexfit.workoutplanservice.repository.projection;
+
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+
+import java.util.List;
+import java.util.UUID;
+
+// Flat, read-only projection of a scheduled_exercises row joined with its catalog entry,
+// carrying its parent workout id.
+public record ScheduledExerciseRow(
+    UUID id,
+    UUID dailyWorkoutId,
+    Integer sequenceOrder,
+    UUID exerciseId,
+    String exerciseName,
+    String description,
+    List<SportType> applicableSportTypes,
+    List<String> muscleGroupsPrimary,
+    List<String> muscleGroupsSecondary,
+    List<EquipmentItem> equipmentNeeded,
+    String difficulty,
+    String prescribedSetsRepsDuration,
+    String voiceScriptCueText,
+    String videoUrl,
+    Integer rpeFeedback,
+    CompletionStatus completionStatus
+) {}
@@ -0,0 +1,78 @@
+package com.flexfit.workoutplanservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs a group of blocking calls concurrently, each on its own virtual thread. The group is
+ * scoped to a single {@link #invokeAll} call: it returns only once every task has finished or
+ * been cancelled. A shared semaphore caps how many tasks run at once across all callers, so
+ * a burst of fan-out requests cannot open an unbounded number of GenAI connections.
+ */
+@Component
+public class BoundedFanOut {
+
+    private final Semaphore permits;
+
+    public BoundedFanOut(@Value("${flexfit.generation.weekly.fan-out.max-concurrent-calls:14}") int maxConcurrentCalls) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * @return The task results, in the order of {@code tasks}.
+     * @throws RuntimeException The first failure, rethrown as is when unchecked or wrapped in an
+     *         {@link IllegalStateException}; the tasks still running are interrupted.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<T> completion = new ExecutorCompletionService<>(scope);
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(completion.submit(() -> runWithPermit(task)));
+            }
+
+            try {
+                // Wait in completion order so the first failure cancels the rest immediately
+                for (int i = 0; i < tasks.size(); i++) {
+                    completion.take().get();
+                }
+            } catch (ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for concurrent calls", e);
+            }
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.resultNow());
+            }
+            return Collections.unmodifiableList(results);
+        }
+    }
+
+    private <T> T runWithPermit(Callable<T> task) throws Exception {
+        permits.acquire();
+        try {
+            return task.call();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.CompletionSyncResponse;
+import com.flexfit.workoutplanservice.dto.ExerciseCompletionUpdate;
+import com.flexfit.workoutplanservice.dto.WorkoutCompletionUpdate;
+import com.flexfit.workoutplanservice.dto.WorkoutSyncResult;
+import com.flexfit.workoutplanservice.dto.WorkoutSyncResult.Status;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Applies batches of completion and RPE updates, e.g. from a client reconnecting after a
+ * session offline. The whole batch is one transaction of set-based statements: one select
+ * of the workouts' versions, one of their exercises, then one batched UPDATE per table.
+ * <p>
+ * Each workout update carries the version the client last saw. The workout UPDATE is guarded
+ * by that version and bumps it, so an update racing a regeneration or another sync is rejected
+ * as a conflict instead of overwriting it, and stamps updated_at for the change feed as
+ * {@link DailyWorkout#touch} would. Rejected workouts are reported per item; the rest of the
+ * batch is still applied.
+ */
+@Service
+@RequiredArgsConstructor
+public class CompletionSyncService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TrainingLoadTracker trainingLoadTracker;
+
+    @Transactional
+    public CompletionSyncResponse sync(UUID userId, List<WorkoutCompletionUpdate> updates) {
+        List<UUID> workoutIds = updates.stream().map(WorkoutCompletionUpdate::getWorkoutId).distinct().toList();
+        Map<UUID, WorkoutState> current = loadWorkouts(userId, workoutIds);
+        boolean withExercises = updates.stream().anyMatch(update -> update.getExercises() != null && !update.getExercises().isEmpty());
+        Map<UUID, UUID> exerciseOwners = withExercises ? loadExerciseOwners(List.copyOf(current.keySet())) : Map.of();
+
+        WorkoutSyncResult[] results = new WorkoutSyncResult[updates.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            WorkoutCompletionUpdate update = updates.get(i);
+            WorkoutState state = current.get(update.getWorkoutId());
+            Optional<String> rejection = validate(update, state, exerciseOwners);
+            if (rejection.isPresent()) {
+                results[i] = rejected(update, state, rejection.get());
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // Same clock and precision as DailyWorkout.touch, for the change feed
+        OffsetDateTime updatedAt = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        // Version-guarded; a zero count means the workout changed after it was read above,
+        // or an earlier item of this batch already updated it
+        int[] counts = jdbcTemplate.batchUpdate("""
+                UPDATE daily_workouts
+                SET completion_status = COALESCE(:completionStatus, completion_status),
+                    rpe_overall_feedback = COALESCE(:rpeOverallFeedback, rpe_overall_feedback),
+                    completion_notes = COALESCE(:completionNotes, completion_notes),
+                    version = version + 1,
+                    updated_at = :updatedAt
+                WHERE id = :id AND user_id = :userId AND version = :version
+                """,
+            candidates.stream().map(i -> workoutParameters(userId, updates.get(i), updatedAt)).toArray(SqlParameterSource[]::new));
+
+        List<SqlParameterSource> exerciseParameters = new ArrayList<>();
+        Map<LocalDate, CompletionStatus> completedDays = new HashMap<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            WorkoutCompletionUpdate update = updates.get(i);
+            WorkoutState state = current.get(update.getWorkoutId());
+            if (counts[c] == 0) {
+                results[i] = new WorkoutSyncResult(update.getWorkoutId(), Status.CONFLICT, null,
+                        "Workout changed while the batch was applied");
+                continue;
+            }
+            results[i] = new WorkoutSyncResult(update.getWorkoutId(), Status.APPLIED, update.getVersion() + 1, null);
+            if (update.getCompletionStatus() != null) {
+                completedDays.put(state.dayDate(), update.getCompletionStatus());
+            }
+            if (update.getExercises() != null) {
+                for (ExerciseCompletionUpdate exercise : update.getExercises()) {
+                    exerciseParameters.add(exerciseParameters(exercise));
+                }
+            }
+        }
+        if (!exerciseParameters.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    UPDATE scheduled_exercises
+                    SET completion_status = COALESCE(:completionStatus, completion_status),
+                        rpe_feedback = COALESCE(:rpeFeedback, rpe_feedback)
+                    WHERE id = :id
+                    """,
+                exerciseParameters.toArray(SqlParameterSource[]::new));
+        }
+        if (!completedDays.isEmpty()) {
+            trainingLoadTracker.recordCompletion(userId, completedDays);
+        }
+
+        List<WorkoutSyncResult> ordered = List.of(results);
+        int applied = (int) ordered.stream().filter(result -> result.getStatus() == Status.APPLIED).count();
+        return new CompletionSyncResponse(applied, ordered.size() - applied, ordered);
+    }
+
+    private Optional<String> validate(WorkoutCompletionUpdate update, WorkoutState state, Map<UUID, UUID> exerciseOwners) {
+        if (state == null) {
+            return Optional.of("Workout not found");
+        }
+        if (!state.version().equals(update.getVersion())) {
+            return Optional.of("Workout changed since version " + update.getVersion());
+        }
+        if (update.getExercises() != null) {
+            for (ExerciseCompletionUpdate exercise : update.getExercises()) {
+                if (!update.getWorkoutId().equals(exerciseOwners.get(exercise.getScheduledExerciseId()))) {
+                    return Optional.of("Scheduled exercise " + exercise.getScheduledExerciseId() + " is not part of the workout");
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private WorkoutSyncResult rejected(WorkoutCompletionUpdate update, WorkoutState state, String message) {
+        if (state != null && !state.version().equals(update.getVersion())) {
+            return new WorkoutSyncResult(update.getWorkoutId(), Status.CONFLICT, state.version(), message);
+        }
+        return new WorkoutSyncResult(update.getWorkoutId(), Status.NOT_FOUND, null, message);
+    }
+
+    private Map<UUID, WorkoutState> loadWorkouts(UUID userId, List<UUID> workoutIds) {
+        Map<UUID, WorkoutState> workouts = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT id, version, day_date FROM daily_workouts
+                WHERE user_id = :userId AND id IN (:ids)
+                """,
+            new MapSqlParameterSource("userId", userId).addValue("ids", workoutIds),
+            rs -> {
+                UUID id = rs.getObject("id", UUID.class);
+                workouts.put(id, new WorkoutState(rs.getLong("version"), rs.getObject("day_date", LocalDate.class)));
+            });
+        return workouts;
+    }
+
+    private Map<UUID, UUID> loadExerciseOwners(List<UUID> workoutIds) {
+        if (workoutIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, UUID> owners = new HashMap<>();
+        jdbcTemplate.query("SELECT id, daily_workout_id FROM scheduled_exercises WHERE daily_workout_id IN (:ids)",
+            new MapSqlParameterSource("ids", workoutIds),
+            rs -> {
+                owners.put(rs.getObject("id", UUID.class), rs.getObject("daily_workout_id", UUID.class));
+            });
+        return owners;
+    }
+
+    // Typed so that omitted values bind as typed NULLs, which COALESCE then skips
+    private SqlParameterSource workoutParameters(UUID userId, WorkoutCompletionUpdate update, OffsetDateTime updatedAt) {
+        return new MapSqlParameterSource()
+                .addValue("completionStatus", name(update.getCompletionStatus()), Types.VARCHAR)
+                .addValue("rpeOverallFeedback", update.getRpeOverallFeedback(), Types.INTEGER)
+                .addValue("completionNotes", update.getCompletionNotes(), Types.VARCHAR)
+                .addValue("id", update.getWorkoutId())
+                .addValue("userId", userId)
+                .addValue("version", update.getVersion())
+                .addValue("updatedAt", updatedAt);
+    }
+
+    private SqlParameterSource exerciseParameters(ExerciseCompletionUpdate exercise) {
+        return new MapSqlParameterSource()
+                .addValue("completionStatus", name(exercise.getCompletionStatus()), Types.VARCHAR)
+                .addValue("rpeFeedback", exercise.getRpeFeedback(), Types.INTEGER)
+                .addValue("id", exercise.getScheduledExerciseId());
+    }
+
+    private static String name(CompletionStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    private record WorkoutState(Long version, LocalDate dayDate) {}
+}
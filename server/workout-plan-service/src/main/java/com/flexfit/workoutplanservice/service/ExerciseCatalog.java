@@ -0,0 +1,126 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.repository.ExerciseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves the catalog entries of generated exercises. Entries that are known to exist are
+ * interned in memory, so the common case ("Push-ups" for the thousandth time) costs no query;
+ * the rest are looked up with one batched select and the still-missing ones inserted.
+ * <p>
+ * Two transactions inserting the same new entry race on its primary key. The loser fails
+ * with a DataIntegrityViolationException and, like any other save conflict, is retried by
+ * the caller; the retry finds the winner's row.
+ */
+@Component
+public class ExerciseCatalog {
+
+    private final ExerciseRepository exerciseRepository;
+    // Entries are immutable once inserted, so an interned instance can be shared by every thread
+    private final Cache<UUID, Exercise> interned;
+    private final Counter internedHits;
+    private final Counter loaded;
+    private final Counter created;
+
+    public ExerciseCatalog(ExerciseRepository exerciseRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${flexfit.cache.exercise-catalog.maximum-size:20000}") long maximumSize) {
+        this.exerciseRepository = exerciseRepository;
+        this.interned = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, interned, "exercise_catalog");
+
+        this.internedHits = resolutions(meterRegistry, "interned");
+        this.loaded = resolutions(meterRegistry, "loaded");
+        this.created = resolutions(meterRegistry, "created");
+    }
+
+    /**
+     * Points every scheduled exercise at the canonical catalog entry for its name, in place.
+     * Each exercise must carry a candidate entry (see {@link Exercise#named}); its attributes
+     * become the catalog entry only if the name is new. Must run inside the write transaction.
+     */
+    public void resolve(Collection<ScheduledExercise> scheduledExercises) {
+        Map<UUID, Exercise> resolved = new HashMap<>();
+        Map<UUID, Exercise> candidates = new LinkedHashMap<>();
+        for (ScheduledExercise scheduled : scheduledExercises) {
+            Exercise candidate = scheduled.getExercise();
+            if (resolved.containsKey(candidate.getId()) || candidates.containsKey(candidate.getId())) {
+                continue;
+            }
+            Exercise known = interned.getIfPresent(candidate.getId());
+            if (known != null) {
+                resolved.put(known.getId(), known);
+                internedHits.increment();
+            } else {
+                candidates.put(candidate.getId(), candidate);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            for (Exercise existing : exerciseRepository.findAllById(candidates.keySet())) {
+                resolved.put(existing.getId(), existing);
+                loaded.increment();
+            }
+            List<Exercise> inserts = new ArrayList<>();
+            candidates.forEach((id, candidate) -> {
+                if (!resolved.containsKey(id)) {
+                    inserts.add(candidate);
+                    resolved.put(id, candidate);
+                }
+            });
+            exerciseRepository.saveAll(inserts);
+            created.increment(inserts.size());
+            internAfterCommit(candidates.keySet().stream().map(resolved::get).toList());
+        }
+
+        for (ScheduledExercise scheduled : scheduledExercises) {
+            scheduled.setExercise(resolved.get(scheduled.getExercise().getId()));
+        }
+    }
+
+    public void invalidateAll() {
+        interned.invalidateAll();
+    }
+
+    // Only entries whose rows are committed may be handed to other transactions
+    private void internAfterCommit(List<Exercise> exercises) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            exercises.forEach(exercise -> interned.put(exercise.getId(), exercise));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                exercises.forEach(exercise -> interned.put(exercise.getId(), exercise));
+            }
+        });
+    }
+
+    private static Counter resolutions(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("exercise_catalog_resolutions_total")
+                .description("Generated exercises resolved to a catalog entry, by where the entry came from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,238 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.config.GenAIAdmissionProperties;
+import com.flexfit.workoutplanservice.exception.GenAIRejectedException;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of concurrent calls to each GenAI worker. Calls beyond the limit wait in
+ * a per-worker priority queue (interactive days before weeks before batch jobs, FIFO within a
+ * priority) until a slot frees up or their queue timeout passes. When the queue is full a new
+ * call either displaces the lowest-priority waiter or is rejected straight away, so a spike
+ * turns into fast 429s instead of an ever-growing pile of slow requests.
+ */
+@Component
+public class GenAIAdmissionController {
+
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(60);
+
+    private final Map<String, WorkerQueue> queues = new HashMap<>();
+    private final Map<GenAIPriority, Duration> queueTimeouts = new EnumMap<>(GenAIPriority.class);
+    private final MeterRegistry meterRegistry;
+
+    public GenAIAdmissionController(GenAIAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        queues.put("cloud", new WorkerQueue("cloud", properties.getCloud()));
+        queues.put("local", new WorkerQueue("local", properties.getLocal()));
+        queueTimeouts.put(GenAIPriority.INTERACTIVE, properties.getQueueTimeout().getInteractive());
+        queueTimeouts.put(GenAIPriority.WEEKLY, properties.getQueueTimeout().getWeekly());
+        queueTimeouts.put(GenAIPriority.BATCH, properties.getQueueTimeout().getBatch());
+    }
+
+    /**
+     * Waits for a slot on the worker. The returned permit must be closed when the call ends.
+     * @param worker "cloud" or "local".
+     * @throws GenAIRejectedException (429) if the queue is full, the wait times out, or a
+     *         higher-priority call took this one's place in the queue.
+     */
+    public Permit admit(String worker, GenAIPriority priority) {
+        return queues.get(worker).admit(priority, queueTimeouts.get(priority));
+    }
+
+    public int queueDepth(String worker) {
+        return queues.get(worker).waitingCount();
+    }
+
+    /** A slot on a worker; closing it hands the slot to the next queued call. */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private enum WaiterState { WAITING, ADMITTED, SHED }
+
+    private static final class Waiter {
+        final GenAIPriority priority;
+        final long sequence;
+        final Condition signal;
+        WaiterState state = WaiterState.WAITING;
+
+        Waiter(GenAIPriority priority, long sequence, Condition signal) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.signal = signal;
+        }
+    }
+
+    private final class WorkerQueue {
+        private final String worker;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+            Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.sequence));
+        private long nextSequence;
+        private int inFlight;
+        // Exponentially weighted average of how long a slot is held, for Retry-After estimates
+        private double averageHoldNanos = Duration.ofSeconds(10).toNanos();
+
+        WorkerQueue(String worker, GenAIAdmissionProperties.Worker limits) {
+            this.worker = worker;
+            this.maxConcurrent = limits.getMaxConcurrent();
+            this.maxQueued = limits.getMaxQueued();
+            Gauge.builder("genai_admission_queue_depth", this, WorkerQueue::waitingCount)
+                .description("GenAI calls waiting for a worker slot")
+                .tag("worker", worker)
+                .register(meterRegistry);
+            Gauge.builder("genai_admission_in_flight", this, WorkerQueue::inFlightCount)
+                .description("GenAI calls currently holding a worker slot")
+                .tag("worker", worker)
+                .register(meterRegistry);
+        }
+
+        Permit admit(GenAIPriority priority, Duration queueTimeout) {
+            long start = System.nanoTime();
+            lock.lock();
+            try {
+                if (inFlight < maxConcurrent && waiting.isEmpty()) {
+                    inFlight++;
+                    return permit(priority, start);
+                }
+                if (waiting.size() >= maxQueued && !shedLowerPriorityThan(priority)) {
+                    throw reject(priority, "queue_full", "GenAI " + worker + " worker queue is full");
+                }
+
+                Waiter waiter = new Waiter(priority, nextSequence++, lock.newCondition());
+                waiting.add(waiter);
+                long remaining = queueTimeout.toNanos();
+                try {
+                    while (waiter.state == WaiterState.WAITING && remaining > 0) {
+                        remaining = waiter.signal.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    if (waiter.state == WaiterState.ADMITTED) {
+                        release(0);
+                    } else {
+                        waiting.remove(waiter);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while queued for the GenAI " + worker + " worker", e);
+                }
+
+                return switch (waiter.state) {
+                    case ADMITTED -> permit(priority, start);
+                    case SHED -> throw reject(priority, "shed",
+                        "GenAI " + worker + " worker queue is full of higher-priority requests");
+                    case WAITING -> {
+                        waiting.remove(waiter);
+                        throw reject(priority, "deadline", "Timed out waiting for the GenAI " + worker + " worker");
+                    }
+                };
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Drops the newest waiter of the lowest priority if it ranks below the newcomer
+        private boolean shedLowerPriorityThan(GenAIPriority priority) {
+            Waiter lowest = waiting.stream()
+                .max(Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.sequence))
+                .orElse(null);
+            if (lowest == null || lowest.priority.compareTo(priority) <= 0) {
+                return false;
+            }
+            waiting.remove(lowest);
+            lowest.state = WaiterState.SHED;
+            lowest.signal.signal();
+            return true;
+        }
+
+        private Permit permit(GenAIPriority priority, long start) {
+            long admittedAt = System.nanoTime();
+            waitTimer(priority).record(admittedAt - start, TimeUnit.NANOSECONDS);
+            boolean[] closed = {false};
+            return () -> {
+                lock.lock();
+                try {
+                    if (!closed[0]) {
+                        closed[0] = true;
+                        release(System.nanoTime() - admittedAt);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            };
+        }
+
+        // Called with the lock held; hands the freed slot straight to the next waiter
+        private void release(long heldNanos) {
+            if (heldNanos > 0) {
+                averageHoldNanos = 0.8 * averageHoldNanos + 0.2 * heldNanos;
+            }
+            Waiter next = waiting.poll();
+            if (next != null) {
+                next.state = WaiterState.ADMITTED;
+                next.signal.signal();
+            } else {
+                inFlight--;
+            }
+        }
+
+        private GenAIRejectedException reject(GenAIPriority priority, String reason, String message) {
+            Counter.builder("genai_admission_rejections_total")
+                .description("GenAI calls rejected before reaching a worker")
+                .tag("worker", worker)
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+            // Roughly how long until the current queue has drained through the worker's slots
+            long estimate = (long) (averageHoldNanos * (waiting.size() + 1) / maxConcurrent);
+            Duration retryAfter = Duration.ofNanos(Math.max(MIN_RETRY_AFTER.toNanos(), Math.min(MAX_RETRY_AFTER.toNanos(), estimate)));
+            return new GenAIRejectedException(HttpStatus.TOO_MANY_REQUESTS, retryAfter, message);
+        }
+
+        private Timer waitTimer(GenAIPriority priority) {
+            return Timer.builder("genai_admission_wait_seconds")
+                .description("Time GenAI calls waited for a worker slot")
+                .tag("worker", worker)
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry);
+        }
+
+        int waitingCount() {
+            lock.lock();
+            try {
+                return waiting.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int inFlightCount() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of GenAI worker responses. Entries are keyed by the
+ * {@link PromptFingerprinter} digest of the prompt context, held in a bounded in-memory
+ * tier and optionally mirrored to a disk tier that survives restarts.
+ */
+@Component
+public class GenAIResponseCache {
+
+    private final Logger logger = LoggerFactory.getLogger(GenAIResponseCache.class);
+
+    private final PromptFingerprinter fingerprinter;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, CachedResponse> memoryTier;
+    private final boolean diskEnabled;
+    private final Path diskDirectory;
+    private final Duration diskTtl;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public GenAIResponseCache(PromptFingerprinter fingerprinter,
+                              MeterRegistry meterRegistry,
+                              @Value("${flexfit.cache.genai-response.maximum-size:5000}") long maximumSize,
+                              @Value("${flexfit.cache.genai-response.ttl:PT6H}") Duration ttl,
+                              @Value("${flexfit.cache.genai-response.disk.enabled:false}") boolean diskEnabled,
+                              @Value("${flexfit.cache.genai-response.disk.directory:${java.io.tmpdir}/flexfit-genai-cache}") Path diskDirectory,
+                              @Value("${flexfit.cache.genai-response.disk.ttl:P1D}") Duration diskTtl) {
+        this.fingerprinter = fingerprinter;
+        this.meterRegistry = meterRegistry;
+        this.memoryTier = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.diskEnabled = diskEnabled;
+        this.diskDirectory = diskDirectory;
+        this.diskTtl = diskTtl;
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryTier, "genai_responses");
+
+        this.hits = Counter.builder("genai_response_cache_hits_total")
+                .description("GenAI calls answered from the response cache (memory or disk)")
+                .register(meterRegistry);
+        this.misses = Counter.builder("genai_response_cache_misses_total")
+                .description("GenAI calls that had to go to a worker")
+                .register(meterRegistry);
+        Gauge.builder("genai_response_cache_hit_ratio", this, GenAIResponseCache::hitRatio)
+                .description("Share of cacheable GenAI calls answered from the response cache")
+                .register(meterRegistry);
+
+        if (diskEnabled) {
+            try {
+                Files.createDirectories(diskDirectory);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to create GenAI cache directory " + diskDirectory, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached response for this prompt, or calls the loader and caches a non-null result.
+     * @param operation The GenAI endpoint, e.g. "daily" or "weekly".
+     * @param worker The worker that would answer, e.g. "cloud" or "local".
+     * @param context The prompt context sent to the worker.
+     * @param bypass When true, skips the lookup and does not store the result.
+     * @param type The response record type.
+     * @param loader Performs the actual worker call; may return null on failure.
+     */
+    public <T> T get(String operation, String worker, Object context, boolean bypass, Class<T> type, Supplier<T> loader) {
+        if (bypass) {
+            lookups(operation, "bypass").increment();
+            return loader.get();
+        }
+
+        String key = fingerprinter.fingerprint(operation, worker, context);
+        CachedResponse cached = memoryTier.getIfPresent(key);
+        String tier = "memory";
+        if (cached == null && diskEnabled) {
+            cached = readFromDisk(key, type);
+            tier = "disk";
+            if (cached != null) {
+                memoryTier.put(key, cached);
+            }
+        }
+        if (cached != null) {
+            hits.increment();
+            lookups(operation, "hit_" + tier).increment();
+            savedLatency(operation).record(cached.generationNanos(), TimeUnit.NANOSECONDS);
+            return type.cast(cached.response());
+        }
+
+        misses.increment();
+        lookups(operation, "miss").increment();
+        long start = System.nanoTime();
+        T response = loader.get();
+        if (response != null) {
+            CachedResponse entry = new CachedResponse(response, System.nanoTime() - start);
+            memoryTier.put(key, entry);
+            if (diskEnabled) {
+                writeToDisk(key, entry);
+            }
+        }
+        return response;
+    }
+
+    public void invalidateAll() {
+        memoryTier.invalidateAll();
+        if (diskEnabled) {
+            try (Stream<Path> files = Files.list(diskDirectory)) {
+                files.filter(path -> path.toString().endsWith(".json")).forEach(this::deleteQuietly);
+            } catch (IOException e) {
+                logger.warn("Unable to clear GenAI cache directory {}: {}", diskDirectory, e.getMessage());
+            }
+        }
+    }
+
+    private CachedResponse readFromDisk(String key, Class<?> type) {
+        Path file = diskDirectory.resolve(key + ".json");
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            if (Files.getLastModifiedTime(file).toInstant().isBefore(Instant.now().minus(diskTtl))) {
+                deleteQuietly(file);
+                return null;
+            }
+            JsonNode entry = objectMapper.readTree(file.toFile());
+            Object response = objectMapper.treeToValue(entry.get("response"), type);
+            return new CachedResponse(response, entry.path("generationNanos").asLong());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable GenAI cache entry {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, CachedResponse entry) {
+        Path file = diskDirectory.resolve(key + ".json");
+        try {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("generationNanos", entry.generationNanos());
+            node.set("response", objectMapper.valueToTree(entry.response()));
+            // Write-then-rename so concurrent readers never see a partial file
+            Path tmp = Files.createTempFile(diskDirectory, key, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), node);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Unable to write GenAI cache entry {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Unable to delete GenAI cache entry {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Counter lookups(String operation, String result) {
+        return Counter.builder("genai_response_cache_lookups_total")
+                .description("GenAI response cache lookups by operation and result")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Timer savedLatency(String operation) {
+        return Timer.builder("genai_response_cache_saved_latency_seconds")
+                .description("GenAI latency avoided by serving a cached response")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private record CachedResponse(Object response, long generationNanos) {}
+}
@@ -0,0 +1,303 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.config.GenAIRoutingProperties;
+import com.flexfit.workoutplanservice.exception.GenAIRejectedException;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Routes GenAI calls between the cloud and local workers. A call goes to the preferred worker;
+ * if that has not answered within its recent p95 latency, the same call is also sent to the
+ * other worker and whichever answers first wins, with the slower call cancelled. Only the
+ * slowest ~5% of calls are hedged, so tail latency drops without doubling the load. Each worker
+ * has a circuit breaker; while one is open, calls go straight to the other worker. Every call
+ * first waits for a slot from {@link GenAIAdmissionController}; a worker whose queue is full is
+ * treated like a failed one and the call moves to the other worker.
+ */
+@Component
+public class GenAIWorkerRouter {
+
+    enum Worker {
+        CLOUD, LOCAL;
+
+        static Worker of(String aiPreference) {
+            return "local".equalsIgnoreCase(aiPreference) ? LOCAL : CLOUD;
+        }
+
+        Worker other() {
+            return this == CLOUD ? LOCAL : CLOUD;
+        }
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(GenAIWorkerRouter.class);
+
+    private final Map<Worker, RestTemplate> restTemplates = new EnumMap<>(Worker.class);
+    private final Map<Worker, WorkerCircuitBreaker> circuitBreakers = new EnumMap<>(Worker.class);
+    private final GenAIRoutingProperties.Hedging hedging;
+    private final Duration openDuration;
+    private final GenAIAdmissionController admissionController;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    public GenAIWorkerRouter(@Qualifier("genaiCloudRestTemplate") RestTemplate genaiCloudRestTemplate,
+                             @Qualifier("genaiLocalRestTemplate") RestTemplate genaiLocalRestTemplate,
+                             GenAIRoutingProperties properties,
+                             GenAIAdmissionController admissionController,
+                             MeterRegistry meterRegistry,
+                             @Qualifier("generationExecutor") ExecutorService executor) {
+        this.restTemplates.put(Worker.CLOUD, genaiCloudRestTemplate);
+        this.restTemplates.put(Worker.LOCAL, genaiLocalRestTemplate);
+        this.hedging = properties.getHedging();
+        this.openDuration = properties.getCircuitBreaker().getOpenDuration();
+        this.admissionController = admissionController;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+
+        GenAIRoutingProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        for (Worker worker : Worker.values()) {
+            WorkerCircuitBreaker breaker = new WorkerCircuitBreaker(
+                circuitBreaker.getFailureThreshold(), circuitBreaker.getOpenDuration(), System::nanoTime);
+            circuitBreakers.put(worker, breaker);
+            Gauge.builder("genai_worker_circuit_state", breaker, b -> b.state().ordinal())
+                .description("GenAI worker circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("worker", worker.tag())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Makes an idempotent call, hedging it on the other worker if the preferred one is slow and
+     * failing over if the preferred one errors or its circuit is open.
+     * @param operation Metric tag for the kind of call, e.g. "daily" or "weekly".
+     * @param aiPreference The preferred worker; anything but "local" means cloud.
+     * @param priority Position in the worker's admission queue.
+     * @param call The request to make with the chosen worker's RestTemplate.
+     * @throws RuntimeException The last worker error, or a {@link GenAIRejectedException} when
+     *         no worker could take the call.
+     */
+    public <T> T hedged(String operation, String aiPreference, GenAIPriority priority, Function<RestTemplate, T> call) {
+        Worker primary = Worker.of(aiPreference);
+        if (!circuitBreakers.get(primary).tryAcquire()) {
+            return failOver(operation, primary, priority, "circuit_open", call, null);
+        }
+        if (!hedging.isEnabled()) {
+            try {
+                return attempt(operation, primary, priority, call);
+            } catch (RuntimeException e) {
+                return failOver(operation, primary, priority, failoverReason(e), call, e);
+            }
+        }
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        Future<T> primaryCall = completion.submit(() -> attempt(operation, primary, priority, call));
+        Future<T> hedgeCall = null;
+        try {
+            Future<T> done = completion.poll(hedgeDelay(operation, primary).toNanos(), TimeUnit.NANOSECONDS);
+            if (done != null) {
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    RuntimeException cause = unwrap(e);
+                    return failOver(operation, primary, priority, failoverReason(cause), call, cause);
+                }
+            }
+
+            Worker secondary = primary.other();
+            if (!circuitBreakers.get(secondary).tryAcquire()) {
+                return primaryCall.get();
+            }
+            hedgeCall = completion.submit(() -> attempt(operation, secondary, priority, call));
+            counter("genai_hedged_requests_total", "GenAI calls also sent to the other worker because the first was slow",
+                "operation", operation, "primary", primary.tag()).increment();
+            logger.info("{} worker slower than its hedge delay for {}, hedging on {}", primary.tag(), operation, secondary.tag());
+
+            // First success wins; if the first to finish failed, the other one is the answer
+            RuntimeException firstFailure = null;
+            for (int finished = 0; finished < 2; finished++) {
+                Future<T> next = completion.take();
+                try {
+                    T result = next.get();
+                    Future<T> loser = next == primaryCall ? hedgeCall : primaryCall;
+                    loser.cancel(true);
+                    counter("genai_hedge_wins_total", "Hedged GenAI calls by which request answered first",
+                        "operation", operation, "winner", next == primaryCall ? "primary" : "hedge").increment();
+                    return result;
+                } catch (ExecutionException e) {
+                    if (firstFailure == null) {
+                        firstFailure = unwrap(e);
+                    }
+                }
+            }
+            throw firstFailure;
+        } catch (InterruptedException e) {
+            primaryCall.cancel(true);
+            if (hedgeCall != null) {
+                hedgeCall.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a GenAI worker", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Makes a call on the calling thread without hedging, for requests that must not run twice
+     * (e.g. streams whose output is consumed as it arrives). It only fails over when the
+     * preferred worker's circuit is open.
+     */
+    public <T> T withFailover(String operation, String aiPreference, GenAIPriority priority, Function<RestTemplate, T> call) {
+        Worker primary = Worker.of(aiPreference);
+        if (!circuitBreakers.get(primary).tryAcquire()) {
+            Worker secondary = primary.other();
+            if (!circuitBreakers.get(secondary).tryAcquire()) {
+                throw noWorkerAvailable();
+            }
+            failovers(operation, primary, "circuit_open").increment();
+            return attempt(operation, secondary, priority, call);
+        }
+        return attempt(operation, primary, priority, call);
+    }
+
+    private <T> T failOver(String operation, Worker from, GenAIPriority priority, String reason,
+                           Function<RestTemplate, T> call, RuntimeException cause) {
+        Worker to = from.other();
+        if (!circuitBreakers.get(to).tryAcquire()) {
+            throw cause != null ? cause : noWorkerAvailable();
+        }
+        failovers(operation, from, reason).increment();
+        logger.info("Failing over {} call from {} to {} ({})", operation, from.tag(), to.tag(), reason);
+        return attempt(operation, to, priority, call);
+    }
+
+    private String failoverReason(RuntimeException cause) {
+        return cause instanceof GenAIRejectedException ? "saturated" : "error";
+    }
+
+    private GenAIRejectedException noWorkerAvailable() {
+        return new GenAIRejectedException(HttpStatus.SERVICE_UNAVAILABLE, openDuration,
+            "No GenAI worker available: both circuits are open");
+    }
+
+    /**
+     * Runs one call against one worker that has already been let through its circuit breaker,
+     * after waiting for an admission slot. Being turned away by admission control says nothing
+     * about the worker's health, so it does not count against the circuit.
+     */
+    private <T> T attempt(String operation, Worker worker, GenAIPriority priority, Function<RestTemplate, T> call) {
+        WorkerCircuitBreaker breaker = circuitBreakers.get(worker);
+        GenAIAdmissionController.Permit permit;
+        try {
+            permit = admissionController.admit(worker.tag(), priority);
+        } catch (RuntimeException e) {
+            breaker.onAbandoned();
+            outcomes(operation, worker, "rejected").increment();
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        try (permit) {
+            T result = call.apply(restTemplates.get(worker));
+            latency(operation, worker).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            breaker.onSuccess();
+            outcomes(operation, worker, "success").increment();
+            return result;
+        } catch (HttpClientErrorException e) {
+            // A 4xx means the worker is up and rejected this request, not that it is unhealthy
+            breaker.onSuccess();
+            outcomes(operation, worker, "client_error").increment();
+            throw e;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                breaker.onAbandoned();
+                outcomes(operation, worker, "cancelled").increment();
+            } else {
+                breaker.onFailure();
+                outcomes(operation, worker, "failure").increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The p95 of the worker's recent successful latencies for this operation, clamped to the
+     * configured bounds. Falls back to the initial delay until there are enough samples, or
+     * when the decaying percentile window is empty after a quiet period.
+     */
+    Duration hedgeDelay(String operation, Worker worker) {
+        Timer timer = latency(operation, worker);
+        if (timer.count() < hedging.getMinSamples()) {
+            return hedging.getInitialDelay();
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95 && percentile.value() > 0) {
+                Duration p95 = Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+                return p95.compareTo(hedging.getMinDelay()) < 0 ? hedging.getMinDelay()
+                    : p95.compareTo(hedging.getMaxDelay()) > 0 ? hedging.getMaxDelay()
+                    : p95;
+            }
+        }
+        return hedging.getInitialDelay();
+    }
+
+    WorkerCircuitBreaker.State circuitState(Worker worker) {
+        return circuitBreakers.get(worker).state();
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+    }
+
+    private Timer latency(String operation, Worker worker) {
+        return Timer.builder("genai_worker_latency_seconds")
+            .description("Latency of successful GenAI worker calls")
+            .tag("operation", operation)
+            .tag("worker", worker.tag())
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter outcomes(String operation, Worker worker, String outcome) {
+        return counter("genai_worker_requests_total", "GenAI worker calls by worker and outcome",
+            "operation", operation, "worker", worker.tag(), "outcome", outcome);
+    }
+
+    private Counter failovers(String operation, Worker from, String reason) {
+        return counter("genai_worker_failovers_total", "GenAI calls moved to the other worker",
+            "operation", operation, "from", from.tag(), "reason", reason);
+    }
+
+    private Counter counter(String name, String description, String... tags) {
+        return Counter.builder(name)
+            .description(description)
+            .tags(tags)
+            .register(meterRegistry);
+    }
+}
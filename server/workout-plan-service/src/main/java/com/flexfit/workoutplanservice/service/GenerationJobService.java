@@ -0,0 +1,159 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.model.GenerationJob;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobStatus;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobType;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs workout generation in the background so the servlet thread can return a job id
+ * immediately. Jobs execute on the virtual-thread generation executor; a semaphore bounds
+ * how many run at once and a queue limit bounds how many may wait.
+ */
+@Service
+public class GenerationJobService {
+
+    private final Logger logger = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private final WorkoutPlanService workoutPlanService;
+    private final ExecutorService generationExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore runningPermits;
+    private final int maxQueuedJobs;
+    private final Duration retention;
+
+    private final Map<UUID, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    public GenerationJobService(WorkoutPlanService workoutPlanService,
+                                @Qualifier("generationExecutor") ExecutorService generationExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${flexfit.generation.jobs.max-concurrent:8}") int maxConcurrentJobs,
+                                @Value("${flexfit.generation.jobs.max-queued:200}") int maxQueuedJobs,
+                                @Value("${flexfit.generation.jobs.retention:PT1H}") Duration retention) {
+        this.workoutPlanService = workoutPlanService;
+        this.generationExecutor = generationExecutor;
+        this.meterRegistry = meterRegistry;
+        this.runningPermits = new Semaphore(maxConcurrentJobs, true);
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.retention = retention;
+
+        Gauge.builder("workout_generation_jobs_queue_depth", queuedJobs, AtomicInteger::get)
+                .description("Number of generation jobs waiting for an executor slot")
+                .register(meterRegistry);
+        Gauge.builder("workout_generation_jobs_running", runningJobs, AtomicInteger::get)
+                .description("Number of generation jobs currently running")
+                .register(meterRegistry);
+        for (GenerationJobStatus status : GenerationJobStatus.values()) {
+            Gauge.builder("workout_generation_jobs", jobs, map -> countByStatus(map, status))
+                    .description("Number of retained generation jobs by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Registers a new job and schedules it on the generation executor.
+     * @throws RejectedExecutionException if the queue of waiting jobs is full.
+     */
+    public GenerationJob submit(WorkoutPlanGenerationRequest request, GenerationJobType type, String bearerToken) {
+        purgeExpiredJobs();
+        if (queuedJobs.incrementAndGet() > maxQueuedJobs) {
+            queuedJobs.decrementAndGet();
+            throw new RejectedExecutionException("Generation job queue is full");
+        }
+
+        GenerationJob job = new GenerationJob(UUID.randomUUID(), type, request.getUserId());
+        jobs.put(job.getId(), job);
+        try {
+            generationExecutor.execute(() -> run(job, request, bearerToken));
+        } catch (RejectedExecutionException e) {
+            queuedJobs.decrementAndGet();
+            jobs.remove(job.getId());
+            throw e;
+        }
+        logger.info("Queued {} generation job {} for user {}", type, job.getId(), job.getUserId());
+        return job;
+    }
+
+    /**
+     * The job, if it exists and was submitted for the given user. A job belonging to someone
+     * else is reported as absent so that its id does not disclose another user's workouts.
+     */
+    public Optional<GenerationJob> getJob(UUID jobId, UUID userId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    private void run(GenerationJob job, WorkoutPlanGenerationRequest request, String bearerToken) {
+        try {
+            runningPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queuedJobs.decrementAndGet();
+            job.markFailed("Generation job was interrupted before it started");
+            return;
+        }
+
+        queuedJobs.decrementAndGet();
+        runningJobs.incrementAndGet();
+        job.markRunning();
+        stageTimer("queued", job.getType()).record(Duration.between(job.getSubmittedAt(), job.getStartedAt()));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<DailyWorkoutResponse> workouts = job.getType() == GenerationJobType.WEEKLY
+                    ? workoutPlanService.generateWeeklyPlan(request, bearerToken, GenAIPriority.BATCH)
+                    : List.of(workoutPlanService.generateWorkoutPlan(request, bearerToken, GenAIPriority.BATCH));
+            job.markSucceeded(workouts);
+            logger.info("Generation job {} succeeded with {} workout(s)", job.getId(), workouts.size());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            logger.error("Generation job {} failed: {}", job.getId(), e.getMessage());
+        } finally {
+            sample.stop(stageTimer("running", job.getType()));
+            runningJobs.decrementAndGet();
+            runningPermits.release();
+        }
+    }
+
+    private Timer stageTimer(String stage, GenerationJobType type) {
+        return Timer.builder("workout_generation_job_stage_duration_seconds")
+                .description("Time generation jobs spend in each stage")
+                .tag("stage", stage)
+                .tag("type", type.name())
+                .register(meterRegistry);
+    }
+
+    private void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static double countByStatus(Map<UUID, GenerationJob> jobs, GenerationJobStatus status) {
+        return jobs.values().stream().filter(job -> job.getStatus() == status).count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.model.DailyWorkoutMarkdown;
+import com.flexfit.workoutplanservice.model.GzipTextConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves markdown written before {@link DailyWorkoutMarkdown} existed out of the legacy
+ * daily_workouts.markdown_content column, compressing it on the way. Each run moves one page
+ * in its own transaction; the page's rows are locked with SKIP LOCKED so several instances can
+ * run side by side. Workouts regenerated since keep their newer markdown. Once the column is
+ * empty, or absent as on new databases, later runs do nothing; drop the column by hand then.
+ */
+@Service
+public class MarkdownBackfillJob {
+
+    private final Logger logger = LoggerFactory.getLogger(MarkdownBackfillJob.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GzipTextConverter converter = new GzipTextConverter();
+    private final boolean enabled;
+    private final int pageSize;
+    private volatile boolean finished;
+
+    public MarkdownBackfillJob(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${flexfit.markdown-backfill.enabled:true}") boolean enabled,
+                               @Value("${flexfit.markdown-backfill.page-size:200}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(initialDelayString = "${flexfit.markdown-backfill.initial-delay:30s}",
+               fixedDelayString = "${flexfit.markdown-backfill.interval:10s}")
+    public void scheduledRun() {
+        if (!enabled || finished) {
+            return;
+        }
+        try {
+            int moved = backfillPage();
+            if (moved > 0) {
+                logger.info("Moved the markdown of {} workouts to daily_workout_markdown", moved);
+            } else {
+                finished = true;
+                logger.info("No legacy markdown left in daily_workouts.markdown_content");
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Markdown backfill page failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Moves up to one page of legacy markdown.
+     * @return The number of workouts whose legacy column was cleared; 0 when there is nothing left.
+     */
+    public int backfillPage() {
+        if (!legacyColumnExists()) {
+            return 0;
+        }
+        Integer moved = transactionTemplate.execute(status -> {
+            List<LegacyMarkdown> page = jdbcTemplate.query("""
+                    SELECT id, markdown_content FROM daily_workouts
+                    WHERE markdown_content IS NOT NULL
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                    """,
+                (rs, rowNum) -> new LegacyMarkdown(rs.getObject("id", UUID.class), rs.getString("markdown_content")),
+                pageSize);
+            if (page.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO daily_workout_markdown (daily_workout_id, content_gzip)
+                    SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM daily_workout_markdown WHERE daily_workout_id = ?)
+                    """,
+                page, page.size(), (ps, row) -> {
+                    ps.setObject(1, row.id());
+                    ps.setBytes(2, converter.convertToDatabaseColumn(row.markdown()));
+                    ps.setObject(3, row.id());
+                });
+            jdbcTemplate.batchUpdate("UPDATE daily_workouts SET markdown_content = NULL WHERE id = ?",
+                page, page.size(), (ps, row) -> ps.setObject(1, row.id()));
+            return page.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    private boolean legacyColumnExists() {
+        Integer columns = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE LOWER(table_name) = 'daily_workouts' AND LOWER(column_name) = 'markdown_content'
+                """, Integer.class);
+        return columns != null && columns > 0;
+    }
+
+    private record LegacyMarkdown(UUID id, String markdown) {}
+}
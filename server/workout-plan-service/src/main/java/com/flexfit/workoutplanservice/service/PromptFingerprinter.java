@@ -0,0 +1,103 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Computes a stable content fingerprint for GenAI prompt contexts. Two contexts that would
+ * produce an equivalent plan map to the same SHA-256 hex string regardless of map key order
+ * or list order, so the fingerprint can be used as a response cache key.
+ */
+@Component
+public class PromptFingerprinter {
+
+    // Physical attributes are bucketed so near-identical profiles share a fingerprint
+    private static final Map<String, Integer> BUCKETED_PROFILE_FIELDS = Map.of(
+            "age", 5,
+            "height_cm", 5,
+            "weight_kg", 5
+    );
+
+    // The daily date does not influence the generated content; the caller stamps its own date
+    private static final Set<String> IGNORED_DAILY_FOCUS_FIELDS = Set.of("day_date");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    /**
+     * @param operation The GenAI endpoint, e.g. "daily" or "weekly".
+     * @param worker The worker that would answer, e.g. "cloud" or "local".
+     * @param context The prompt context record sent to the worker.
+     * @return A lowercase hex SHA-256 digest of the canonical form.
+     */
+    public String fingerprint(String operation, String worker, Object context) {
+        ObjectNode envelope = JsonNodeFactory.instance.objectNode();
+        envelope.put("operation", operation);
+        envelope.put("worker", worker);
+        envelope.set("context", normalize(objectMapper.valueToTree(context)));
+        try {
+            String canonical = objectMapper.writeValueAsString(canonicalize(envelope));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint prompt context", e);
+        }
+    }
+
+    private JsonNode normalize(JsonNode context) {
+        if (context.get("user_profile") instanceof ObjectNode profile) {
+            BUCKETED_PROFILE_FIELDS.forEach((field, width) -> {
+                JsonNode value = profile.get(field);
+                if (value != null && value.isNumber()) {
+                    profile.put(field, (value.asInt() / width) * width);
+                }
+            });
+        }
+        if (context.get("daily_focus") instanceof ObjectNode dailyFocus) {
+            dailyFocus.remove(IGNORED_DAILY_FOCUS_FIELDS);
+        }
+        return context;
+    }
+
+    /**
+     * Rebuilds the tree with object keys in sorted order and array elements sorted by their
+     * own canonical JSON, dropping nulls so absent and null fields compare equal.
+     */
+    private JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                if (!field.getValue().isNull()) {
+                    sorted.put(field.getKey(), canonicalize(field.getValue()));
+                }
+            }
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            sorted.forEach(result::set);
+            return result;
+        }
+        if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(canonicalize(element)));
+            elements.sort(Comparator.comparing(JsonNode::toString));
+            ArrayNode result = JsonNodeFactory.instance.arrayNode();
+            result.addAll(elements);
+            return result;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,334 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexfit.workoutplanservice.dto.gains.GenAIDailyWorkout;
+import com.flexfit.workoutplanservice.dto.gains.GenAIExercise;
+import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
+import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a daily workout from the curated exercise library in {@code templates/exercise-library.json}
+ * without calling a GenAI worker. The output has the same shape and markdown layout as a worker
+ * response (see genai/workout-templates.md), so it is saved and served like any other plan.
+ * Selection depends only on the inputs: the same user, date, sport and duration give the same workout.
+ */
+@Component
+public class TemplateWorkoutGenerator {
+
+    static final String LIBRARY_LOCATION = "templates/exercise-library.json";
+
+    static final int DEFAULT_DURATION_MINUTES = 45;
+    static final int MIN_EXERCISES = 3;
+    static final int MAX_EXERCISES = 8;
+
+    private static final List<String> DIFFICULTIES = List.of("Beginner", "Intermediate", "Advanced");
+    private static final Pattern FIRST_NUMBER = Pattern.compile("\\d+");
+
+    private final List<LibraryExercise> library;
+    private final boolean fallbackEnabled;
+    private final Duration dailyDeadline;
+    private final Duration weeklyDeadline;
+
+    public TemplateWorkoutGenerator(
+            @Value("${flexfit.generation.template-fallback.enabled:true}") boolean fallbackEnabled,
+            @Value("${flexfit.generation.template-fallback.daily-deadline:PT290S}") Duration dailyDeadline,
+            @Value("${flexfit.generation.template-fallback.weekly-deadline:PT310S}") Duration weeklyDeadline) {
+        this.library = loadLibrary();
+        this.fallbackEnabled = fallbackEnabled;
+        this.dailyDeadline = dailyDeadline;
+        this.weeklyDeadline = weeklyDeadline;
+    }
+
+    /** Whether worker calls that fail or miss their deadline are answered from the library instead. */
+    public boolean isFallbackEnabled() {
+        return fallbackEnabled;
+    }
+
+    /** How long a daily (/generate) worker call may take before the template answer is used. */
+    public Duration dailyDeadline() {
+        return dailyDeadline;
+    }
+
+    /** How long a weekly (/generate-weekly) worker call may take before the template answer is used. */
+    public Duration weeklyDeadline() {
+        return weeklyDeadline;
+    }
+
+    /**
+     * @param preferences The user's preferences; equipment, experience level and disliked exercises are applied.
+     * @param dayDate The day being planned.
+     * @param sport The focus sport; REST gives a rest day without exercises.
+     * @param targetDurationMinutes Total session length including warm-up and cool-down; falls back to the
+     *                              preferred duration range, then {@value #DEFAULT_DURATION_MINUTES} minutes.
+     */
+    public GenAIDailyWorkout generate(UserPreferencesResponse preferences, LocalDate dayDate, SportType sport,
+                                      Integer targetDurationMinutes) {
+        if (sport == SportType.REST) {
+            return new GenAIDailyWorkout(dayDate.toString(), sport.name(), List.of(), restDayMarkdown(dayDate));
+        }
+
+        int duration = targetDuration(preferences, targetDurationMinutes);
+        int phaseMinutes = duration >= 40 ? 10 : 5;
+        int mainMinutes = Math.max(duration - 2 * phaseMinutes, phaseMinutes);
+
+        Set<EquipmentItem> available = availableEquipment(preferences);
+        List<Selected> selected = select(candidates(preferences, sport, available), dayDate, mainMinutes);
+
+        List<GenAIExercise> exercises = new ArrayList<>();
+        for (int i = 0; i < selected.size(); i++) {
+            exercises.add(toGenAIExercise(i + 1, selected.get(i)));
+        }
+        return new GenAIDailyWorkout(dayDate.toString(), sport.name(), exercises,
+            workoutMarkdown(dayDate, sport, duration, phaseMinutes, exercises));
+    }
+
+    private List<Selected> candidates(UserPreferencesResponse preferences, SportType sport, Set<EquipmentItem> available) {
+        int maxDifficulty = maxDifficulty(preferences);
+        List<String> disliked = disliked(preferences);
+        List<Selected> candidates = new ArrayList<>();
+        for (LibraryExercise exercise : library) {
+            if (!exercise.sportTypes().contains(sport)
+                || DIFFICULTIES.indexOf(exercise.difficulty()) > maxDifficulty
+                || isDisliked(exercise, disliked)) {
+                continue;
+            }
+            List<EquipmentItem> equipment = resolveEquipment(exercise, available);
+            if (equipment != null) {
+                candidates.add(new Selected(exercise, equipment));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Walks the candidates starting at an offset derived from the date, so consecutive days of the
+     * same sport open with different exercises, and prefers exercises whose primary muscles are not
+     * yet covered. Stops once the main block is filled and at least {@value #MIN_EXERCISES} are chosen.
+     */
+    private List<Selected> select(List<Selected> candidates, LocalDate dayDate, int mainMinutes) {
+        List<Selected> remaining = new ArrayList<>();
+        int offset = candidates.isEmpty() ? 0 : (int) Math.floorMod(dayDate.toEpochDay(), (long) candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            remaining.add(candidates.get((offset + i) % candidates.size()));
+        }
+
+        List<Selected> selected = new ArrayList<>();
+        Set<String> coveredMuscles = new HashSet<>();
+        int minutes = 0;
+        while (!remaining.isEmpty() && selected.size() < MAX_EXERCISES
+               && (minutes < mainMinutes || selected.size() < MIN_EXERCISES)) {
+            Selected next = remaining.stream()
+                .filter(candidate -> candidate.exercise().primaryMuscles().stream().noneMatch(coveredMuscles::contains))
+                .findFirst()
+                .orElse(null);
+            if (next == null) {
+                // Every muscle group has been hit once; start a second pass over the same groups
+                coveredMuscles.clear();
+                next = remaining.get(0);
+            }
+            remaining.remove(next);
+            selected.add(next);
+            coveredMuscles.addAll(next.exercise().primaryMuscles());
+            minutes += next.exercise().minutes();
+        }
+        return selected;
+    }
+
+    // Each inner list is a set of alternatives; null when the user owns none of them for some slot
+    private List<EquipmentItem> resolveEquipment(LibraryExercise exercise, Set<EquipmentItem> available) {
+        List<EquipmentItem> resolved = new ArrayList<>();
+        for (List<EquipmentItem> alternatives : exercise.equipment()) {
+            EquipmentItem owned = alternatives.stream().filter(available::contains).findFirst().orElse(null);
+            if (owned == null) {
+                return null;
+            }
+            resolved.add(owned);
+        }
+        return resolved.isEmpty() ? List.of(EquipmentItem.NO_EQUIPMENT) : resolved;
+    }
+
+    private Set<EquipmentItem> availableEquipment(UserPreferencesResponse preferences) {
+        Set<EquipmentItem> available = EnumSet.of(EquipmentItem.NO_EQUIPMENT);
+        if (preferences != null && preferences.availableEquipment() != null) {
+            for (String name : preferences.availableEquipment()) {
+                try {
+                    available.add(EquipmentItem.valueOf(name));
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    // Unknown equipment cannot match any library exercise
+                }
+            }
+        }
+        return available;
+    }
+
+    // Index into DIFFICULTIES of the hardest exercise suitable for the user's experience level
+    private int maxDifficulty(UserPreferencesResponse preferences) {
+        String level = preferences != null ? preferences.experienceLevel() : null;
+        if (level == null) {
+            return 1;
+        }
+        return switch (level) {
+            case "TRUE_BEGINNER", "BEGINNER", "REHAB_POSTPARTUM" -> 0;
+            case "ADVANCED" -> 2;
+            default -> 1;
+        };
+    }
+
+    private List<String> disliked(UserPreferencesResponse preferences) {
+        if (preferences == null || preferences.dislikedExercises() == null) {
+            return List.of();
+        }
+        return preferences.dislikedExercises().stream()
+            .filter(name -> name != null && !name.isBlank())
+            .map(name -> name.trim().toLowerCase(Locale.ROOT))
+            .collect(Collectors.toList());
+    }
+
+    // "burpees" excludes "Burpees"; "lunge" excludes every lunge variation
+    private boolean isDisliked(LibraryExercise exercise, List<String> disliked) {
+        String name = exercise.name().toLowerCase(Locale.ROOT);
+        return disliked.stream().anyMatch(term -> name.contains(term) || term.contains(name));
+    }
+
+    private int targetDuration(UserPreferencesResponse preferences, Integer targetDurationMinutes) {
+        if (targetDurationMinutes != null && targetDurationMinutes > 0) {
+            return targetDurationMinutes;
+        }
+        if (preferences != null && preferences.workoutDurationRange() != null) {
+            Matcher matcher = FIRST_NUMBER.matcher(preferences.workoutDurationRange());
+            if (matcher.find()) {
+                return Integer.parseInt(matcher.group());
+            }
+        }
+        return DEFAULT_DURATION_MINUTES;
+    }
+
+    private GenAIExercise toGenAIExercise(int sequenceOrder, Selected selected) {
+        LibraryExercise exercise = selected.exercise();
+        return new GenAIExercise(
+            sequenceOrder,
+            exercise.name(),
+            exercise.description(),
+            exercise.sportTypes().stream().map(SportType::name).collect(Collectors.toList()),
+            exercise.primaryMuscles(),
+            exercise.secondaryMuscles(),
+            selected.equipment().stream().map(EquipmentItem::name).collect(Collectors.toList()),
+            exercise.difficulty(),
+            exercise.prescription(),
+            exercise.cue(),
+            null
+        );
+    }
+
+    private String workoutMarkdown(LocalDate dayDate, SportType sport, int duration, int phaseMinutes,
+                                   List<GenAIExercise> exercises) {
+        Set<String> focus = new LinkedHashSet<>();
+        exercises.forEach(exercise -> focus.addAll(exercise.muscle_groups_primary()));
+
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("# ").append(sport.name()).append(" - ").append(workoutName(sport)).append('\n');
+        markdown.append("Date: ").append(dayDate).append("\n\n");
+        markdown.append("## Workout Overview\n");
+        markdown.append("- **Duration**: ").append(duration).append(" minutes\n");
+        markdown.append("- **Focus**: ").append(focus.isEmpty() ? "General fitness" : String.join(", ", focus)).append('\n');
+        markdown.append("- **Sport Type**: ").append(sport.name()).append("\n\n");
+        markdown.append("## Warm-up (").append(phaseMinutes).append(" minutes)\n");
+        markdown.append("- Dynamic stretching\n");
+        markdown.append("- Light cardio movements\n\n");
+        markdown.append("## Main Workout\n");
+        for (GenAIExercise exercise : exercises) {
+            markdown.append('\n');
+            markdown.append("### ").append(exercise.sequence_order()).append(". ").append(exercise.exercise_name()).append('\n');
+            markdown.append("- **Sets/Reps**: ").append(exercise.prescribed_sets_reps_duration()).append('\n');
+            markdown.append("- **Target Muscles**: ").append(String.join(", ", exercise.muscle_groups_primary())).append('\n');
+            markdown.append("- **Equipment**: ").append(equipmentLabel(exercise.equipment_needed())).append('\n');
+            markdown.append("- **Coaching Tip**: ").append(exercise.voice_script_cue_text()).append('\n');
+        }
+        markdown.append('\n');
+        markdown.append("## Cool Down (").append(phaseMinutes).append(" minutes)\n");
+        markdown.append("- Static stretching\n");
+        markdown.append("- Deep breathing exercises\n\n");
+        markdown.append("## Coach's Notes\n");
+        markdown.append("Focus on form and controlled movements. Adjust the load or pace as needed to keep "
+            + "proper technique throughout all sets.\n");
+        return markdown.toString();
+    }
+
+    private String restDayMarkdown(LocalDate dayDate) {
+        return "# REST - Recovery Day\n"
+            + "Date: " + dayDate + "\n\n"
+            + "## Rest Day Overview\n"
+            + "- **Duration**: Full day recovery\n"
+            + "- **Focus**: Recovery and regeneration\n"
+            + "- **Sport Type**: REST\n\n"
+            + "## Recommendations\n"
+            + "- Light walking or gentle stretching\n"
+            + "- Focus on hydration and nutrition\n"
+            + "- Get adequate sleep for recovery\n\n"
+            + "## Optional Light Activities\n"
+            + "- 10-15 minutes of gentle stretching\n"
+            + "- Light walk or leisurely bike ride\n"
+            + "- Meditation or breathing exercises\n\n"
+            + "## Coach's Notes\n"
+            + "Rest days are crucial for muscle recovery and adaptation. Listen to your body and avoid intense training.\n";
+    }
+
+    private String workoutName(SportType sport) {
+        return switch (sport) {
+            case STRENGTH -> "Full Body Strength";
+            case HIIT -> "Interval Conditioning";
+            case YOGA_MOBILITY -> "Mobility Flow";
+            case RUNNING_INTERVALS -> "Run Intervals";
+            case REST -> "Recovery Day";
+        };
+    }
+
+    private String equipmentLabel(List<String> equipment) {
+        return equipment.stream()
+            .map(item -> item.equals(EquipmentItem.NO_EQUIPMENT.name()) ? "None" : item.toLowerCase(Locale.ROOT).replace('_', ' '))
+            .collect(Collectors.joining(", "));
+    }
+
+    private static List<LibraryExercise> loadLibrary() {
+        try (InputStream in = new ClassPathResource(LIBRARY_LOCATION).getInputStream()) {
+            return List.copyOf(new ObjectMapper().readValue(in, new TypeReference<List<LibraryExercise>>() {}));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load exercise library " + LIBRARY_LOCATION, e);
+        }
+    }
+
+    record LibraryExercise(
+        String name,
+        String description,
+        List<SportType> sportTypes,
+        List<String> primaryMuscles,
+        List<String> secondaryMuscles,
+        List<List<EquipmentItem>> equipment,
+        String difficulty,
+        String prescription,
+        String cue,
+        int minutes
+    ) {}
+
+    private record Selected(LibraryExercise exercise, List<EquipmentItem> equipment) {}
+}
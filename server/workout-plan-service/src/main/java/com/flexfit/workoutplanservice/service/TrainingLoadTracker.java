@@ -0,0 +1,117 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.MuscleGroupLoad;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.TrainingLoadDay;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.repository.TrainingLoadDayRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link TrainingLoadDay} rows in step with the workouts they summarize. Every write of
+ * a workout's content must call {@link #record}, and every completion-only change
+ * {@link #recordCompletion}, in its own transaction, so a summary is never committed without
+ * its workout or the other way round.
+ */
+@Component
+public class TrainingLoadTracker {
+
+    private final TrainingLoadDayRepository trainingLoadDayRepository;
+    private final Period retention;
+
+    public TrainingLoadTracker(TrainingLoadDayRepository trainingLoadDayRepository,
+                               @Value("${flexfit.training-load.retention:28d}") Period retention) {
+        this.trainingLoadDayRepository = trainingLoadDayRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * Rewrites the summaries of the given workouts, all of one user, and drops that user's
+     * summaries that have left the retention window. Workouts already outside the window are
+     * not summarized. Costs one select, one delete and the batched inserts/updates.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<DailyWorkout> dailyWorkouts) {
+        if (dailyWorkouts.isEmpty()) {
+            return;
+        }
+        UUID userId = dailyWorkouts.iterator().next().getUserId();
+        LocalDate cutoff = LocalDate.now().minus(retention);
+        trainingLoadDayRepository.deleteByUserIdAndDayDateBefore(userId, cutoff);
+
+        List<DailyWorkout> current = dailyWorkouts.stream()
+                .filter(workout -> !workout.getDayDate().isBefore(cutoff))
+                .toList();
+        if (current.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, TrainingLoadDay> existingByDate = trainingLoadDayRepository
+                .findByUserIdAndDayDateIn(userId, current.stream().map(DailyWorkout::getDayDate).toList()).stream()
+                .collect(Collectors.toMap(TrainingLoadDay::getDayDate, Function.identity()));
+
+        List<TrainingLoadDay> inserts = new ArrayList<>();
+        for (DailyWorkout workout : current) {
+            TrainingLoadDay summary = existingByDate.get(workout.getDayDate());
+            if (summary == null) {
+                summary = new TrainingLoadDay();
+                summary.setUserId(userId);
+                summary.setDayDate(workout.getDayDate());
+                inserts.add(summary);
+            }
+            summarize(workout, summary); // Managed rows are flushed as updates
+        }
+        trainingLoadDayRepository.saveAll(inserts);
+    }
+
+    /**
+     * Updates the completion status of the given days' summaries without loading the workouts;
+     * their exercises, and so the rest of the summary, are unchanged. Days outside the
+     * retention window, or without a summary, are skipped. One UPDATE per distinct status.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCompletion(UUID userId, Map<LocalDate, CompletionStatus> statusByDate) {
+        LocalDate cutoff = LocalDate.now().minus(retention);
+        Map<CompletionStatus, List<LocalDate>> datesByStatus = statusByDate.entrySet().stream()
+                .filter(entry -> !entry.getKey().isBefore(cutoff))
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        datesByStatus.forEach((status, dates) ->
+                trainingLoadDayRepository.updateCompletionStatus(userId, dates, status));
+    }
+
+    private void summarize(DailyWorkout workout, TrainingLoadDay summary) {
+        List<ScheduledExercise> exercises = workout.getScheduledExercises() != null
+                ? workout.getScheduledExercises()
+                : List.of();
+        List<String> names = new ArrayList<>(exercises.size());
+        Map<String, Integer> muscleGroups = new LinkedHashMap<>();
+        for (ScheduledExercise exercise : exercises) {
+            names.add(exercise.getExercise().getName());
+            List<String> primary = exercise.getExercise().getMuscleGroupsPrimary();
+            if (primary != null) {
+                primary.stream().distinct().forEach(muscle -> muscleGroups.merge(muscle, 1, Integer::sum));
+            }
+        }
+        summary.setSportType(workout.getFocusSportTypeForTheDay());
+        summary.setCompletionStatus(workout.getCompletionStatus());
+        summary.setExerciseNames(names);
+        summary.setMuscleGroupLoad(muscleGroups.entrySet().stream()
+                .map(entry -> new MuscleGroupLoad(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+}
@@ -0,0 +1,48 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.user.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of user-service profiles keyed by user id. Profiles and
+ * preferences change rarely, so generation bursts can skip the user-service round trip.
+ * Failed lookups (a null from the loader) are never cached.
+ */
+@Component
+public class UserProfileCache {
+
+    private final Cache<UUID, UserResponse> cache;
+
+    public UserProfileCache(MeterRegistry meterRegistry,
+                            @Value("${flexfit.cache.user-profile.maximum-size:10000}") long maximumSize,
+                            @Value("${flexfit.cache.user-profile.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Publishes cache_gets{result=hit|miss}, cache_evictions, cache_size, ... tagged cache=user_profiles
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user_profiles");
+    }
+
+    public UserResponse get(UUID userId, Function<UUID, UserResponse> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,80 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes a weekly plan to the client over Server-Sent Events while it is being generated.
+ * Generation runs on the virtual-thread generation executor; each saved day is sent as a
+ * "day" event, followed by a single "complete" or "error" event. If the client goes away,
+ * generation carries on and the remaining days are still saved.
+ */
+@Service
+public class WeeklyPlanStreamService {
+
+    private final Logger logger = LoggerFactory.getLogger(WeeklyPlanStreamService.class);
+
+    private final WorkoutPlanService workoutPlanService;
+    private final ExecutorService generationExecutor;
+    private final Duration timeout;
+
+    public WeeklyPlanStreamService(WorkoutPlanService workoutPlanService,
+                                   @Qualifier("generationExecutor") ExecutorService generationExecutor,
+                                   @Value("${flexfit.generation.stream.timeout:PT6M}") Duration timeout) {
+        this.workoutPlanService = workoutPlanService;
+        this.generationExecutor = generationExecutor;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter stream(WorkoutPlanGenerationRequest request, String bearerToken) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        AtomicBoolean clientGone = new AtomicBoolean(false);
+        emitter.onCompletion(() -> clientGone.set(true));
+        emitter.onTimeout(() -> clientGone.set(true));
+        emitter.onError(e -> clientGone.set(true));
+
+        generationExecutor.execute(() -> {
+            try {
+                List<DailyWorkoutResponse> days = workoutPlanService.streamWeeklyPlan(request, bearerToken,
+                    day -> send(emitter, clientGone, SseEmitter.event()
+                        .name("day")
+                        .id(day.getDayDate().toString())
+                        .data(day, MediaType.APPLICATION_JSON)));
+                send(emitter, clientGone, SseEmitter.event().name("complete").data(Map.of("days", days.size())));
+                emitter.complete();
+            } catch (Exception e) {
+                logger.error("Streaming weekly generation for user {} failed: {}", request.getUserId(), e.getMessage());
+                send(emitter, clientGone, SseEmitter.event().name("error").data(Map.of("message", String.valueOf(e.getMessage()))));
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean clientGone, SseEmitter.SseEventBuilder event) {
+        if (clientGone.get()) {
+            return;
+        }
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected; keep generating so the remaining days are still saved
+            clientGone.set(true);
+            logger.debug("Dropping weekly stream event, client is gone: {}", e.getMessage());
+        }
+    }
+}
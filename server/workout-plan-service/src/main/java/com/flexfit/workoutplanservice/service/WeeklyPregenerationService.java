@@ -0,0 +1,255 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.config.PregenerationProperties;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.model.PregenerationRun;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import com.flexfit.workoutplanservice.model.enums.PregenerationRunStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.PregenerationRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pregenerates the coming week for active users during off-peak hours, so they open the app
+ * to a stored plan instead of waiting on the LLM. A run covers users who worked out recently
+ * but have nothing planned for the week starting on the run date; days a user already has are
+ * never overwritten. Users are generated a few at a time with {@link GenAIPriority#BATCH}
+ * priority, and progress is checkpointed after every page so an interrupted run resumes
+ * where it stopped on the next trigger.
+ */
+@Service
+public class WeeklyPregenerationService {
+
+    private static final int DAYS_PER_WEEK = 7;
+    // Sorts before every other UUID, so the first page starts at the beginning
+    private static final UUID NO_CHECKPOINT = new UUID(0L, 0L);
+
+    private final Logger logger = LoggerFactory.getLogger(WeeklyPregenerationService.class);
+
+    private final WorkoutPlanService workoutPlanService;
+    private final DailyWorkoutRepository dailyWorkoutRepository;
+    private final PregenerationRunRepository runRepository;
+    private final ExecutorService generationExecutor;
+    private final PregenerationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public WeeklyPregenerationService(WorkoutPlanService workoutPlanService,
+                                      DailyWorkoutRepository dailyWorkoutRepository,
+                                      PregenerationRunRepository runRepository,
+                                      @Qualifier("generationExecutor") ExecutorService generationExecutor,
+                                      PregenerationProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.workoutPlanService = workoutPlanService;
+        this.dailyWorkoutRepository = dailyWorkoutRepository;
+        this.runRepository = runRepository;
+        this.generationExecutor = generationExecutor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Fires repeatedly through the off-peak window. The first trigger of the night starts the
+     * run; later ones resume it if it stopped early and do nothing once it has completed.
+     */
+    @Scheduled(cron = "${flexfit.pregeneration.cron:0 */15 1-5 * * *}", zone = "${flexfit.pregeneration.zone:UTC}")
+    public void scheduledRun() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        run(LocalDate.now(properties.getZone()));
+    }
+
+    /**
+     * Starts or resumes the run for the given date.
+     * @return The run's state afterwards, or empty if no run was made because one is already
+     *         in progress in this instance or no service token is configured.
+     */
+    public Optional<PregenerationRun> run(LocalDate runDate) {
+        if (properties.getServiceToken() == null || properties.getServiceToken().isBlank()) {
+            logger.warn("Skipping weekly plan pregeneration: flexfit.pregeneration.service-token is not set");
+            return Optional.empty();
+        }
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Weekly plan pregeneration for {} is already running", runDate);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(doRun(runDate));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public List<PregenerationRun> recentRuns() {
+        return runRepository.findTop14ByOrderByRunDateDesc();
+    }
+
+    private PregenerationRun doRun(LocalDate runDate) {
+        PregenerationRun run = runRepository.findByRunDate(runDate).orElseGet(() -> newRun(runDate));
+        if (run.getStatus() == PregenerationRunStatus.COMPLETED) {
+            return run;
+        }
+        if (run.getId() != null) {
+            run.setResumeCount(run.getResumeCount() + 1);
+            logger.info("Resuming weekly plan pregeneration for {} after user {}", runDate, run.getCheckpointUserId());
+        }
+        run = runRepository.save(run);
+
+        LocalDate weekStart = run.getWeekStart();
+        LocalDate activeSince = runDate.minusDays(properties.getActiveWithin().toDays());
+        Instant segmentStart = Instant.now();
+        Instant stopTakingPagesAt = segmentStart.plus(properties.getMaxDuration());
+        UUID checkpoint = run.getCheckpointUserId() != null ? run.getCheckpointUserId() : NO_CHECKPOINT;
+
+        while (true) {
+            List<UUID> userIds = dailyWorkoutRepository.findUsersWithoutPlannedWeek(
+                activeSince, runDate.minusDays(1), weekStart, weekStart.plusDays(DAYS_PER_WEEK - 1),
+                checkpoint, PageRequest.of(0, properties.getPageSize()));
+            if (userIds.isEmpty()) {
+                run.setStatus(PregenerationRunStatus.COMPLETED);
+                run.setCompletedAt(Instant.now());
+                break;
+            }
+
+            for (UserOutcome outcome : generatePage(userIds, weekStart)) {
+                if (outcome.succeeded()) {
+                    run.setUsersSucceeded(run.getUsersSucceeded() + 1);
+                } else {
+                    run.setUsersFailed(run.getUsersFailed() + 1);
+                }
+                run.setTotalLatencyMillis(run.getTotalLatencyMillis() + outcome.latency().toMillis());
+                run.setMaxLatencyMillis(Math.max(run.getMaxLatencyMillis(), outcome.latency().toMillis()));
+            }
+            checkpoint = userIds.get(userIds.size() - 1);
+            run.setCheckpointUserId(checkpoint);
+            run.setActiveMillis(run.getActiveMillis() + Duration.between(segmentStart, Instant.now()).toMillis());
+            segmentStart = Instant.now();
+            run = runRepository.save(run);
+
+            if (Instant.now().isAfter(stopTakingPagesAt)) {
+                logger.info("Pausing weekly plan pregeneration for {} after {}; the next trigger resumes it", runDate, properties.getMaxDuration());
+                break;
+            }
+        }
+
+        run.setActiveMillis(run.getActiveMillis() + Duration.between(segmentStart, Instant.now()).toMillis());
+        run = runRepository.save(run);
+        Counter.builder("workout_pregeneration_runs_total")
+            .description("Pregeneration run segments by how they ended")
+            .tag("result", run.getStatus() == PregenerationRunStatus.COMPLETED ? "completed" : "paused")
+            .register(meterRegistry)
+            .increment();
+        logReport(run);
+        return run;
+    }
+
+    private PregenerationRun newRun(LocalDate runDate) {
+        PregenerationRun run = new PregenerationRun();
+        run.setRunDate(runDate);
+        run.setWeekStart(runDate);
+        run.setStartedAt(Instant.now());
+        return run;
+    }
+
+    // Generates one page of users, at most `parallelism` at a time, and waits for all of them
+    private List<UserOutcome> generatePage(List<UUID> userIds, LocalDate weekStart) {
+        Semaphore permits = new Semaphore(properties.getParallelism());
+        List<Future<UserOutcome>> futures = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            futures.add(generationExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return generateWeek(userId, weekStart);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<UserOutcome> outcomes = new ArrayList<>(futures.size());
+        for (Future<UserOutcome> future : futures) {
+            try {
+                outcomes.add(future.get());
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during weekly plan pregeneration", e);
+            } catch (ExecutionException e) {
+                // generateWeek handles its own failures; this only happens if the task itself broke
+                outcomes.add(new UserOutcome(false, Duration.ZERO));
+            }
+        }
+        return outcomes;
+    }
+
+    private UserOutcome generateWeek(UUID userId, LocalDate weekStart) {
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(userId);
+        request.setDayDate(weekStart);
+        // Required by the request; the weekly flows choose each day's sport themselves
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(properties.getTargetDurationMinutes());
+        request.setAiPreference(properties.getAiPreference());
+        request.setWeeklyMode(properties.getMode());
+
+        long start = System.nanoTime();
+        boolean succeeded;
+        try {
+            workoutPlanService.generateWeeklyPlan(request, bearerToken(), GenAIPriority.BATCH);
+            succeeded = true;
+        } catch (Exception e) {
+            logger.warn("Pregeneration failed for user {}: {}", userId, e.getMessage());
+            succeeded = false;
+        }
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("workout_pregeneration_user_duration_seconds")
+            .description("Time to pregenerate one user's week")
+            .tag("outcome", succeeded ? "success" : "failure")
+            .publishPercentiles(0.5, 0.95)
+            .register(meterRegistry)
+            .record(latency);
+        return new UserOutcome(succeeded, latency);
+    }
+
+    private String bearerToken() {
+        String token = properties.getServiceToken();
+        return token.startsWith("Bearer ") ? token : "Bearer " + token;
+    }
+
+    private void logReport(PregenerationRun run) {
+        int users = run.getUsersSucceeded() + run.getUsersFailed();
+        double minutes = run.getActiveMillis() / 60_000.0;
+        logger.info("Weekly plan pregeneration {} for {}: {} succeeded, {} failed, {} resume(s), {} ms active, "
+                + "{} users/min, latency avg {} ms, max {} ms",
+            run.getStatus(), run.getRunDate(), run.getUsersSucceeded(), run.getUsersFailed(), run.getResumeCount(),
+            run.getActiveMillis(),
+            minutes > 0 ? String.format("%.1f", users / minutes) : "-",
+            users > 0 ? run.getTotalLatencyMillis() / users : 0,
+            run.getMaxLatencyMillis());
+    }
+
+    private record UserOutcome(boolean succeeded, Duration latency) {}
+}
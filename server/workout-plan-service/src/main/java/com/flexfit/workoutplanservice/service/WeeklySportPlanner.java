@@ -0,0 +1,112 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides the focus sport of every day of a week before any GenAI call is made, so days that
+ * are generated independently still form a coherent plan. The result depends only on the
+ * user's preferred sports and the recent history, so the same inputs always give the same week.
+ */
+@Component
+public class WeeklySportPlanner {
+
+    // Used when the user has no usable sport preferences
+    private static final List<SportType> DEFAULT_ROTATION = List.of(
+        SportType.STRENGTH, SportType.HIIT, SportType.RUNNING_INTERVALS, SportType.YOGA_MOBILITY);
+
+    static final int REST_DAYS_PER_WEEK = 2;
+    static final int MAX_CONSECUTIVE_TRAINING_DAYS = 3;
+
+    /**
+     * @param preferences The user's preferences; unknown sport names and REST are ignored.
+     * @param history Workouts before {@code startDate}, in any order.
+     * @param startDate The first day to plan.
+     * @param days How many days to plan.
+     * @return One sport per day, starting at {@code startDate}.
+     */
+    public List<SportType> plan(UserPreferencesResponse preferences, List<DailyWorkout> history, LocalDate startDate, int days) {
+        List<SportType> candidates = candidates(preferences);
+
+        Map<LocalDate, SportType> sportByDate = new HashMap<>();
+        Map<SportType, LocalDate> lastUsed = new EnumMap<>(SportType.class);
+        for (DailyWorkout workout : history) {
+            if (workout.getDayDate().isBefore(startDate) && workout.getFocusSportTypeForTheDay() != null) {
+                sportByDate.put(workout.getDayDate(), workout.getFocusSportTypeForTheDay());
+                lastUsed.merge(workout.getFocusSportTypeForTheDay(), workout.getDayDate(),
+                    (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        // Training days in a row leading up to the week; a day without a workout counts as rest
+        int streak = 0;
+        for (LocalDate date = startDate.minusDays(1); isTrainingDay(sportByDate.get(date)); date = date.minusDays(1)) {
+            streak++;
+        }
+        SportType previous = sportByDate.get(startDate.minusDays(1));
+
+        int restDaysLeft = Math.round(REST_DAYS_PER_WEEK * days / 7.0f);
+        List<SportType> plan = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = startDate.plusDays(day);
+            boolean rest = restDaysLeft > 0
+                && (streak >= MAX_CONSECUTIVE_TRAINING_DAYS || restDaysLeft >= days - day);
+            SportType sport = rest ? SportType.REST : leastRecentlyUsed(candidates, lastUsed, previous);
+
+            plan.add(sport);
+            if (rest) {
+                restDaysLeft--;
+                streak = 0;
+            } else {
+                lastUsed.put(sport, date);
+                streak++;
+            }
+            previous = sport;
+        }
+        return plan;
+    }
+
+    private List<SportType> candidates(UserPreferencesResponse preferences) {
+        Set<SportType> preferred = new LinkedHashSet<>();
+        if (preferences != null && preferences.preferredSportTypes() != null) {
+            for (String name : preferences.preferredSportTypes()) {
+                if (name == null) {
+                    continue;
+                }
+                try {
+                    SportType sport = SportType.valueOf(name);
+                    if (sport != SportType.REST) {
+                        preferred.add(sport);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Not a sport this service knows; leave it to the user-service to validate
+                }
+            }
+        }
+        return preferred.isEmpty() ? DEFAULT_ROTATION : List.copyOf(preferred);
+    }
+
+    // Never-used sports come first, then the one used longest ago; ties keep preference order
+    private SportType leastRecentlyUsed(List<SportType> candidates, Map<SportType, LocalDate> lastUsed, SportType previous) {
+        return candidates.stream()
+            .filter(sport -> sport != previous || candidates.size() == 1)
+            .min(Comparator.comparing(sport -> lastUsed.getOrDefault(sport, LocalDate.MIN)))
+            .orElseThrow();
+    }
+
+    private boolean isTrainingDay(SportType sport) {
+        return sport != null && sport != SportType.REST;
+    }
+}
@@ -0,0 +1,74 @@
+package com.flexfit.workoutplanservice.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker for one GenAI worker. After {@code failureThreshold}
+ * failures in a row the circuit opens and rejects calls for {@code openDuration}; then a
+ * single trial call is let through, which closes the circuit on success or reopens it.
+ */
+class WorkerCircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    WorkerCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return Whether a call may be made now. Every permitted call must be followed by
+     *         exactly one of {@link #onSuccess}, {@link #onFailure} or {@link #onAbandoned}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+        trialInFlight = false;
+    }
+
+    // The call was cancelled before it told us anything about the worker's health
+    synchronized void onAbandoned() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,117 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.ChangeCursor;
+import com.flexfit.workoutplanservice.dto.WorkoutChangesResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutTombstoneResponse;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.WorkoutTombstone;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.WorkoutTombstoneRepository;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for clients that keep a local copy of their workouts. A poll returns the workouts
+ * changed after the client's {@link ChangeCursor}, whole, and tombstones for what was deleted,
+ * so the client never re-downloads unchanged days. Changes are tracked per workout: exercise
+ * changes stamp their workout's {@link DailyWorkout#getUpdatedAt() updatedAt}, and removed
+ * exercises leave a {@link WorkoutTombstone}.
+ * <p>
+ * The feed only reaches up to the settle time before now. A change is stamped when its
+ * transaction flushes but becomes visible when it commits; holding back the latest moments
+ * keeps a poll from moving its cursor past a change that is still about to commit.
+ */
+@Service
+public class WorkoutChangeService {
+
+    private final Logger logger = LoggerFactory.getLogger(WorkoutChangeService.class);
+
+    private final DailyWorkoutRepository dailyWorkoutRepository;
+    private final WorkoutReadService workoutReadService;
+    private final WorkoutTombstoneRepository tombstoneRepository;
+    private final WorkoutPlanMapper mapper;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+    private final int pageSize;
+
+    public WorkoutChangeService(DailyWorkoutRepository dailyWorkoutRepository,
+                                WorkoutReadService workoutReadService,
+                                WorkoutTombstoneRepository tombstoneRepository,
+                                WorkoutPlanMapper mapper,
+                                @Value("${flexfit.changes.settle-time:5s}") Duration settleTime,
+                                @Value("${flexfit.changes.tombstone-retention:30d}") Duration tombstoneRetention,
+                                @Value("${flexfit.changes.page-size:200}") int pageSize) {
+        this.dailyWorkoutRepository = dailyWorkoutRepository;
+        this.workoutReadService = workoutReadService;
+        this.tombstoneRepository = tombstoneRepository;
+        this.mapper = mapper;
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * True if deletions since the cursor may already have been pruned. The feed cannot serve
+     * such a cursor; the client has to resync from {@link ChangeCursor#START}.
+     */
+    public boolean isExpired(ChangeCursor since) {
+        return !since.equals(ChangeCursor.START) && since.position().isBefore(Instant.now().minus(tombstoneRetention));
+    }
+
+    /**
+     * Up to one page of changes after the cursor, oldest first. Costs one statement for the
+     * workouts, one for their exercises and one for the tombstones; a read from
+     * {@link ChangeCursor#START} has nothing to delete and skips the tombstones.
+     */
+    @Transactional(readOnly = true)
+    public WorkoutChangesResponse getChanges(UUID userId, ChangeCursor since) {
+        Instant until = Instant.now().minus(settleTime).truncatedTo(ChronoUnit.MICROS);
+        if (!since.position().isBefore(until)) {
+            return new WorkoutChangesResponse(List.of(), List.of(), since.encode(), false);
+        }
+
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<DailyWorkoutRow> rows = since.afterId() == null
+                ? dailyWorkoutRepository.findRowsChangedBetween(userId, since.position(), until, page)
+                : dailyWorkoutRepository.findRowsChangedBetween(userId, since.position(), since.afterId(), until, page);
+        boolean hasMore = rows.size() > pageSize;
+        ChangeCursor next;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+            DailyWorkoutRow last = rows.get(rows.size() - 1);
+            next = new ChangeCursor(last.updatedAt(), last.id());
+        } else {
+            next = new ChangeCursor(until, null);
+        }
+
+        List<WorkoutTombstoneResponse> tombstones = since.equals(ChangeCursor.START)
+                ? List.of()
+                : tombstoneRepository.findDeletedBetween(userId, since.position(), next.position()).stream()
+                        .map(mapper::toWorkoutTombstoneResponse)
+                        .collect(Collectors.toList());
+        return new WorkoutChangesResponse(workoutReadService.withExercises(rows), tombstones, next.encode(), hasMore);
+    }
+
+    /** Drops tombstones older than the retention; cursors from before then are expired anyway. */
+    @Scheduled(cron = "${flexfit.changes.tombstone-prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void pruneTombstones() {
+        int pruned = tombstoneRepository.deleteByDeletedAtBefore(Instant.now().minus(tombstoneRetention));
+        if (pruned > 0) {
+            logger.info("Pruned {} workout tombstones", pruned);
+        }
+    }
+}
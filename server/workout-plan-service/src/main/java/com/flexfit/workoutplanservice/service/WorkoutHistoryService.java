@@ -0,0 +1,64 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.HistoryPageToken;
+import com.flexfit.workoutplanservice.dto.WorkoutHistoryPage;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pages through a user's workouts, newest day first, with keyset pagination over
+ * (dayDate, id). Each page seeks past the previous page's last workout instead of skipping
+ * an offset, so a deep page costs the same two statements as the first one (workout rows,
+ * then their exercises), and workouts written between requests never shift or repeat pages.
+ */
+@Service
+public class WorkoutHistoryService {
+
+    private final DailyWorkoutRepository dailyWorkoutRepository;
+    private final WorkoutReadService workoutReadService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public WorkoutHistoryService(DailyWorkoutRepository dailyWorkoutRepository,
+                                 WorkoutReadService workoutReadService,
+                                 @Value("${flexfit.history.default-page-size:20}") int defaultPageSize,
+                                 @Value("${flexfit.history.max-page-size:100}") int maxPageSize) {
+        this.dailyWorkoutRepository = dailyWorkoutRepository;
+        this.workoutReadService = workoutReadService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @param after The previous page's token, or null for the first page.
+     * @param size Workouts per page, or null for the default.
+     * @throws IllegalArgumentException If the size is not between 1 and the maximum page size.
+     */
+    @Transactional(readOnly = true)
+    public WorkoutHistoryPage getHistory(UUID userId, HistoryPageToken after, Integer size) {
+        int pageSize = size != null ? size : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+
+        // One extra row tells whether another page follows without a count query
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<DailyWorkoutRow> rows = after == null
+                ? dailyWorkoutRepository.findHistoryRows(userId, page)
+                : dailyWorkoutRepository.findHistoryRowsBefore(userId, after.dayDate(), after.id(), page);
+        String nextPageToken = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            DailyWorkoutRow last = rows.get(rows.size() - 1);
+            nextPageToken = new HistoryPageToken(last.dayDate(), last.id()).encode();
+        }
+        return new WorkoutHistoryPage(workoutReadService.withExercises(rows), nextPageToken);
+    }
+}
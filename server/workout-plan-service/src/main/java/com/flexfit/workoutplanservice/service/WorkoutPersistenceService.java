@@ -0,0 +1,239 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.DailyWorkoutMarkdown;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.TrainingLoadDay;
+import com.flexfit.workoutplanservice.model.WorkoutTombstone;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutMarkdownRepository;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.TrainingLoadDayRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the short database transactions of the generation flow. WorkoutPlanService calls
+ * into this bean before and after the GenAI round trip, so no transaction (and therefore
+ * no pooled JDBC connection) is held while waiting on the LLM.
+ * <p>
+ * A user has at most one workout per day (unique on user_id, day_date). Saving a generated
+ * workout for a day that already has one replaces that row's content in place, unless the
+ * user has already recorded completion or RPE for it: such a day is kept as it is, so that a
+ * regeneration never erases feedback. Generated
+ * exercises are resolved to their shared {@link ExerciseCatalog} entries, and the day's
+ * {@link TrainingLoadDay} summary rewritten, in the same transaction. Markdown is written to
+ * its {@link DailyWorkoutMarkdown} side row.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkoutPersistenceService {
+
+    private final Logger logger = LoggerFactory.getLogger(WorkoutPersistenceService.class);
+
+    private final DailyWorkoutRepository dailyWorkoutRepository;
+    private final EntityManager entityManager;
+    private final ExerciseCatalog exerciseCatalog;
+    private final TrainingLoadTracker trainingLoadTracker;
+    private final TrainingLoadDayRepository trainingLoadDayRepository;
+    private final DailyWorkoutMarkdownRepository markdownRepository;
+
+    @Transactional(readOnly = true)
+    public List<DailyWorkout> loadHistory(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return dailyWorkoutRepository.findByUserIdAndDayDateBetween(userId, startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> loadMarkdown(UUID dailyWorkoutId) {
+        return markdownRepository.findById(dailyWorkoutId).map(DailyWorkoutMarkdown::getContent);
+    }
+
+    /**
+     * The user's per-day training load summaries, oldest first. Covers at most the retention
+     * window of {@link TrainingLoadTracker}; use {@link #loadHistory} for older days.
+     */
+    @Transactional(readOnly = true)
+    public List<TrainingLoadDay> loadTrainingLoad(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return trainingLoadDayRepository.findByUserIdAndDayDateBetweenOrderByDayDate(userId, startDate, endDate);
+    }
+
+    /**
+     * Inserts the workout, or replaces the content of the user's existing workout on that date.
+     * An existing workout with recorded feedback is kept and returned unchanged, with its markdown.
+     * @return The managed entity, which is the existing row when one was replaced or kept.
+     */
+    @Transactional
+    public DailyWorkout saveDailyWorkout(DailyWorkout dailyWorkout) {
+        Optional<DailyWorkout> existing = dailyWorkoutRepository.findByUserIdAndDayDate(dailyWorkout.getUserId(), dailyWorkout.getDayDate());
+        if (existing.filter(WorkoutPersistenceService::hasRecordedFeedback).isPresent()) {
+            DailyWorkout kept = existing.get();
+            logger.info("Kept workout {} for user {} on {}: feedback already recorded", kept.getId(), kept.getUserId(), kept.getDayDate());
+            loadMarkdown(kept.getId()).ifPresent(kept::setMarkdownContent);
+            return kept;
+        }
+        resolveCatalogEntries(List.of(dailyWorkout));
+        DailyWorkout saved = existing
+                .map(workout -> replaceContent(workout, dailyWorkout))
+                .orElseGet(() -> dailyWorkoutRepository.save(dailyWorkout));
+        writeMarkdown(List.of(saved), existing.map(DailyWorkout::getId).stream().toList());
+        trainingLoadTracker.record(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Saves a whole week for one user in one transaction. Days the user already has are
+     * loaded with a single query and replaced in place; the rest are inserted. With Hibernate
+     * JDBC batching and ordered inserts/updates enabled, the week flushes as a handful of
+     * batched statements per table instead of one statement per row. Days with recorded
+     * feedback are kept unchanged and returned with their markdown, read in one more query.
+     * @return The managed entities, in the order given.
+     */
+    @Transactional
+    public List<DailyWorkout> saveWeeklyWorkouts(List<DailyWorkout> dailyWorkouts) {
+        if (dailyWorkouts.isEmpty()) {
+            return List.of();
+        }
+        UUID userId = dailyWorkouts.get(0).getUserId();
+        if (dailyWorkouts.stream().anyMatch(workout -> !userId.equals(workout.getUserId()))) {
+            throw new IllegalArgumentException("A weekly plan must belong to a single user");
+        }
+
+        resolveCatalogEntries(dailyWorkouts);
+        List<LocalDate> dates = dailyWorkouts.stream().map(DailyWorkout::getDayDate).toList();
+        Map<LocalDate, DailyWorkout> existingByDate = dailyWorkoutRepository.findByUserIdAndDayDateIn(userId, dates).stream()
+                .collect(Collectors.toMap(DailyWorkout::getDayDate, Function.identity()));
+
+        List<DailyWorkout> saved = new ArrayList<>(dailyWorkouts.size());
+        List<DailyWorkout> written = new ArrayList<>(dailyWorkouts.size());
+        List<DailyWorkout> inserts = new ArrayList<>();
+        List<UUID> replacedIds = new ArrayList<>();
+        List<DailyWorkout> kept = new ArrayList<>();
+        for (DailyWorkout workout : dailyWorkouts) {
+            DailyWorkout existing = existingByDate.get(workout.getDayDate());
+            if (existing != null && hasRecordedFeedback(existing)) {
+                logger.info("Kept workout {} for user {} on {}: feedback already recorded", existing.getId(), userId, existing.getDayDate());
+                kept.add(existing);
+                saved.add(existing);
+                continue;
+            }
+            if (existing != null) {
+                replacedIds.add(existing.getId());
+                written.add(replaceContent(existing, workout));
+            } else {
+                inserts.add(workout);
+                written.add(workout);
+            }
+            saved.add(written.get(written.size() - 1));
+        }
+        dailyWorkoutRepository.saveAll(inserts);
+        writeMarkdown(written, replacedIds);
+        trainingLoadTracker.record(written);
+        attachMarkdown(kept);
+        return saved;
+    }
+
+    /**
+     * True once completion or RPE has been recorded for the workout or any of its exercises,
+     * e.g. through completion sync. Such a workout describes a session that happened and is no
+     * longer replaced by regeneration.
+     */
+    private static boolean hasRecordedFeedback(DailyWorkout workout) {
+        if (workout.getCompletionStatus() != CompletionStatus.PENDING
+                || workout.getRpeOverallFeedback() != null
+                || workout.getCompletionNotes() != null) {
+            return true;
+        }
+        return workout.getScheduledExercises() != null && workout.getScheduledExercises().stream()
+                .anyMatch(exercise -> exercise.getCompletionStatus() != CompletionStatus.PENDING
+                        || exercise.getRpeFeedback() != null);
+    }
+
+    private void resolveCatalogEntries(List<DailyWorkout> dailyWorkouts) {
+        exerciseCatalog.resolve(dailyWorkouts.stream()
+                .filter(workout -> workout.getScheduledExercises() != null)
+                .flatMap(workout -> workout.getScheduledExercises().stream())
+                .toList());
+    }
+
+    // Sets the stored markdown on workouts returned unchanged, in one query for all of them.
+    private void attachMarkdown(List<DailyWorkout> workouts) {
+        if (workouts.isEmpty()) {
+            return;
+        }
+        Map<UUID, String> markdownById = markdownRepository.findAllById(workouts.stream().map(DailyWorkout::getId).toList()).stream()
+                .collect(Collectors.toMap(DailyWorkoutMarkdown::getDailyWorkoutId, DailyWorkoutMarkdown::getContent));
+        workouts.forEach(workout -> workout.setMarkdownContent(markdownById.get(workout.getId())));
+    }
+
+    /**
+     * Replaces the markdown rows of the saved workouts: one bulk delete for the workouts that
+     * already existed, then the new rows, which flush as one batched INSERT.
+     */
+    private void writeMarkdown(List<DailyWorkout> saved, List<UUID> replacedIds) {
+        if (!replacedIds.isEmpty()) {
+            markdownRepository.deleteByDailyWorkoutIdIn(replacedIds);
+        }
+        for (DailyWorkout workout : saved) {
+            if (workout.getMarkdownContent() != null) {
+                entityManager.persist(new DailyWorkoutMarkdown(workout.getId(), workout.getMarkdownContent()));
+            }
+        }
+    }
+
+    /**
+     * Copies a freshly generated plan onto an existing managed workout. Exercises are reused by
+     * position, so a regeneration with the same number of exercises is a batch of UPDATEs; extra
+     * exercises are inserted and surplus ones removed through orphan removal. Only called for
+     * workouts without recorded feedback, so there is no completion state to carry over. The
+     * version and change timestamp are always updated, even when only exercise rows changed, so
+     * clients holding the old ETag refetch and the change feed reports the workout. Removed
+     * exercises leave tombstones.
+     */
+    private DailyWorkout replaceContent(DailyWorkout existing, DailyWorkout generated) {
+        entityManager.lock(existing, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        existing.touch();
+        existing.setFocusSportTypeForTheDay(generated.getFocusSportTypeForTheDay());
+        existing.setMarkdownContent(generated.getMarkdownContent());
+
+        List<ScheduledExercise> current = existing.getScheduledExercises();
+        List<ScheduledExercise> replacements = generated.getScheduledExercises() != null
+                ? generated.getScheduledExercises()
+                : List.of();
+        for (int i = 0; i < replacements.size(); i++) {
+            ScheduledExercise replacement = replacements.get(i);
+            if (i < current.size()) {
+                copyExercise(replacement, current.get(i));
+            } else {
+                replacement.setDailyWorkout(existing);
+                current.add(replacement);
+            }
+        }
+        while (current.size() > replacements.size()) {
+            entityManager.persist(WorkoutTombstone.of(current.remove(current.size() - 1)));
+        }
+        return existing;
+    }
+
+    private void copyExercise(ScheduledExercise source, ScheduledExercise target) {
+        target.setSequenceOrder(source.getSequenceOrder());
+        target.setExercise(source.getExercise());
+        target.setPrescribedSetsRepsDuration(source.getPrescribedSetsRepsDuration());
+        target.setVoiceScriptCueText(source.getVoiceScriptCueText());
+        target.setRpeFeedback(source.getRpeFeedback());
+        target.setCompletionStatus(source.getCompletionStatus());
+    }
+}
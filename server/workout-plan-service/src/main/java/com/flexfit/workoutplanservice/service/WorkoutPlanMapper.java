@@ -1,11 +1,29 @@
 package com.flexfit.workoutplanservice.service;
 
 import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.GenerationJobResponse;
+import com.flexfit.workoutplanservice.dto.PregenerationRunResponse;
 import com.flexfit.workoutplanservice.dto.ScheduledExerciseResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutFields;
+import com.flexfit.workoutplanservice.dto.WorkoutTombstoneResponse;
 import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.GenerationJob;
+import com.flexfit.workoutplanservice.model.PregenerationRun;
 import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.WorkoutTombstone;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow;
+import com.flexfit.workoutplanservice.repository.projection.ScheduledExerciseRow;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -14,6 +32,8 @@ public class WorkoutPlanMapper {
     public DailyWorkoutResponse toDailyWorkoutResponse(DailyWorkout dailyWorkout) {
         DailyWorkoutResponse dto = new DailyWorkoutResponse();
         dto.setId(dailyWorkout.getId());
+        dto.setVersion(dailyWorkout.getVersion());
+        dto.setUpdatedAt(dailyWorkout.getUpdatedAt());
         dto.setUserId(dailyWorkout.getUserId());
         dto.setDayDate(dailyWorkout.getDayDate());
         dto.setFocusSportTypeForTheDay(dailyWorkout.getFocusSportTypeForTheDay());
@@ -31,18 +51,119 @@ public class WorkoutPlanMapper {
         ScheduledExerciseResponse dto = new ScheduledExerciseResponse();
         dto.setId(exercise.getId());
         dto.setSequenceOrder(exercise.getSequenceOrder());
-        dto.setExerciseName(exercise.getExerciseName());
-        dto.setDescription(exercise.getDescription());
-        dto.setApplicableSportTypes(exercise.getApplicableSportTypes());
-        dto.setMuscleGroupsPrimary(exercise.getMuscleGroupsPrimary());
-        dto.setMuscleGroupsSecondary(exercise.getMuscleGroupsSecondary());
-        dto.setEquipmentNeeded(exercise.getEquipmentNeeded());
-        dto.setDifficulty(exercise.getDifficulty());
+        Exercise catalogEntry = exercise.getExercise();
+        dto.setExerciseId(catalogEntry.getId());
+        dto.setExerciseName(catalogEntry.getName());
+        dto.setDescription(catalogEntry.getDescription());
+        dto.setApplicableSportTypes(catalogEntry.getApplicableSportTypes());
+        dto.setMuscleGroupsPrimary(catalogEntry.getMuscleGroupsPrimary());
+        dto.setMuscleGroupsSecondary(catalogEntry.getMuscleGroupsSecondary());
+        dto.setEquipmentNeeded(catalogEntry.getEquipmentNeeded());
+        dto.setDifficulty(catalogEntry.getDifficulty());
         dto.setPrescribedSetsRepsDuration(exercise.getPrescribedSetsRepsDuration());
         dto.setVoiceScriptCueText(exercise.getVoiceScriptCueText());
-        dto.setVideoUrl(exercise.getVideoUrl());
+        dto.setVideoUrl(catalogEntry.getVideoUrl());
         dto.setRpeFeedback(exercise.getRpeFeedback());
         dto.setCompletionStatus(exercise.getCompletionStatus());
         return dto;
     }
-}
\ No newline at end of file
+
+    public DailyWorkoutResponse toDailyWorkoutResponse(DailyWorkoutRow row, List<ScheduledExerciseResponse> exercises) {
+        DailyWorkoutResponse dto = new DailyWorkoutResponse();
+        dto.setId(row.id());
+        dto.setVersion(row.version());
+        dto.setUpdatedAt(row.updatedAt());
+        dto.setUserId(row.userId());
+        dto.setDayDate(row.dayDate());
+        dto.setFocusSportTypeForTheDay(row.focusSportTypeForTheDay());
+        dto.setCompletionStatus(row.completionStatus());
+        dto.setRpeOverallFeedback(row.rpeOverallFeedback());
+        dto.setCompletionNotes(row.completionNotes());
+        dto.setScheduledExercises(exercises);
+        return dto;
+    }
+
+    /**
+     * Maps a row of selected workout columns, aliased by their {@link WorkoutFields} names.
+     * Columns that were not selected stay null.
+     */
+    public DailyWorkoutResponse toDailyWorkoutResponse(Tuple columns) {
+        DailyWorkoutResponse dto = new DailyWorkoutResponse();
+        for (TupleElement<?> column : columns.getElements()) {
+            Object value = columns.get(column);
+            switch (column.getAlias()) {
+                case WorkoutFields.ID -> dto.setId((UUID) value);
+                case WorkoutFields.VERSION -> dto.setVersion((Long) value);
+                case WorkoutFields.UPDATED_AT -> dto.setUpdatedAt((Instant) value);
+                case WorkoutFields.USER_ID -> dto.setUserId((UUID) value);
+                case WorkoutFields.DAY_DATE -> dto.setDayDate((LocalDate) value);
+                case WorkoutFields.FOCUS_SPORT_TYPE -> dto.setFocusSportTypeForTheDay((SportType) value);
+                case WorkoutFields.COMPLETION_STATUS -> dto.setCompletionStatus((CompletionStatus) value);
+                case WorkoutFields.RPE_OVERALL_FEEDBACK -> dto.setRpeOverallFeedback((Integer) value);
+                case WorkoutFields.COMPLETION_NOTES -> dto.setCompletionNotes((String) value);
+                default -> throw new IllegalArgumentException("Not a workout column: " + column.getAlias());
+            }
+        }
+        return dto;
+    }
+
+    public ScheduledExerciseResponse toScheduledExerciseResponse(ScheduledExerciseRow row) {
+        ScheduledExerciseResponse dto = new ScheduledExerciseResponse();
+        dto.setId(row.id());
+        dto.setSequenceOrder(row.sequenceOrder());
+        dto.setExerciseId(row.exerciseId());
+        dto.setExerciseName(row.exerciseName());
+        dto.setDescription(row.description());
+        dto.setApplicableSportTypes(row.applicableSportTypes());
+        dto.setMuscleGroupsPrimary(row.muscleGroupsPrimary());
+        dto.setMuscleGroupsSecondary(row.muscleGroupsSecondary());
+        dto.setEquipmentNeeded(row.equipmentNeeded());
+        dto.setDifficulty(row.difficulty());
+        dto.setPrescribedSetsRepsDuration(row.prescribedSetsRepsDuration());
+        dto.setVoiceScriptCueText(row.voiceScriptCueText());
+        dto.setVideoUrl(row.videoUrl());
+        dto.setRpeFeedback(row.rpeFeedback());
+        dto.setCompletionStatus(row.completionStatus());
+        return dto;
+    }
+
+    public WorkoutTombstoneResponse toWorkoutTombstoneResponse(WorkoutTombstone tombstone) {
+        WorkoutTombstoneResponse dto = new WorkoutTombstoneResponse();
+        dto.setEntityType(tombstone.getEntityType());
+        dto.setId(tombstone.getEntityId());
+        dto.setDailyWorkoutId(tombstone.getDailyWorkoutId());
+        dto.setDeletedAt(tombstone.getDeletedAt());
+        return dto;
+    }
+
+    public GenerationJobResponse toGenerationJobResponse(GenerationJob job) {
+        GenerationJobResponse dto = new GenerationJobResponse();
+        dto.setJobId(job.getId());
+        dto.setType(job.getType());
+        dto.setUserId(job.getUserId());
+        dto.setStatus(job.getStatus());
+        dto.setSubmittedAt(job.getSubmittedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        dto.setError(job.getError());
+        dto.setWorkouts(job.getWorkouts());
+        return dto;
+    }
+
+    public PregenerationRunResponse toPregenerationRunResponse(PregenerationRun run) {
+        PregenerationRunResponse dto = new PregenerationRunResponse();
+        dto.setRunDate(run.getRunDate());
+        dto.setWeekStart(run.getWeekStart());
+        dto.setStatus(run.getStatus());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+        dto.setResumeCount(run.getResumeCount());
+        dto.setUsersSucceeded(run.getUsersSucceeded());
+        dto.setUsersFailed(run.getUsersFailed());
+        int users = run.getUsersSucceeded() + run.getUsersFailed();
+        dto.setUsersPerMinute(run.getActiveMillis() > 0 ? users * 60_000.0 / run.getActiveMillis() : 0);
+        dto.setAverageLatencyMillis(users > 0 ? run.getTotalLatencyMillis() / users : 0);
+        dto.setMaxLatencyMillis(run.getMaxLatencyMillis());
+        return dto;
+    }
+}
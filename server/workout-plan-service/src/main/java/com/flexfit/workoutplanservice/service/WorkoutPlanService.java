@@ -4,32 +4,60 @@ import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
 import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
 import com.flexfit.workoutplanservice.dto.gains.GenAIResponse;
 import com.flexfit.workoutplanservice.dto.gains.GenAIDailyWorkout;
+import com.flexfit.workoutplanservice.dto.gains.GenAIExercise;
 import com.flexfit.workoutplanservice.dto.gains.GenAIWeeklyResponse;
 import com.flexfit.workoutplanservice.dto.gains.PromptContext;
 import com.flexfit.workoutplanservice.dto.gains.WeeklyPromptContext;
 import com.flexfit.workoutplanservice.dto.user.UserResponse;
+import com.flexfit.workoutplanservice.metrics.WorkoutPlanMetrics;
 import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.MuscleGroupLoad;
 import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.TrainingLoadDay;
 import com.flexfit.workoutplanservice.model.enums.SportType;
 import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.WeeklyGenerationMode;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import com.flexfit.workoutplanservice.exception.GenAIRejectedException;
 import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
 import com.flexfit.workoutplanservice.repository.ScheduledExerciseRepository;
 import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,17 +68,57 @@ public class WorkoutPlanService {
     private final DailyWorkoutRepository dailyWorkoutRepository;
     private final ScheduledExerciseRepository scheduledExerciseRepository;
     private final WorkoutPlanMapper mapper;
+    private final WorkoutPersistenceService persistenceService;
+    private final UserProfileCache userProfileCache;
+    private final GenAIResponseCache genAIResponseCache;
+    private final WorkoutPlanMetrics metrics;
+    private final WeeklySportPlanner weeklySportPlanner;
+    private final BoundedFanOut boundedFanOut;
+    private final GenAIWorkerRouter workerRouter;
+    private final TemplateWorkoutGenerator templateGenerator;
     private final Logger logger = LoggerFactory.getLogger(WorkoutPlanService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Identical generation requests that arrive while one is already running share its result
+    private final SingleFlight<DailyGenerationKey, DailyWorkoutResponse> dailyGenerations = new SingleFlight<>();
+    private final SingleFlight<WeeklyGenerationKey, List<DailyWorkoutResponse>> weeklyGenerations = new SingleFlight<>();
+
+    // Every request field that changes the generated plan, or how long the caller may wait for
+    // it, is part of the key; unset optional fields are normalized to the defaults they stand for
+    private record DailyGenerationKey(UUID userId, LocalDate dayDate, SportType focusSportType, Integer targetDurationMinutes,
+                                      String textPrompt, String aiPreference, boolean bypassCache, GenAIPriority priority) {
+
+        static DailyGenerationKey of(WorkoutPlanGenerationRequest request, GenAIPriority priority) {
+            return new DailyGenerationKey(request.getUserId(), request.getDayDate(), request.getFocusSportType(),
+                    request.getTargetDurationMinutes(), normalizedTextPrompt(request), normalizedAiPreference(request),
+                    Boolean.TRUE.equals(request.getBypassCache()), priority);
+        }
+    }
+
+    private record WeeklyGenerationKey(DailyGenerationKey request, WeeklyGenerationMode weeklyMode) {
+
+        static WeeklyGenerationKey of(WorkoutPlanGenerationRequest request, GenAIPriority priority) {
+            return new WeeklyGenerationKey(DailyGenerationKey.of(request, priority),
+                    request.getWeeklyMode() != null ? request.getWeeklyMode() : WeeklyGenerationMode.SINGLE_CALL);
+        }
+    }
+
+    private static String normalizedTextPrompt(WorkoutPlanGenerationRequest request) {
+        return request.getTextPrompt() != null ? request.getTextPrompt().strip() : "";
+    }
+
+    private static String normalizedAiPreference(WorkoutPlanGenerationRequest request) {
+        return request.getAiPreference() != null ? request.getAiPreference().toLowerCase(Locale.ROOT) : "cloud";
+    }
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    // Marks the end of a worker stream in the hand-off queue; compared by identity
+    private static final GenAIDailyWorkout END_OF_STREAM = new GenAIDailyWorkout(null, null, null, null);
 
     @Qualifier("userSvcRestTemplate")
     private final RestTemplate userSvcRestTemplate;
 
-    @Qualifier("genaiCloudRestTemplate")
-    private final RestTemplate genaiCloudRestTemplate;
-    
-    @Qualifier("genaiLocalRestTemplate")
-    private final RestTemplate genaiLocalRestTemplate;
-
     // Helper methods for safe enum parsing
     private SportType parseSportType(String sportTypeStr) {
         try {
@@ -82,8 +150,27 @@ public class WorkoutPlanService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * Generates and stores a single day. Deliberately not transactional: the profile fetch and
+     * the GenAI call run without a database connection, and only the final write opens a
+     * short transaction through {@link WorkoutPersistenceService}. A retry or double submit
+     * of the same request at the same priority joins the in-flight call instead of starting another.
+     * The GenAI call is admitted with {@link GenAIPriority#INTERACTIVE} priority. With
+     * {@code aiPreference=template} the day is built by {@link TemplateWorkoutGenerator} instead,
+     * which is also the fallback when the worker fails or misses its deadline.
+     */
     public DailyWorkoutResponse generateWorkoutPlan(WorkoutPlanGenerationRequest request, String bearerToken) {
+        return generateWorkoutPlan(request, bearerToken, GenAIPriority.INTERACTIVE);
+    }
+
+    public DailyWorkoutResponse generateWorkoutPlan(WorkoutPlanGenerationRequest request, String bearerToken, GenAIPriority priority) {
+        DailyGenerationKey key = DailyGenerationKey.of(request, priority);
+        return dailyGenerations.execute(key,
+            () -> doGenerateWorkoutPlan(request, bearerToken, priority),
+            metrics::incrementCoalescedDailyRequests);
+    }
+
+    private DailyWorkoutResponse doGenerateWorkoutPlan(WorkoutPlanGenerationRequest request, String bearerToken, GenAIPriority priority) {
         // Step 1: Call user-service to get the user's full profile
         UserResponse user = getUserProfile(request.getUserId(), bearerToken);
         if (user == null) {
@@ -93,21 +180,53 @@ public class WorkoutPlanService {
         // Step 2: Build the prompt context for the GenAI worker
         PromptContext promptContext = buildPromptContext(user, request);
 
-        // Step 3: Call the appropriate GenAI worker (cloud or local) based on user preference
+        // Step 3: Call the appropriate GenAI worker (cloud or local) based on user preference, or use the template library
         String aiPreference = request.getAiPreference() != null ? request.getAiPreference() : "cloud";
-        GenAIResponse genAIResponse = callGenAIWorker(promptContext, bearerToken, aiPreference);
-        if (genAIResponse == null || genAIResponse.daily_workout() == null) {
+        Supplier<GenAIDailyWorkout> templateDay = () -> templateGenerator.generate(
+            user.preferences(), request.getDayDate(), request.getFocusSportType(), request.getTargetDurationMinutes());
+        GenAIDailyWorkout aiWorkout;
+        if (isTemplatePreference(aiPreference)) {
+            metrics.incrementTemplateGenerations("daily", "requested");
+            aiWorkout = templateDay.get();
+        } else {
+            aiWorkout = withTemplateFallback("daily", priority, templateGenerator.dailyDeadline(), () -> {
+                GenAIResponse genAIResponse = genAIResponseCache.get("daily", workerKey(aiPreference), promptContext,
+                    Boolean.TRUE.equals(request.getBypassCache()), GenAIResponse.class,
+                    () -> callGenAIWorker(promptContext, bearerToken, aiPreference, priority));
+                return genAIResponse != null ? genAIResponse.daily_workout() : null;
+            }, templateDay);
+        }
+        if (aiWorkout == null) {
             throw new IllegalStateException("Failed to generate workout plan from GenAI service.");
         }
 
-        // Step 4: Create and save the workout entities from the GenAI response
-        DailyWorkout dailyWorkout = persistWorkoutPlan(request, genAIResponse);
+        // Step 4: Create the workout entities and save (or replace that day) in a short write transaction
+        DailyWorkout dailyWorkout = saveRetryingOnConflict(() -> persistenceService.saveDailyWorkout(
+            buildDailyWorkout(request.getUserId(), request.getDayDate(), request.getFocusSportType(), aiWorkout)));
 
         // Step 5: Map the saved entity to a response DTO and return
         return mapper.toDailyWorkoutResponse(dailyWorkout);
     }
 
+    /**
+     * Runs a save once more if it lost an insert race on the (user_id, day_date) unique key to
+     * a concurrent generation for the same day. The retry finds that row and replaces it. The
+     * supplier must build fresh entities, since the failed attempt may have assigned ids.
+     */
+    private <T> T saveRetryingOnConflict(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Concurrent save for the same day detected, retrying as replace: {}", e.getMostSpecificCause().getMessage());
+            return save.get();
+        }
+    }
+
     private UserResponse getUserProfile(java.util.UUID userId, String bearerToken) {
+        return userProfileCache.get(userId, id -> fetchUserProfile(id, bearerToken));
+    }
+
+    private UserResponse fetchUserProfile(java.util.UUID userId, String bearerToken) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", bearerToken);
         HttpEntity<String> entity = new HttpEntity<>(headers);
@@ -123,6 +242,10 @@ public class WorkoutPlanService {
     }
 
     private PromptContext buildPromptContext(UserResponse user, WorkoutPlanGenerationRequest request) {
+        return buildPromptContext(user, request.getDayDate(), request.getFocusSportType(), request.getTargetDurationMinutes());
+    }
+
+    private PromptContext buildPromptContext(UserResponse user, LocalDate dayDate, SportType focusSportType, Integer targetDurationMinutes) {
         int age = Period.between(user.dateOfBirth(), java.time.LocalDate.now()).getYears();
         
         Map<String, Object> userProfileMap = Map.of(
@@ -133,107 +256,197 @@ public class WorkoutPlanService {
         );
         
         Map<String, Object> dailyFocusMap = Map.of(
-            "day_date", request.getDayDate().toString(),
-            "focus_sport_type_for_the_day", request.getFocusSportType().toString(),
-            "target_total_duration_minutes", request.getTargetDurationMinutes()
+            "day_date", dayDate.toString(),
+            "focus_sport_type_for_the_day", focusSportType.toString(),
+            "target_total_duration_minutes", targetDurationMinutes
         );
 
         return new PromptContext(userProfileMap, user.preferences(), dailyFocusMap);
     }
     
-    private GenAIResponse callGenAIWorker(PromptContext context, String bearerToken, String aiPreference) {
+    private boolean isTemplatePreference(String aiPreference) {
+        return "template".equalsIgnoreCase(aiPreference);
+    }
+
+    /**
+     * Runs a worker call on its own virtual thread and waits at most {@code deadline} for it. If the
+     * call misses the deadline it is cancelled, which releases its worker slot; if it fails or is
+     * rejected by admission control, the template answer is returned instead and counted. Batch
+     * work is never degraded: it can wait for capacity, so its worker result or error is passed through.
+     */
+    private <T> T withTemplateFallback(String operation, GenAIPriority priority, Duration deadline,
+                                       Supplier<T> workerCall, Supplier<T> template) {
+        if (!templateGenerator.isFallbackEnabled() || priority == GenAIPriority.BATCH) {
+            return workerCall.get();
+        }
+
+        FutureTask<T> call = new FutureTask<>(workerCall::get);
+        Thread.ofVirtual().name("genai-" + operation).start(call);
+        String reason;
+        try {
+            T result = call.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            if (result != null) {
+                return result;
+            }
+            reason = "worker_failed";
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            reason = "deadline";
+        } catch (ExecutionException e) {
+            reason = e.getCause() instanceof GenAIRejectedException ? "rejected" : "worker_failed";
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the GenAI worker", e);
+        }
+
+        logger.warn("Using the template generator for {} plan: {}", operation, reason);
+        metrics.incrementTemplateGenerations(operation, reason);
+        return template.get();
+    }
+
+    // Cache key component for the worker that would answer; anything but "local" goes to cloud
+    private String workerKey(String aiPreference) {
+        return "local".equalsIgnoreCase(aiPreference) ? "local" : "cloud";
+    }
+
+    private GenAIResponse callGenAIWorker(PromptContext context, String bearerToken, String aiPreference, GenAIPriority priority) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", bearerToken);
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<PromptContext> entity = new HttpEntity<>(context, headers);
         
-        // Choose appropriate RestTemplate based on AI preference
-        RestTemplate restTemplate = "local".equalsIgnoreCase(aiPreference) ? 
-            genaiLocalRestTemplate : genaiCloudRestTemplate;
-        
         String workerType = "local".equalsIgnoreCase(aiPreference) ? "Local AI" : "Cloud AI";
         
         try {
+            // The router prefers the worker matching the AI preference, hedging or failing over to the other
             logger.info("Calling {} worker for workout generation with preference: {}", workerType, aiPreference);
-            ResponseEntity<GenAIResponse> response = restTemplate.exchange(
-                "/generate", HttpMethod.POST, entity, GenAIResponse.class);
+            GenAIResponse response = workerRouter.hedged("daily", aiPreference, priority, restTemplate -> restTemplate.exchange(
+                "/generate", HttpMethod.POST, entity, GenAIResponse.class).getBody());
             logger.info("{} worker responded successfully", workerType);
-            return response.getBody();
+            return response;
+        } catch (GenAIRejectedException e) {
+            throw e;
         } catch(Exception e) {
             logger.error("Error calling {} worker: {}", workerType, e.getMessage());
             return null;
         }
     }
 
-    private DailyWorkout persistWorkoutPlan(WorkoutPlanGenerationRequest request, GenAIResponse genAIResponse) {
-        GenAIDailyWorkout aiWorkout = genAIResponse.daily_workout();
-        
+    private DailyWorkout buildDailyWorkout(UUID userId, LocalDate dayDate, SportType focusSportType, GenAIDailyWorkout aiWorkout) {
         DailyWorkout dailyWorkout = new DailyWorkout();
-        dailyWorkout.setUserId(request.getUserId());
-        dailyWorkout.setDayDate(request.getDayDate());
-        dailyWorkout.setFocusSportTypeForTheDay(request.getFocusSportType());
+        dailyWorkout.setUserId(userId);
+        dailyWorkout.setDayDate(dayDate);
+        dailyWorkout.setFocusSportTypeForTheDay(focusSportType);
         dailyWorkout.setMarkdownContent(aiWorkout.markdown_content());
-        
-        List<ScheduledExercise> exercises = aiWorkout.scheduled_exercises().stream().map(aiExercise -> {
+        dailyWorkout.setScheduledExercises(buildScheduledExercises(aiWorkout.scheduled_exercises()));
+        return dailyWorkout;
+    }
+
+    private List<ScheduledExercise> buildScheduledExercises(List<GenAIExercise> aiExercises) {
+        return aiExercises.stream().filter(aiExercise -> {
+            // A name without letters or digits cannot key a catalog entry; drop the exercise
+            // rather than fold it into whatever else normalizes to nothing
+            if (Exercise.isValidName(aiExercise.exercise_name())) {
+                return true;
+            }
+            logger.warn("Dropping exercise {} with unusable name '{}'", aiExercise.sequence_order(), aiExercise.exercise_name());
+            return false;
+        }).map(aiExercise -> {
             ScheduledExercise exercise = new ScheduledExercise();
             exercise.setSequenceOrder(aiExercise.sequence_order());
-            exercise.setExerciseName(aiExercise.exercise_name());
-            exercise.setDescription(aiExercise.description());
-            exercise.setApplicableSportTypes(parseSportTypes(aiExercise.applicable_sport_types()));
-            exercise.setMuscleGroupsPrimary(aiExercise.muscle_groups_primary());
-            exercise.setMuscleGroupsSecondary(aiExercise.muscle_groups_secondary());
-            exercise.setEquipmentNeeded(parseEquipmentItems(aiExercise.equipment_needed()));
-            exercise.setDifficulty(aiExercise.difficulty());
+            // A candidate catalog entry; persistence swaps in the shared entry if the name is known
+            Exercise catalogEntry = Exercise.named(aiExercise.exercise_name());
+            catalogEntry.setDescription(aiExercise.description());
+            catalogEntry.setApplicableSportTypes(parseSportTypes(aiExercise.applicable_sport_types()));
+            catalogEntry.setMuscleGroupsPrimary(aiExercise.muscle_groups_primary());
+            catalogEntry.setMuscleGroupsSecondary(aiExercise.muscle_groups_secondary());
+            catalogEntry.setEquipmentNeeded(parseEquipmentItems(aiExercise.equipment_needed()));
+            catalogEntry.setDifficulty(aiExercise.difficulty());
+            catalogEntry.setVideoUrl(aiExercise.video_url());
+            exercise.setExercise(catalogEntry);
             exercise.setPrescribedSetsRepsDuration(aiExercise.prescribed_sets_reps_duration());
             exercise.setVoiceScriptCueText(aiExercise.voice_script_cue_text());
-            exercise.setVideoUrl(aiExercise.video_url());
             return exercise;
         }).collect(Collectors.toList());
-        
-        dailyWorkout.setScheduledExercises(exercises);
-
-        return dailyWorkoutRepository.save(dailyWorkout);
     }
 
+    /**
+     * Reads one day with its markdown. The markdown lives in a side table and costs one extra
+     * primary-key lookup; range reads leave it out.
+     */
     public Optional<DailyWorkoutResponse> getWorkoutByUserAndDate(UUID userId, java.time.LocalDate date) {
         Optional<DailyWorkout> workout = dailyWorkoutRepository.findByUserIdAndDayDate(userId, date);
+        workout.ifPresent(day -> persistenceService.loadMarkdown(day.getId()).ifPresent(day::setMarkdownContent));
         return workout.map(mapper::toDailyWorkoutResponse);
     }
 
-    public List<DailyWorkoutResponse> getWorkoutsByUserAndDateRange(UUID userId, java.time.LocalDate startDate, java.time.LocalDate endDate) {
-        List<DailyWorkout> workouts = dailyWorkoutRepository.findByUserIdAndDayDateBetween(userId, startDate, endDate);
-        return workouts.stream()
-                      .map(mapper::toDailyWorkoutResponse)
-                      .collect(Collectors.toList());
+    /**
+     * Generates and stores a 7-day plan. Like {@link #generateWorkoutPlan}, the history read and
+     * the final write each use their own short transaction and the GenAI calls run outside both.
+     * {@link WeeklyGenerationMode#FAN_OUT} requests each day separately and concurrently instead
+     * of asking the worker for the whole week in one call. GenAI calls are admitted with
+     * {@link GenAIPriority#WEEKLY} priority. As for a single day, {@code aiPreference=template}
+     * and worker failures or missed deadlines use {@link TemplateWorkoutGenerator}.
+     */
+    public List<DailyWorkoutResponse> generateWeeklyPlan(WorkoutPlanGenerationRequest request, String bearerToken) {
+        return generateWeeklyPlan(request, bearerToken, GenAIPriority.WEEKLY);
     }
 
-    @Transactional
-    public List<DailyWorkoutResponse> generateWeeklyPlan(WorkoutPlanGenerationRequest request, String bearerToken) {
+    public List<DailyWorkoutResponse> generateWeeklyPlan(WorkoutPlanGenerationRequest request, String bearerToken, GenAIPriority priority) {
+        WeeklyGenerationKey key = WeeklyGenerationKey.of(request, priority);
+        return weeklyGenerations.execute(key,
+            () -> doGenerateWeeklyPlan(request, bearerToken, priority),
+            metrics::incrementCoalescedWeeklyRequests);
+    }
+
+    private List<DailyWorkoutResponse> doGenerateWeeklyPlan(WorkoutPlanGenerationRequest request, String bearerToken, GenAIPriority priority) {
+        WeeklyGenerationMode mode = request.getWeeklyMode() != null ? request.getWeeklyMode() : WeeklyGenerationMode.SINGLE_CALL;
+        long start = System.nanoTime();
+        List<DailyWorkoutResponse> week = mode == WeeklyGenerationMode.FAN_OUT
+            ? generateWeekInParallel(request, bearerToken, priority)
+            : generateWeekInOneCall(request, bearerToken, priority);
+        metrics.recordWeeklyGeneration(mode, Duration.ofNanos(System.nanoTime() - start));
+        return week;
+    }
+
+    private List<DailyWorkoutResponse> generateWeekInOneCall(WorkoutPlanGenerationRequest request, String bearerToken, GenAIPriority priority) {
         // Step 1: Call user-service to get the user's full profile
         UserResponse user = getUserProfile(request.getUserId(), bearerToken);
         if (user == null) {
             throw new IllegalStateException("User not found or unable to fetch profile.");
         }
 
-        // Step 2: Fetch last 7 days of workouts
+        // Step 2: Fetch the training load of the last 7 days in a read-only transaction
         LocalDate today = LocalDate.now();
         LocalDate sevenDaysAgo = today.minusDays(7);
-        List<DailyWorkout> last7DaysWorkouts = dailyWorkoutRepository.findByUserIdAndDayDateBetween(
+        List<TrainingLoadDay> last7Days = persistenceService.loadTrainingLoad(
             request.getUserId(), sevenDaysAgo, today
         );
 
         // Step 3: Build the weekly prompt context
-        WeeklyPromptContext promptContext = buildWeeklyPromptContext(user, request, last7DaysWorkouts);
+        WeeklyPromptContext promptContext = buildWeeklyPromptContext(user, request, last7Days);
 
-        // Step 4: Call the appropriate GenAI worker for weekly generation based on user preference
+        // Step 4: Call the appropriate GenAI worker for weekly generation based on user preference, or use the template library
         String aiPreference = request.getAiPreference() != null ? request.getAiPreference() : "cloud";
-        GenAIWeeklyResponse genAIResponse = callGenAIWorkerForWeekly(promptContext, bearerToken, aiPreference);
+        GenAIWeeklyResponse genAIResponse;
+        if (isTemplatePreference(aiPreference)) {
+            metrics.incrementTemplateGenerations("weekly", "requested");
+            genAIResponse = generateTemplateWeek(user, request);
+        } else {
+            genAIResponse = withTemplateFallback("weekly", priority, templateGenerator.weeklyDeadline(),
+                () -> genAIResponseCache.get("weekly", workerKey(aiPreference), promptContext,
+                    Boolean.TRUE.equals(request.getBypassCache()), GenAIWeeklyResponse.class,
+                    () -> callGenAIWorkerForWeekly(promptContext, bearerToken, aiPreference, priority)),
+                () -> generateTemplateWeek(user, request));
+        }
         if (genAIResponse == null || genAIResponse.workouts() == null || genAIResponse.workouts().isEmpty()) {
             throw new IllegalStateException("Failed to generate weekly workout plan from GenAI service.");
         }
 
-        // Step 5: Create and save all 7 workout entities from the GenAI response
-        List<DailyWorkout> savedWorkouts = persistWeeklyWorkoutPlan(request, genAIResponse);
+        // Step 5: Create all 7 workout entities and save (or replace those days) in one short write transaction
+        List<DailyWorkout> savedWorkouts = saveRetryingOnConflict(
+            () -> persistenceService.saveWeeklyWorkouts(buildWeeklyWorkoutPlan(request, genAIResponse)));
 
         // Step 6: Map the saved entities to response DTOs and return
         return savedWorkouts.stream()
@@ -241,7 +454,194 @@ public class WorkoutPlanService {
                           .collect(Collectors.toList());
     }
 
-    private WeeklyPromptContext buildWeeklyPromptContext(UserResponse user, WorkoutPlanGenerationRequest request, List<DailyWorkout> last7Days) {
+    /**
+     * Asks the /generate endpoint for every day of the week at once, so the week takes about
+     * as long as its slowest day rather than the sum of all days. Because the days are written
+     * independently, the sport of each day is fixed up front by {@link WeeklySportPlanner} from
+     * the 7 days before the week starts. Nothing is saved unless every day succeeds.
+     */
+    private List<DailyWorkoutResponse> generateWeekInParallel(WorkoutPlanGenerationRequest request, String bearerToken, GenAIPriority priority) {
+        // Step 1: Call user-service to get the user's full profile
+        UserResponse user = getUserProfile(request.getUserId(), bearerToken);
+        if (user == null) {
+            throw new IllegalStateException("User not found or unable to fetch profile.");
+        }
+
+        // Step 2: Decide each day's sport from the 7 days before the week, read in a read-only transaction
+        LocalDate startDate = request.getDayDate();
+        List<DailyWorkout> history = persistenceService.loadHistory(
+            request.getUserId(), startDate.minusDays(7), startDate.minusDays(1)
+        );
+        List<SportType> sports = weeklySportPlanner.plan(user.preferences(), history, startDate, DAYS_PER_WEEK);
+
+        // Step 3: Generate all days concurrently; identical days (e.g. rest days) can share a cached response.
+        // Template days are built in-process and need no worker slots.
+        String aiPreference = request.getAiPreference() != null ? request.getAiPreference() : "cloud";
+        boolean bypassCache = Boolean.TRUE.equals(request.getBypassCache());
+        List<GenAIDailyWorkout> aiWorkouts;
+        if (isTemplatePreference(aiPreference)) {
+            metrics.incrementTemplateGenerations("weekly", "requested");
+            aiWorkouts = new ArrayList<>();
+            for (int day = 0; day < sports.size(); day++) {
+                aiWorkouts.add(templateGenerator.generate(user.preferences(), startDate.plusDays(day), sports.get(day),
+                    request.getTargetDurationMinutes()));
+            }
+        } else {
+            List<Callable<GenAIDailyWorkout>> dayCalls = new ArrayList<>();
+            for (int day = 0; day < sports.size(); day++) {
+                LocalDate dayDate = startDate.plusDays(day);
+                SportType sport = sports.get(day);
+                PromptContext promptContext = buildPromptContext(user, dayDate, sport, request.getTargetDurationMinutes());
+                dayCalls.add(() -> {
+                    GenAIDailyWorkout aiWorkout = withTemplateFallback("daily", priority, templateGenerator.dailyDeadline(), () -> {
+                        GenAIResponse genAIResponse = genAIResponseCache.get("daily", workerKey(aiPreference), promptContext,
+                            bypassCache, GenAIResponse.class,
+                            () -> callGenAIWorker(promptContext, bearerToken, aiPreference, priority));
+                        return genAIResponse != null ? genAIResponse.daily_workout() : null;
+                    }, () -> templateGenerator.generate(user.preferences(), dayDate, sport, request.getTargetDurationMinutes()));
+                    if (aiWorkout == null) {
+                        throw new IllegalStateException("Failed to generate workout for " + dayDate + " from GenAI service.");
+                    }
+                    return aiWorkout;
+                });
+            }
+            aiWorkouts = boundedFanOut.invokeAll(dayCalls);
+        }
+
+        // Step 4: Save (or replace) all days in one short write transaction, stamped with the planned date and sport
+        List<DailyWorkout> savedWorkouts = saveRetryingOnConflict(() -> {
+            List<DailyWorkout> workouts = new ArrayList<>();
+            for (int day = 0; day < aiWorkouts.size(); day++) {
+                workouts.add(buildDailyWorkout(request.getUserId(), startDate.plusDays(day), sports.get(day), aiWorkouts.get(day)));
+            }
+            return persistenceService.saveWeeklyWorkouts(workouts);
+        });
+
+        // Step 5: Map the saved entities to response DTOs and return
+        return savedWorkouts.stream()
+                          .map(mapper::toDailyWorkoutResponse)
+                          .collect(Collectors.toList());
+    }
+
+    /**
+     * Streaming variant of {@link #generateWeeklyPlan}. Days are read from the worker's NDJSON
+     * stream as it produces them; each is saved in its own short transaction and handed to
+     * {@code onDay} right away, so the first day is available long before the week is done.
+     * A cached week, or a worker without a streaming endpoint, is saved and emitted day by day
+     * once the full response is available. Days saved before a failure are kept. Days take the
+     * week's dates in the order they arrive, from the request date, whatever the worker put on them.
+     * <p>
+     * The worker gets the weekly deadline for the whole stream. If it fails, is rejected or misses
+     * the deadline, the days it has not delivered are built by {@link TemplateWorkoutGenerator} and
+     * emitted like streamed ones; with the fallback disabled the stream fails instead. Unlike the
+     * buffered paths a stream is not coalesced, since each caller consumes its own events.
+     * @return All saved days, in the order they were emitted.
+     */
+    public List<DailyWorkoutResponse> streamWeeklyPlan(WorkoutPlanGenerationRequest request, String bearerToken,
+                                                       Consumer<DailyWorkoutResponse> onDay) {
+        UserResponse user = getUserProfile(request.getUserId(), bearerToken);
+        if (user == null) {
+            throw new IllegalStateException("User not found or unable to fetch profile.");
+        }
+
+        LocalDate today = LocalDate.now();
+        List<TrainingLoadDay> last7Days = persistenceService.loadTrainingLoad(request.getUserId(), today.minusDays(7), today);
+        WeeklyPromptContext promptContext = buildWeeklyPromptContext(user, request, last7Days);
+
+        List<DailyWorkoutResponse> savedDays = new ArrayList<>();
+        Consumer<GenAIDailyWorkout> saveDay = aiWorkout -> {
+            int dayIndex = savedDays.size();
+            if (dayIndex >= DAYS_PER_WEEK) {
+                logger.warn("Ignoring streamed day {} beyond the week starting {}", dayIndex + 1, request.getDayDate());
+                return;
+            }
+            DailyWorkout saved = saveRetryingOnConflict(
+                () -> persistenceService.saveDailyWorkout(buildWeeklyDay(request, dayIndex, aiWorkout)));
+            DailyWorkoutResponse response = mapper.toDailyWorkoutResponse(saved);
+            savedDays.add(response);
+            onDay.accept(response);
+        };
+
+        String aiPreference = request.getAiPreference() != null ? request.getAiPreference() : "cloud";
+        if (isTemplatePreference(aiPreference)) {
+            metrics.incrementTemplateGenerations("weekly", "requested");
+            generateTemplateWeek(user, request).workouts().forEach(saveDay);
+            return savedDays;
+        }
+
+        String failure = streamWithDeadline(saveDay, onStreamedDay -> genAIResponseCache.get("weekly", workerKey(aiPreference),
+            promptContext, Boolean.TRUE.equals(request.getBypassCache()), GenAIWeeklyResponse.class,
+            () -> streamGenAIWorkerForWeekly(promptContext, bearerToken, aiPreference, onStreamedDay)));
+        if (failure == null) {
+            return savedDays;
+        }
+        if (!templateGenerator.isFallbackEnabled()) {
+            throw new IllegalStateException("Failed to generate weekly workout plan from GenAI service"
+                + (savedDays.isEmpty() ? "." : " after " + savedDays.size() + " day(s)."));
+        }
+
+        // Complete the week from the template library, keeping the days the worker delivered.
+        // Streamed days take the week's dates in order, so the undelivered ones are the last.
+        logger.warn("Using the template generator for {} undelivered streamed day(s): {}", DAYS_PER_WEEK - savedDays.size(), failure);
+        metrics.incrementTemplateGenerations("weekly", failure);
+        generateTemplateWeek(user, request).workouts().stream()
+            .skip(savedDays.size())
+            .forEach(saveDay);
+        return savedDays;
+    }
+
+    /**
+     * Runs a streaming worker call on its own virtual thread and saves each day it delivers on
+     * the calling thread, so saves and events keep their order and never race the fallback.
+     * A complete week that arrives without streaming (cache hit, buffered call) is saved whole.
+     * @return Null if the worker delivered the week, otherwise why it did not, as a metrics reason.
+     */
+    private String streamWithDeadline(Consumer<GenAIDailyWorkout> saveDay,
+                                      Function<Consumer<GenAIDailyWorkout>, GenAIWeeklyResponse> workerCall) {
+        BlockingQueue<GenAIDailyWorkout> delivered = new LinkedBlockingQueue<>();
+        FutureTask<GenAIWeeklyResponse> call = new FutureTask<>(() -> {
+            try {
+                return workerCall.apply(delivered::add);
+            } finally {
+                delivered.add(END_OF_STREAM);
+            }
+        });
+        Thread.ofVirtual().name("genai-weekly-stream").start(call);
+
+        long deadline = System.nanoTime() + templateGenerator.weeklyDeadline().toNanos();
+        int streamed = 0;
+        try {
+            GenAIDailyWorkout day;
+            while ((day = delivered.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != END_OF_STREAM) {
+                if (day == null) {
+                    call.cancel(true);
+                    return "deadline";
+                }
+                saveDay.accept(day);
+                streamed++;
+            }
+            GenAIWeeklyResponse week = call.get();
+            if (week == null || week.workouts() == null || week.workouts().isEmpty()) {
+                return "worker_failed";
+            }
+            if (streamed == 0) {
+                week.workouts().forEach(saveDay);
+            }
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof GenAIRejectedException ? "rejected" : "worker_failed";
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while streaming from the GenAI worker", e);
+        } catch (RuntimeException e) {
+            // A failed save; the worker must not keep streaming into a request that has ended
+            call.cancel(true);
+            throw e;
+        }
+    }
+
+    private WeeklyPromptContext buildWeeklyPromptContext(UserResponse user, WorkoutPlanGenerationRequest request, List<TrainingLoadDay> last7Days) {
         int age = Period.between(user.dateOfBirth(), LocalDate.now()).getYears();
         
         Map<String, Object> userProfileMap = Map.of(
@@ -254,19 +654,14 @@ public class WorkoutPlanService {
         
         // Transform last 7 days workouts into the expected format
         List<Map<String, Object>> last7DaysExercises = new ArrayList<>();
-        for (DailyWorkout workout : last7Days) {
+        for (TrainingLoadDay day : last7Days) {
             Map<String, Object> dayData = new HashMap<>();
-            dayData.put("day_date", workout.getDayDate().toString());
-            dayData.put("sport_type", workout.getFocusSportTypeForTheDay().toString());
+            dayData.put("day_date", day.getDayDate().toString());
+            dayData.put("sport_type", day.getSportType().toString());
+            dayData.put("exercises", day.getExerciseNames());
             
-            List<String> exerciseNames = workout.getScheduledExercises().stream()
-                .map(ScheduledExercise::getExerciseName)
-                .collect(Collectors.toList());
-            dayData.put("exercises", exerciseNames);
-            
-            List<String> muscleGroups = workout.getScheduledExercises().stream()
-                .flatMap(ex -> ex.getMuscleGroupsPrimary().stream())
-                .distinct()
+            List<String> muscleGroups = day.getMuscleGroupLoad().stream()
+                .map(MuscleGroupLoad::muscleGroup)
                 .collect(Collectors.toList());
             dayData.put("muscle_groups_worked", muscleGroups);
             
@@ -276,63 +671,117 @@ public class WorkoutPlanService {
         String textPrompt = request.getTextPrompt() != null ? request.getTextPrompt() : 
             "Generate a balanced 7-day workout plan with proper progression and recovery";
 
-        return new WeeklyPromptContext(userProfileMap, user.preferences(), textPrompt, last7DaysExercises);
+        return new WeeklyPromptContext(userProfileMap, user.preferences(), textPrompt, last7DaysExercises,
+            request.getDayDate().toString());
+    }
+
+    /**
+     * Builds the week starting at the request date from the template library, with each day's
+     * sport chosen by {@link WeeklySportPlanner} from the 7 days before the week.
+     */
+    private GenAIWeeklyResponse generateTemplateWeek(UserResponse user, WorkoutPlanGenerationRequest request) {
+        LocalDate startDate = request.getDayDate();
+        List<DailyWorkout> history = persistenceService.loadHistory(
+            request.getUserId(), startDate.minusDays(7), startDate.minusDays(1)
+        );
+        List<SportType> sports = weeklySportPlanner.plan(user.preferences(), history, startDate, DAYS_PER_WEEK);
+        List<GenAIDailyWorkout> days = new ArrayList<>();
+        for (int day = 0; day < sports.size(); day++) {
+            days.add(templateGenerator.generate(user.preferences(), startDate.plusDays(day), sports.get(day),
+                request.getTargetDurationMinutes()));
+        }
+        return new GenAIWeeklyResponse(days);
     }
 
-    private GenAIWeeklyResponse callGenAIWorkerForWeekly(WeeklyPromptContext context, String bearerToken, String aiPreference) {
+    private GenAIWeeklyResponse callGenAIWorkerForWeekly(WeeklyPromptContext context, String bearerToken, String aiPreference,
+                                                         GenAIPriority priority) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", bearerToken);
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<WeeklyPromptContext> entity = new HttpEntity<>(context, headers);
         
-        // Choose appropriate RestTemplate based on AI preference
-        RestTemplate restTemplate = "local".equalsIgnoreCase(aiPreference) ? 
-            genaiLocalRestTemplate : genaiCloudRestTemplate;
-        
         String workerType = "local".equalsIgnoreCase(aiPreference) ? "Local AI" : "Cloud AI";
         
         try {
             logger.info("Calling {} worker for weekly workout generation with preference: {}", workerType, aiPreference);
-            ResponseEntity<GenAIWeeklyResponse> response = restTemplate.exchange(
-                "/generate-weekly", HttpMethod.POST, entity, GenAIWeeklyResponse.class);
+            GenAIWeeklyResponse response = workerRouter.hedged("weekly", aiPreference, priority, restTemplate -> restTemplate.exchange(
+                "/generate-weekly", HttpMethod.POST, entity, GenAIWeeklyResponse.class).getBody());
             logger.info("{} worker responded successfully for weekly plan", workerType);
-            return response.getBody();
+            return response;
+        } catch (GenAIRejectedException e) {
+            throw e;
         } catch(Exception e) {
             logger.error("Error calling {} worker for weekly plan: {}", workerType, e.getMessage());
             return null;
         }
     }
 
-    private List<DailyWorkout> persistWeeklyWorkoutPlan(WorkoutPlanGenerationRequest request, GenAIWeeklyResponse genAIResponse) {
-        List<DailyWorkout> savedWorkouts = new ArrayList<>();
+    private GenAIWeeklyResponse streamGenAIWorkerForWeekly(WeeklyPromptContext context, String bearerToken, String aiPreference,
+                                                           Consumer<GenAIDailyWorkout> onDay) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", bearerToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        HttpEntity<WeeklyPromptContext> entity = new HttpEntity<>(context, headers);
+
+        String workerType = "local".equalsIgnoreCase(aiPreference) ? "Local AI" : "Cloud AI";
+
+        try {
+            // Days are saved as they arrive, so a stream is never hedged; it only avoids a worker with an open circuit
+            logger.info("Streaming weekly workout generation from {} worker", workerType);
+            return workerRouter.withFailover("weekly_stream", aiPreference, GenAIPriority.WEEKLY, restTemplate -> restTemplate.execute(
+                "/generate-weekly/stream", HttpMethod.POST,
+                restTemplate.httpEntityCallback(entity), response -> readWeeklyStream(response.getBody(), onDay)));
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("{} worker has no streaming endpoint, falling back to the buffered weekly call", workerType);
+            return callGenAIWorkerForWeekly(context, bearerToken, aiPreference, GenAIPriority.WEEKLY);
+        } catch (GenAIRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error streaming weekly plan from {} worker: {}", workerType, e.getMessage());
+            return null;
+        }
+    }
+
+    // Each NDJSON line is one GenAIDailyWorkout; a line with an "error" field ends the stream
+    private GenAIWeeklyResponse readWeeklyStream(InputStream body, Consumer<GenAIDailyWorkout> onDay) throws IOException {
+        List<GenAIDailyWorkout> days = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = objectMapper.readTree(line);
+            if (node.hasNonNull("error")) {
+                throw new IllegalStateException(node.get("error").asText());
+            }
+            GenAIDailyWorkout day = objectMapper.treeToValue(node, GenAIDailyWorkout.class);
+            days.add(day);
+            onDay.accept(day);
+        }
+        return new GenAIWeeklyResponse(days);
+    }
+
+    private List<DailyWorkout> buildWeeklyWorkoutPlan(WorkoutPlanGenerationRequest request, GenAIWeeklyResponse genAIResponse) {
+        List<DailyWorkout> workouts = new ArrayList<>();
         
-        for (GenAIDailyWorkout aiWorkout : genAIResponse.workouts()) {
-            DailyWorkout dailyWorkout = new DailyWorkout();
-            dailyWorkout.setUserId(request.getUserId());
-            dailyWorkout.setDayDate(LocalDate.parse(aiWorkout.day_date()));
-            dailyWorkout.setFocusSportTypeForTheDay(parseSportType(aiWorkout.focus_sport_type_for_the_day()));
-            dailyWorkout.setMarkdownContent(aiWorkout.markdown_content());
-            
-            List<ScheduledExercise> exercises = aiWorkout.scheduled_exercises().stream().map(aiExercise -> {
-                ScheduledExercise exercise = new ScheduledExercise();
-                exercise.setSequenceOrder(aiExercise.sequence_order());
-                exercise.setExerciseName(aiExercise.exercise_name());
-                exercise.setDescription(aiExercise.description());
-                exercise.setApplicableSportTypes(parseSportTypes(aiExercise.applicable_sport_types()));
-                exercise.setMuscleGroupsPrimary(aiExercise.muscle_groups_primary());
-                exercise.setMuscleGroupsSecondary(aiExercise.muscle_groups_secondary());
-                exercise.setEquipmentNeeded(parseEquipmentItems(aiExercise.equipment_needed()));
-                exercise.setDifficulty(aiExercise.difficulty());
-                exercise.setPrescribedSetsRepsDuration(aiExercise.prescribed_sets_reps_duration());
-                exercise.setVoiceScriptCueText(aiExercise.voice_script_cue_text());
-                exercise.setVideoUrl(aiExercise.video_url());
-                return exercise;
-            }).collect(Collectors.toList());
-            
-            dailyWorkout.setScheduledExercises(exercises);
-            savedWorkouts.add(dailyWorkoutRepository.save(dailyWorkout));
+        int days = Math.min(genAIResponse.workouts().size(), DAYS_PER_WEEK);
+        for (int dayIndex = 0; dayIndex < days; dayIndex++) {
+            workouts.add(buildWeeklyDay(request, dayIndex, genAIResponse.workouts().get(dayIndex)));
         }
 
-        return savedWorkouts;
+        return workouts;
+    }
+
+    // Workers date days from their own clock; the week always starts at the request date
+    private DailyWorkout buildWeeklyDay(WorkoutPlanGenerationRequest request, int dayIndex, GenAIDailyWorkout aiWorkout) {
+        DailyWorkout dailyWorkout = new DailyWorkout();
+        dailyWorkout.setUserId(request.getUserId());
+        dailyWorkout.setDayDate(request.getDayDate().plusDays(dayIndex));
+        dailyWorkout.setFocusSportTypeForTheDay(parseSportType(aiWorkout.focus_sport_type_for_the_day()));
+        dailyWorkout.setMarkdownContent(aiWorkout.markdown_content());
+        dailyWorkout.setScheduledExercises(buildScheduledExercises(aiWorkout.scheduled_exercises()));
+        return dailyWorkout;
     }
 }
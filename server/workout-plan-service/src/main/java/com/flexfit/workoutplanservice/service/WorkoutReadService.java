@@ -0,0 +1,255 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.ScheduledExerciseResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutFields;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutMarkdownRepository;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.ScheduledExerciseRepository;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutMarkdownRow;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutRow;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutVersion;
+import com.flexfit.workoutplanservice.repository.projection.ScheduledExerciseRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Read path for workout queries that return many days. Instead of hydrating DailyWorkout
+ * entity graphs, it runs two flat projection queries (workouts, then exercises with their
+ * catalog attributes) and stitches the DTOs together in memory. The number of
+ * statements does not depend on how many days or exercises are in the range. Workout markdown
+ * is never read here except by {@link #findWorkoutMarkdown}.
+ */
+@Service
+public class WorkoutReadService {
+
+    /** Workouts read per transaction when streaming a range. */
+    static final int STREAM_PAGE_SIZE = 100;
+
+    private final DailyWorkoutRepository dailyWorkoutRepository;
+    private final ScheduledExerciseRepository scheduledExerciseRepository;
+    private final DailyWorkoutMarkdownRepository markdownRepository;
+    private final WorkoutPlanMapper mapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WorkoutReadService(DailyWorkoutRepository dailyWorkoutRepository,
+                              ScheduledExerciseRepository scheduledExerciseRepository,
+                              DailyWorkoutMarkdownRepository markdownRepository,
+                              WorkoutPlanMapper mapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.dailyWorkoutRepository = dailyWorkoutRepository;
+        this.scheduledExerciseRepository = scheduledExerciseRepository;
+        this.markdownRepository = markdownRepository;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Looks up only the id and version of a user's workout on a date, for answering
+     * conditional GETs without loading or serializing the workout.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DailyWorkoutVersion> findWorkoutVersion(UUID userId, LocalDate date) {
+        return dailyWorkoutRepository.findVersionByUserIdAndDayDate(userId, date);
+    }
+
+    /**
+     * Looks up the markdown of a user's workout on a date, with the workout's id and version
+     * for the ETag. Empty if there is no workout or it has no markdown.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DailyWorkoutMarkdownRow> findWorkoutMarkdown(UUID userId, LocalDate date) {
+        return markdownRepository.findRowByUserIdAndDayDate(userId, date);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyWorkoutResponse> getWorkoutsByUserAndDateRange(UUID userId, LocalDate startDate, LocalDate endDate) {
+        List<DailyWorkoutRow> workoutRows = dailyWorkoutRepository.findRowsByUserIdAndDayDateBetween(userId, startDate, endDate);
+        if (workoutRows.isEmpty()) {
+            return List.of();
+        }
+
+        List<ScheduledExerciseRow> exerciseRows = scheduledExerciseRepository.findRowsByUserIdAndDayDateBetween(userId, startDate, endDate);
+
+        // Exercise rows arrive ordered by day and sequence, so per-workout lists keep that order
+        Map<UUID, List<ScheduledExerciseResponse>> exercisesByWorkout = new HashMap<>();
+        for (ScheduledExerciseRow row : exerciseRows) {
+            exercisesByWorkout.computeIfAbsent(row.dailyWorkoutId(), id -> new ArrayList<>())
+                    .add(mapper.toScheduledExerciseResponse(row));
+        }
+
+        return workoutRows.stream()
+                .map(row -> mapper.toDailyWorkoutResponse(row, exercisesByWorkout.getOrDefault(row.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Completes workout rows selected by the caller, e.g. a feed or history page, with their
+     * exercises in one more statement, keeping the rows' order.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyWorkoutResponse> withExercises(List<DailyWorkoutRow> workoutRows) {
+        if (workoutRows.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = workoutRows.stream().map(DailyWorkoutRow::id).toList();
+        // Exercise rows arrive ordered by sequence within each workout
+        Map<UUID, List<ScheduledExerciseResponse>> exercisesByWorkout = new HashMap<>();
+        for (ScheduledExerciseRow row : scheduledExerciseRepository.findRowsByDailyWorkoutIdIn(ids)) {
+            exercisesByWorkout.computeIfAbsent(row.dailyWorkoutId(), id -> new ArrayList<>())
+                    .add(mapper.toScheduledExerciseResponse(row));
+        }
+        return workoutRows.stream()
+                .map(row -> mapper.toDailyWorkoutResponse(row, exercisesByWorkout.getOrDefault(row.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Range read limited to the selected fields. Only the selected workout columns are queried;
+     * exercises and markdown each cost one more statement, and only when selected.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyWorkoutResponse> getWorkoutsByUserAndDateRange(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                                    WorkoutFields fields) {
+        if (fields.equals(WorkoutFields.LIST)) {
+            return getWorkoutsByUserAndDateRange(userId, startDate, endDate);
+        }
+        List<DailyWorkoutResponse> workouts;
+        try (Stream<Tuple> rows = selectColumns(userId, startDate, endDate, fields.columns()).getResultStream()) {
+            workouts = rows.map(mapper::toDailyWorkoutResponse).collect(Collectors.toList());
+        }
+        if (workouts.isEmpty()) {
+            return workouts;
+        }
+
+        if (fields.includes(WorkoutFields.SCHEDULED_EXERCISES)) {
+            Map<UUID, List<ScheduledExerciseResponse>> exercisesByWorkout = new HashMap<>();
+            for (ScheduledExerciseRow row : scheduledExerciseRepository.findRowsByUserIdAndDayDateBetween(userId, startDate, endDate)) {
+                exercisesByWorkout.computeIfAbsent(row.dailyWorkoutId(), id -> new ArrayList<>())
+                        .add(mapper.toScheduledExerciseResponse(row));
+            }
+            workouts.forEach(workout -> workout.setScheduledExercises(exercisesByWorkout.getOrDefault(workout.getId(), List.of())));
+        }
+        if (fields.includes(WorkoutFields.MARKDOWN_CONTENT)) {
+            Map<UUID, String> markdownByWorkout = markdownRepository.findRowsByUserIdAndDayDateBetween(userId, startDate, endDate).stream()
+                    .collect(Collectors.toMap(DailyWorkoutMarkdownRow::id, DailyWorkoutMarkdownRow::markdownContent));
+            workouts.forEach(workout -> workout.setMarkdownContent(markdownByWorkout.get(workout.getId())));
+        }
+        return workouts;
+    }
+
+    /**
+     * Single-day read limited to the selected fields, through the same queries as a range read.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DailyWorkoutResponse> getWorkoutByUserAndDate(UUID userId, LocalDate date, WorkoutFields fields) {
+        return getWorkoutsByUserAndDateRange(userId, date, date, fields).stream().findFirst();
+    }
+
+    /**
+     * Streams the workouts in a date range to the sink in date order. The range is read in
+     * keyset pages of {@value #STREAM_PAGE_SIZE} workouts, each in its own short read-only
+     * transaction, and a page is handed to the sink only after its transaction has ended. A slow
+     * client therefore never holds a pooled connection, and at most one page is on the heap.
+     * @return The number of workouts written.
+     */
+    public long streamWorkoutsByUserAndDateRange(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                 Consumer<DailyWorkoutResponse> sink) {
+        return streamWorkoutsByUserAndDateRange(userId, startDate, endDate, WorkoutFields.LIST, sink);
+    }
+
+    /**
+     * Streaming read limited to the selected fields, paged as above. Only the selected columns
+     * are read, plus the day that keys the next page; exercises cost one more statement per
+     * page, and only when selected. Markdown is not streamed, as it would cost a lookup per
+     * workout.
+     * @return The number of workouts written.
+     * @throws IllegalArgumentException If markdown is selected.
+     */
+    public long streamWorkoutsByUserAndDateRange(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                 WorkoutFields fields, Consumer<DailyWorkoutResponse> sink) {
+        if (fields.includes(WorkoutFields.MARKDOWN_CONTENT)) {
+            throw new IllegalArgumentException("markdownContent cannot be streamed; read it per day from the markdown endpoint");
+        }
+        long count = 0;
+        LocalDate pageStart = startDate;
+        while (!pageStart.isAfter(endDate)) {
+            LocalDate from = pageStart;
+            List<DailyWorkoutResponse> page = readOnlyTransaction.execute(status -> readPage(userId, from, endDate, fields));
+            page.forEach(sink);
+            count += page.size();
+            if (page.size() < STREAM_PAGE_SIZE) {
+                break;
+            }
+            // A user has at most one workout per day, so the next page starts the day after
+            pageStart = page.get(page.size() - 1).getDayDate().plusDays(1);
+        }
+        return count;
+    }
+
+    // The first page of workouts from startDate on, with the day always read to key the next page.
+    private List<DailyWorkoutResponse> readPage(UUID userId, LocalDate startDate, LocalDate endDate, WorkoutFields fields) {
+        List<String> columns = new ArrayList<>(fields.columns());
+        if (!columns.contains(WorkoutFields.DAY_DATE)) {
+            columns.add(WorkoutFields.DAY_DATE);
+        }
+        List<DailyWorkoutResponse> workouts = selectColumns(userId, startDate, endDate, columns)
+                .setMaxResults(STREAM_PAGE_SIZE)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(mapper::toDailyWorkoutResponse)
+                .collect(Collectors.toList());
+        if (fields.includes(WorkoutFields.SCHEDULED_EXERCISES) && !workouts.isEmpty()) {
+            List<UUID> ids = workouts.stream().map(DailyWorkoutResponse::getId).toList();
+            // Exercise rows arrive ordered by sequence within each workout
+            Map<UUID, List<ScheduledExerciseResponse>> exercisesByWorkout = new HashMap<>();
+            for (ScheduledExerciseRow row : scheduledExerciseRepository.findRowsByDailyWorkoutIdIn(ids)) {
+                exercisesByWorkout.computeIfAbsent(row.dailyWorkoutId(), id -> new ArrayList<>())
+                        .add(mapper.toScheduledExerciseResponse(row));
+            }
+            workouts.forEach(workout -> workout.setScheduledExercises(exercisesByWorkout.getOrDefault(workout.getId(), List.of())));
+        }
+        return workouts;
+    }
+
+    // Selects only the requested columns, aliased by field name, in day order.
+    private TypedQuery<Tuple> selectColumns(UUID userId, LocalDate startDate, LocalDate endDate, List<String> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<DailyWorkout> workout = query.from(DailyWorkout.class);
+        query.multiselect(columns.stream()
+                        .<Selection<?>>map(column -> workout.get(column).alias(column))
+                        .toList())
+                .where(cb.equal(workout.get("userId"), userId),
+                        cb.between(workout.get("dayDate"), startDate, endDate))
+                .orderBy(cb.asc(workout.get("dayDate")));
+        return entityManager.createQuery(query);
+    }
+}
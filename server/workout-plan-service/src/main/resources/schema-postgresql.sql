@@ -0,0 +1,239 @@
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization).
+-- Statements are separated by ';;' so PL/pgSQL blocks can contain plain semicolons.
+-- Every statement is idempotent and safe to run on each start-up.
+
+-- Exercise attributes used to live on scheduled_exercises (exercise_name, description, the
+-- jsonb attribute lists, difficulty, video_url) and now live in the shared exercises catalog.
+-- The steps below bring a database from any earlier layout up to the catalog. Hibernate no
+-- longer maps the inline columns, so they only exist in databases created before the catalog.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'scheduled_exercises' AND column_name = 'exercise_name') THEN
+        ALTER TABLE scheduled_exercises ADD COLUMN IF NOT EXISTS applicable_sport_types jsonb;
+        ALTER TABLE scheduled_exercises ADD COLUMN IF NOT EXISTS muscle_groups_primary jsonb;
+        ALTER TABLE scheduled_exercises ADD COLUMN IF NOT EXISTS muscle_groups_secondary jsonb;
+        ALTER TABLE scheduled_exercises ADD COLUMN IF NOT EXISTS equipment_needed jsonb;
+    END IF;
+END $$;;
+
+-- Copy attribute lists from the legacy collection tables into the inline jsonb columns.
+-- Only rows that have not been migrated yet (column still NULL) are touched.
+DO $$
+BEGIN
+    IF to_regclass('exercise_sport_types') IS NOT NULL THEN
+        UPDATE scheduled_exercises e
+        SET applicable_sport_types = src.vals
+        FROM (SELECT exercise_id, jsonb_agg(sport_type) AS vals FROM exercise_sport_types GROUP BY exercise_id) src
+        WHERE e.id = src.exercise_id AND e.applicable_sport_types IS NULL;
+    END IF;
+
+    IF to_regclass('exercise_primary_muscles') IS NOT NULL THEN
+        UPDATE scheduled_exercises e
+        SET muscle_groups_primary = src.vals
+        FROM (SELECT exercise_id, jsonb_agg(muscle_group) AS vals FROM exercise_primary_muscles GROUP BY exercise_id) src
+        WHERE e.id = src.exercise_id AND e.muscle_groups_primary IS NULL;
+    END IF;
+
+    IF to_regclass('exercise_secondary_muscles') IS NOT NULL THEN
+        UPDATE scheduled_exercises e
+        SET muscle_groups_secondary = src.vals
+        FROM (SELECT exercise_id, jsonb_agg(muscle_group) AS vals FROM exercise_secondary_muscles GROUP BY exercise_id) src
+        WHERE e.id = src.exercise_id AND e.muscle_groups_secondary IS NULL;
+    END IF;
+
+    IF to_regclass('exercise_equipment') IS NOT NULL THEN
+        UPDATE scheduled_exercises e
+        SET equipment_needed = src.vals
+        FROM (SELECT exercise_id, jsonb_agg(equipment_item) AS vals FROM exercise_equipment GROUP BY exercise_id) src
+        WHERE e.id = src.exercise_id AND e.equipment_needed IS NULL;
+    END IF;
+END $$;;
+
+-- Exercises that had no rows in a legacy table get an empty list rather than NULL.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'scheduled_exercises' AND column_name = 'exercise_name') THEN
+        UPDATE scheduled_exercises
+        SET applicable_sport_types = COALESCE(applicable_sport_types, '[]'::jsonb),
+            muscle_groups_primary = COALESCE(muscle_groups_primary, '[]'::jsonb),
+            muscle_groups_secondary = COALESCE(muscle_groups_secondary, '[]'::jsonb),
+            equipment_needed = COALESCE(equipment_needed, '[]'::jsonb)
+        WHERE applicable_sport_types IS NULL
+           OR muscle_groups_primary IS NULL
+           OR muscle_groups_secondary IS NULL
+           OR equipment_needed IS NULL;
+    END IF;
+END $$;;
+
+-- Same normalization and id as Exercise.normalize and Exercise.idFor (UUID.nameUUIDFromBytes:
+-- the MD5 of the UTF-8 name with the version nibble set to 3 and the IETF variant bits).
+-- Letters and digits of every script are kept; [:alnum:] follows the database's UTF-8 ctype
+-- locale as \p{L}\p{N} does in Java. A name without any normalizes to NULL and has no id.
+CREATE OR REPLACE FUNCTION flexfit_normalize_exercise_name(name text) RETURNS text
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT NULLIF(btrim(regexp_replace(lower(normalize(name, NFKC)), '[^[:alnum:]]+', ' ', 'g')), '')
+$$;;
+
+CREATE OR REPLACE FUNCTION flexfit_exercise_id(name text) RETURNS uuid
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT (substr(h, 1, 12) || '3' || substr(h, 14, 3)
+            || to_hex((('x' || substr(h, 17, 1))::bit(4)::int & 3) | 8)
+            || substr(h, 18))::uuid
+    FROM md5(convert_to(flexfit_normalize_exercise_name(name), 'UTF8')) AS h
+$$;;
+
+-- Move inline exercise attributes into the catalog. The first instance of each normalized name
+-- becomes its entry; every instance then points at it. Instances whose name has no letters or
+-- digits point at a bare "Unnamed exercise" entry instead of sharing another one's attributes.
+-- Rows pointed at an entry by an earlier, ASCII-only normalization are re-pointed the same way.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'scheduled_exercises' AND column_name = 'exercise_name') THEN
+        INSERT INTO exercises (id, version, name, normalized_name)
+        SELECT flexfit_exercise_id('Unnamed exercise'), 0, 'Unnamed exercise', flexfit_normalize_exercise_name('Unnamed exercise')
+        WHERE EXISTS (SELECT 1 FROM scheduled_exercises
+                      WHERE exercise_name IS NOT NULL AND flexfit_normalize_exercise_name(exercise_name) IS NULL)
+        ON CONFLICT (id) DO NOTHING;
+
+        INSERT INTO exercises (id, version, name, normalized_name, description, applicable_sport_types,
+                               muscle_groups_primary, muscle_groups_secondary, equipment_needed, difficulty, video_url)
+        SELECT DISTINCT ON (flexfit_exercise_id(exercise_name))
+               flexfit_exercise_id(exercise_name), 0, exercise_name, flexfit_normalize_exercise_name(exercise_name),
+               description, applicable_sport_types, muscle_groups_primary, muscle_groups_secondary,
+               equipment_needed, difficulty, video_url
+        FROM scheduled_exercises
+        WHERE flexfit_exercise_id(exercise_name) IS NOT NULL
+          AND exercise_id IS DISTINCT FROM flexfit_exercise_id(exercise_name)
+        ORDER BY flexfit_exercise_id(exercise_name), id
+        ON CONFLICT (id) DO NOTHING;
+
+        UPDATE scheduled_exercises
+        SET exercise_id = COALESCE(flexfit_exercise_id(exercise_name), flexfit_exercise_id('Unnamed exercise'))
+        WHERE exercise_name IS NOT NULL
+          AND exercise_id IS DISTINCT FROM COALESCE(flexfit_exercise_id(exercise_name), flexfit_exercise_id('Unnamed exercise'));
+
+        -- New rows no longer write the inline columns
+        ALTER TABLE scheduled_exercises ALTER COLUMN exercise_name DROP NOT NULL;
+    END IF;
+END $$;;
+
+ALTER TABLE scheduled_exercises ALTER COLUMN exercise_id SET NOT NULL;;
+
+-- The inline attribute indexes are superseded by the catalog's.
+DROP INDEX IF EXISTS idx_scheduled_exercises_muscles_primary;;
+
+DROP INDEX IF EXISTS idx_scheduled_exercises_muscles_secondary;;
+
+DROP INDEX IF EXISTS idx_scheduled_exercises_equipment;;
+
+-- GIN indexes for containment lookups, e.g. muscle_groups_primary @> '["Chest"]'; join through
+-- scheduled_exercises.exercise_id (idx_scheduled_exercises_exercise) for the instances.
+CREATE INDEX IF NOT EXISTS idx_exercises_muscles_primary
+    ON exercises USING GIN (muscle_groups_primary jsonb_path_ops);;
+
+CREATE INDEX IF NOT EXISTS idx_exercises_muscles_secondary
+    ON exercises USING GIN (muscle_groups_secondary jsonb_path_ops);;
+
+CREATE INDEX IF NOT EXISTS idx_exercises_equipment
+    ON exercises USING GIN (equipment_needed jsonb_path_ops);;
+
+-- Collapse duplicate (user_id, day_date) workouts left by earlier regenerations before the
+-- unique index is created. The kept row is one with completion feedback if any, otherwise
+-- the most recently written one. Exercises of the dropped rows go with them.
+DO $$
+DECLARE
+    legacy_table text;
+BEGIN
+    IF to_regclass('uk_daily_workouts_user_day') IS NULL THEN
+        CREATE TEMP TABLE duplicate_daily_workouts ON COMMIT DROP AS
+        SELECT id FROM (
+            SELECT id, ROW_NUMBER() OVER (
+                PARTITION BY user_id, day_date
+                ORDER BY (completion_status <> 'PENDING') DESC, ctid DESC
+            ) AS rank
+            FROM daily_workouts
+        ) ranked
+        WHERE rank > 1;
+
+        FOREACH legacy_table IN ARRAY ARRAY['exercise_sport_types', 'exercise_primary_muscles',
+                                            'exercise_secondary_muscles', 'exercise_equipment'] LOOP
+            IF to_regclass(legacy_table) IS NOT NULL THEN
+                EXECUTE format('DELETE FROM %I WHERE exercise_id IN (
+                    SELECT e.id FROM scheduled_exercises e
+                    JOIN duplicate_daily_workouts d ON e.daily_workout_id = d.id)', legacy_table);
+            END IF;
+        END LOOP;
+
+        DELETE FROM scheduled_exercises WHERE daily_workout_id IN (SELECT id FROM duplicate_daily_workouts);
+        DELETE FROM daily_workouts WHERE id IN (SELECT id FROM duplicate_daily_workouts);
+    END IF;
+END $$;;
+
+-- Unique key behind the upsert semantics of WorkoutPersistenceService; also the index for
+-- (user_id, day_date) lookups and range scans. Hibernate's own unique-key DDL is disabled
+-- (schema_update.unique_constraint_strategy=SKIP) so this script controls the ordering.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_workouts_user_day
+    ON daily_workouts (user_id, day_date);;
+
+-- Optimistic-lock version used for ETags; rows written before the column existed start at 0.
+UPDATE daily_workouts SET version = 0 WHERE version IS NULL;;
+
+ALTER TABLE daily_workouts ALTER COLUMN version SET DEFAULT 0;;
+
+-- One pregeneration run per night; a second instance racing to start the same run fails here.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_pregeneration_runs_run_date
+    ON pregeneration_runs (run_date);;
+
+-- One training load summary per user and day, rewritten with the workout by TrainingLoadTracker.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_training_load_days_user_day
+    ON training_load_days (user_id, day_date);;
+
+-- Summarize recent workouts written before the table existed, so weekly prompts keep their
+-- history. Matches TrainingLoadTracker: names in sequence order, and per primary muscle group
+-- the number of exercises training it, in order of first appearance. Later workouts are
+-- summarized on write; the window matches flexfit.training-load.retention.
+INSERT INTO training_load_days (id, user_id, day_date, sport_type, completion_status,
+                                exercise_names, muscle_group_load)
+SELECT gen_random_uuid(), w.user_id, w.day_date, w.focus_sport_type_for_the_day, w.completion_status,
+       COALESCE((SELECT jsonb_agg(x.name ORDER BY e.sequence_order)
+                 FROM scheduled_exercises e JOIN exercises x ON x.id = e.exercise_id
+                 WHERE e.daily_workout_id = w.id), '[]'::jsonb),
+       COALESCE((SELECT jsonb_agg(jsonb_build_object('muscleGroup', m.muscle, 'exercises', m.exercises)
+                                  ORDER BY m.first_order)
+                 FROM (SELECT muscle, COUNT(DISTINCT e.id) AS exercises, MIN(e.sequence_order) AS first_order
+                       FROM scheduled_exercises e JOIN exercises x ON x.id = e.exercise_id
+                       CROSS JOIN LATERAL jsonb_array_elements_text(x.muscle_groups_primary) AS muscle
+                       WHERE e.daily_workout_id = w.id
+                       GROUP BY muscle) m), '[]'::jsonb)
+FROM daily_workouts w
+WHERE w.day_date >= current_date - 28
+ON CONFLICT (user_id, day_date) DO NOTHING;;
+
+-- Markdown side rows go with their workout. Not mapped as an association, so that loading
+-- a workout never touches the markdown; the key is the workout's own id.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_daily_workout_markdown_workout') THEN
+        DELETE FROM daily_workout_markdown m
+        WHERE NOT EXISTS (SELECT 1 FROM daily_workouts w WHERE w.id = m.daily_workout_id);
+        ALTER TABLE daily_workout_markdown
+            ADD CONSTRAINT fk_daily_workout_markdown_workout
+            FOREIGN KEY (daily_workout_id) REFERENCES daily_workouts (id) ON DELETE CASCADE;
+    END IF;
+END $$;;
+
+-- Change feed position; rows written before the column existed count as changed now, so the
+-- first poll after the upgrade returns them once.
+UPDATE daily_workouts SET updated_at = now() WHERE updated_at IS NULL;;
+
+ALTER TABLE daily_workouts ALTER COLUMN updated_at SET NOT NULL;;
+
+-- The legacy tables (exercise_sport_types, exercise_primary_muscles, exercise_secondary_muscles,
+-- exercise_equipment) and the inline scheduled_exercises columns (exercise_name, description,
+-- applicable_sport_types, muscle_groups_primary, muscle_groups_secondary, equipment_needed,
+-- difficulty, video_url) are no longer written. Drop them manually once the backfill is verified;
+-- the catalog only shrinks scheduled_exercises rows after the columns are gone. Likewise drop
+-- daily_workouts.markdown_content once MarkdownBackfillJob reports that it is empty.
@@ -0,0 +1,63 @@
+package com.flexfit.workoutplanservice;
+
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Builds unsaved workouts for persistence tests. Exercise names get a suffix unique to the
+ * instance, which keeps a test's catalog entries apart from other tests sharing the database.
+ */
+public final class TestWorkouts {
+
+    private final String namespace = UUID.randomUUID().toString();
+
+    /**
+     * Starts a new namespace. Clears the catalog cache first: another test context may have
+     * recreated the schema since its names were interned.
+     */
+    public static TestWorkouts inFreshNamespace(ExerciseCatalog exerciseCatalog) {
+        exerciseCatalog.invalidateAll();
+        return new TestWorkouts();
+    }
+
+    /** The names "prefix 1" to "prefix count", for days with many exercises. */
+    public static String[] numbered(String prefix, int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(order -> prefix + " " + order).toArray(String[]::new);
+    }
+
+    /** The catalog name {@link #workout} stores for the given exercise. */
+    public String exerciseName(String name) {
+        return name + " " + namespace;
+    }
+
+    /** A strength day with the given exercises in order. */
+    public DailyWorkout workout(UUID owner, LocalDate day, String... exerciseNames) {
+        return workout(owner, day, SportType.STRENGTH, exerciseNames);
+    }
+
+    public DailyWorkout workout(UUID owner, LocalDate day, SportType sport, String... exerciseNames) {
+        DailyWorkout workout = new DailyWorkout();
+        workout.setUserId(owner);
+        workout.setDayDate(day);
+        workout.setFocusSportTypeForTheDay(sport);
+        workout.setMarkdownContent("# " + sport);
+        List<ScheduledExercise> exercises = new ArrayList<>();
+        for (int i = 0; i < exerciseNames.length; i++) {
+            ScheduledExercise exercise = new ScheduledExercise();
+            exercise.setSequenceOrder(i + 1);
+            exercise.setExercise(Exercise.named(exerciseName(exerciseNames[i])));
+            exercises.add(exercise);
+        }
+        workout.setScheduledExercises(exercises);
+        return workout;
+    }
+}
@@ -0,0 +1,32 @@
+package com.flexfit.workoutplanservice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    private static final int PUBLIC_PORT = 8082;
+    private static final int INTERNAL_PORT = 8092;
+
+    private final RequestMatcher denied = SecurityConfig.internalEndpointsOutside(INTERNAL_PORT);
+
+    @Test
+    @DisplayName("Should refuse internal endpoints on the public port and allow them on the internal one")
+    void internalEndpoints_OnlyOnInternalPort() {
+        assertTrue(denied.matches(request("POST", "/internal/v1/pregeneration/runs", PUBLIC_PORT)));
+        assertTrue(denied.matches(request("DELETE", "/internal/v1/cache/genai-responses", PUBLIC_PORT)));
+
+        assertFalse(denied.matches(request("POST", "/internal/v1/pregeneration/runs", INTERNAL_PORT)));
+        assertFalse(denied.matches(request("GET", "/api/v1/plans/user/1/range", PUBLIC_PORT)));
+    }
+
+    private static MockHttpServletRequest request(String method, String path, int localPort) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
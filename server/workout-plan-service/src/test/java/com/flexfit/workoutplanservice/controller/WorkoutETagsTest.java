@@ -0,0 +1,33 @@
+package com.flexfit.workoutplanservice.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkoutETagsTest {
+
+    private static final UUID WORKOUT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Test
+    @DisplayName("Should build a quoted strong ETag from id and version")
+    void of_BuildsQuotedTag() {
+        assertEquals("\"550e8400-e29b-41d4-a716-446655440000-3\"", WorkoutETags.of(WORKOUT_ID, 3L));
+        assertEquals(WorkoutETags.of(WORKOUT_ID, 0L), WorkoutETags.of(WORKOUT_ID, null));
+        assertEquals("\"550e8400-e29b-41d4-a716-446655440000-3;summary\"", WorkoutETags.of(WORKOUT_ID, 3L, "summary"));
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, wildcards and weak forms of the current tag")
+    void matches_HonorsIfNoneMatchSyntax() {
+        String current = WorkoutETags.of(WORKOUT_ID, 3L);
+
+        assertTrue(WorkoutETags.matches(current, current));
+        assertTrue(WorkoutETags.matches("\"other\", " + current, current));
+        assertTrue(WorkoutETags.matches("W/" + current, current));
+        assertTrue(WorkoutETags.matches("*", current));
+        assertFalse(WorkoutETags.matches(WorkoutETags.of(WORKOUT_ID, 2L), current));
+    }
+}
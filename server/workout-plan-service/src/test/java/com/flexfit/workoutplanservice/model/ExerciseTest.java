@@ -0,0 +1,43 @@
+package com.flexfit.workoutplanservice.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExerciseTest {
+
+    @Test
+    @DisplayName("Should fold case, punctuation and compatibility forms into one entry")
+    void idFor_SameExerciseDifferentSpelling_SameId() {
+        assertEquals("push ups", Exercise.normalize("Push-ups"));
+        assertEquals(Exercise.idFor("Push-ups"), Exercise.idFor("PUSH  UPS!"));
+        // Fullwidth letters are NFKC-equivalent to their ASCII forms
+        assertEquals(Exercise.idFor("Plank"), Exercise.idFor("Ｐｌａｎｋ"));
+    }
+
+    @Test
+    @DisplayName("Should keep letters of every script so non-Latin names get their own entries")
+    void idFor_NonLatinNames_DistinctIds() {
+        assertEquals("приседания", Exercise.normalize("Приседания"));
+        assertEquals("俯卧撑 3", Exercise.normalize("俯卧撑 (3)"));
+        assertEquals("übungen", Exercise.normalize("Übungen"));
+
+        assertNotEquals(Exercise.idFor("Приседания"), Exercise.idFor("Выпады"));
+        assertNotEquals(Exercise.idFor("俯卧撑"), Exercise.idFor("深蹲"));
+        assertNotEquals(Exercise.idFor("Übungen"), Exercise.idFor("Ubungen"));
+    }
+
+    @Test
+    @DisplayName("Should reject names without letters or digits instead of sharing one empty entry")
+    void named_NoLettersOrDigits_Rejected() {
+        assertFalse(Exercise.isValidName("!!! -- ???"));
+        assertFalse(Exercise.isValidName("   "));
+        assertFalse(Exercise.isValidName(null));
+        assertTrue(Exercise.isValidName("深蹲"));
+
+        assertThrows(IllegalArgumentException.class, () -> Exercise.named("!!! -- ???"));
+        assertThrows(IllegalArgumentException.class, () -> Exercise.idFor(""));
+        assertThrows(IllegalArgumentException.class, () -> Exercise.named(null));
+    }
+}
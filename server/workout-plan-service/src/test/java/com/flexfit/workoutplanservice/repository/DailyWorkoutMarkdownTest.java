@@ -0,0 +1,137 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutMarkdownRow;
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+import com.flexfit.workoutplanservice.service.MarkdownBackfillJob;
+import com.flexfit.workoutplanservice.service.TrainingLoadTracker;
+import com.flexfit.workoutplanservice.service.WorkoutPersistenceService;
+import com.flexfit.workoutplanservice.service.WorkoutPlanMapper;
+import com.flexfit.workoutplanservice.service.WorkoutReadService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that workout markdown lives compressed in its side table: written with the
+ * workout, left out of range reads, served on its own, and moved out of the legacy column.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutPersistenceService.class, WorkoutReadService.class, WorkoutPlanMapper.class, ExerciseCatalog.class,
+    TrainingLoadTracker.class, MarkdownBackfillJob.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DailyWorkoutMarkdownTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final String MARKDOWN = "# Strength - Full Body\n\n" + "- 3 sets x 12 reps, rest 60 seconds\n".repeat(100);
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private WorkoutReadService workoutReadService;
+
+    @Autowired
+    private MarkdownBackfillJob backfillJob;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private DailyWorkoutMarkdownRepository markdownRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+    private final TestWorkouts workouts = new TestWorkouts();
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        markdownRepository.deleteAll();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should store markdown compressed and serve it only from the markdown read")
+    void save_StoresMarkdownInSideTable() {
+        // Given
+        DailyWorkout saved = persistenceService.saveDailyWorkout(workout(DAY, MARKDOWN));
+
+        // When
+        List<DailyWorkoutResponse> range = workoutReadService.getWorkoutsByUserAndDateRange(userId, DAY, DAY);
+        DailyWorkoutMarkdownRow markdown = workoutReadService.findWorkoutMarkdown(userId, DAY).orElseThrow();
+
+        // Then
+        assertNull(range.get(0).getMarkdownContent());
+        assertEquals(MARKDOWN, markdown.markdownContent());
+        assertEquals(saved.getId(), markdown.id());
+        Integer storedBytes = jdbcTemplate.queryForObject(
+            "select octet_length(content_gzip) from daily_workout_markdown where daily_workout_id = ?", Integer.class, saved.getId());
+        assertTrue(storedBytes < MARKDOWN.length() / 4, "Stored " + storedBytes + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should replace the markdown when a week is regenerated")
+    void saveWeeklyWorkouts_ReplacesMarkdown() {
+        // Given
+        persistenceService.saveWeeklyWorkouts(List.of(workout(DAY, "# First"), workout(DAY.plusDays(1), "# Rest")));
+
+        // When
+        persistenceService.saveWeeklyWorkouts(List.of(workout(DAY, "# Regenerated"), workout(DAY.plusDays(1), null)));
+
+        // Then
+        assertEquals("# Regenerated", workoutReadService.findWorkoutMarkdown(userId, DAY).orElseThrow().markdownContent());
+        assertTrue(workoutReadService.findWorkoutMarkdown(userId, DAY.plusDays(1)).isEmpty());
+        assertEquals(1, markdownRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should move legacy markdown into the side table without overwriting newer markdown")
+    void backfillPage_MovesLegacyColumn() {
+        // Given - a database from before the side table, with one workout regenerated since
+        DailyWorkout legacy = persistenceService.saveDailyWorkout(workout(DAY, null));
+        DailyWorkout regenerated = persistenceService.saveDailyWorkout(workout(DAY.plusDays(1), "# New"));
+        jdbcTemplate.execute("alter table daily_workouts add column markdown_content text");
+        try {
+            jdbcTemplate.update("update daily_workouts set markdown_content = ? where id = ?", MARKDOWN, legacy.getId());
+            jdbcTemplate.update("update daily_workouts set markdown_content = ? where id = ?", "# Old", regenerated.getId());
+
+            // When
+            int moved = backfillJob.backfillPage();
+
+            // Then
+            assertEquals(2, moved);
+            assertEquals(0, backfillJob.backfillPage());
+            assertEquals(MARKDOWN, persistenceService.loadMarkdown(legacy.getId()).orElseThrow());
+            assertEquals("# New", persistenceService.loadMarkdown(regenerated.getId()).orElseThrow());
+        } finally {
+            jdbcTemplate.execute("alter table daily_workouts drop column markdown_content");
+        }
+        assertEquals(0, backfillJob.backfillPage());
+    }
+
+    private DailyWorkout workout(LocalDate day, String markdown) {
+        DailyWorkout workout = workouts.workout(userId, day);
+        workout.setMarkdownContent(markdown);
+        return workout;
+    }
+}
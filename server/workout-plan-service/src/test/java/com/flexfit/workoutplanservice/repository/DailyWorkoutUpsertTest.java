@@ -0,0 +1,170 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.projection.DailyWorkoutVersion;
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+import com.flexfit.workoutplanservice.service.TrainingLoadTracker;
+import com.flexfit.workoutplanservice.service.WorkoutPersistenceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the one-workout-per-user-and-day rule: saving a regenerated day replaces the
+ * existing row (and moves its version, and so its ETag, forward) unless feedback was already
+ * recorded for it, and the unique key rejects a second row inserted behind the service's back.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutPersistenceService.class, ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DailyWorkoutUpsertTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+    }
+
+    @Test
+    @DisplayName("Should replace an existing day instead of inserting a duplicate")
+    void saveDailyWorkout_ExistingDay_ReplacesInPlace() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        DailyWorkout original = persistenceService.saveDailyWorkout(buildWorkout(userId, SportType.STRENGTH, 3));
+
+        // When
+        DailyWorkout regenerated = persistenceService.saveDailyWorkout(buildWorkout(userId, SportType.HIIT, 4));
+
+        // Then
+        assertEquals(original.getId(), regenerated.getId());
+        assertEquals(1, dailyWorkoutRepository.count());
+        DailyWorkout stored = dailyWorkoutRepository.findByUserIdAndDayDate(userId, DAY).orElseThrow();
+        assertEquals(SportType.HIIT, stored.getFocusSportTypeForTheDay());
+        assertEquals(CompletionStatus.PENDING, stored.getCompletionStatus());
+        assertEquals("# HIIT", persistenceService.loadMarkdown(stored.getId()).orElseThrow());
+        assertEquals(4, stored.getScheduledExercises().size());
+        assertEquals(List.of(1, 2, 3, 4), stored.getScheduledExercises().stream()
+            .map(ScheduledExercise::getSequenceOrder).toList());
+    }
+
+    @Test
+    @DisplayName("Should bump the version on regeneration even when only exercises change")
+    void saveDailyWorkout_ExercisesOnlyChange_IncrementsVersion() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        DailyWorkout original = persistenceService.saveDailyWorkout(buildWorkout(userId, SportType.STRENGTH, 3));
+        Long originalVersion = dailyWorkoutRepository.findVersionByUserIdAndDayDate(userId, DAY).orElseThrow().version();
+        DailyWorkout regeneration = buildWorkout(userId, SportType.STRENGTH, 3);
+        regeneration.getScheduledExercises().get(0).setExercise(Exercise.named(workouts.exerciseName("Goblet squat")));
+
+        // When
+        persistenceService.saveDailyWorkout(regeneration);
+
+        // Then
+        DailyWorkoutVersion current = dailyWorkoutRepository.findVersionByUserIdAndDayDate(userId, DAY).orElseThrow();
+        assertEquals(original.getId(), current.id());
+        assertTrue(current.version() > originalVersion,
+            "Version stayed at " + current.version() + " after regeneration");
+    }
+
+    @Test
+    @DisplayName("Should keep a day with recorded feedback when it is regenerated alone or as part of a week")
+    void saveWorkouts_RecordedFeedback_KeepsDay() {
+        // Given - one day completed with RPE, the next only has an exercise RPE recorded
+        UUID userId = UUID.randomUUID();
+        DailyWorkout completed = persistenceService.saveDailyWorkout(buildWorkout(userId, SportType.STRENGTH, 3));
+        completed.setCompletionStatus(CompletionStatus.COMPLETED);
+        completed.setRpeOverallFeedback(7);
+        completed.setCompletionNotes("Felt strong");
+        dailyWorkoutRepository.save(completed);
+        DailyWorkout started = buildWorkout(userId, SportType.STRENGTH, 2);
+        started.setDayDate(DAY.plusDays(1));
+        started = persistenceService.saveDailyWorkout(started);
+        started.getScheduledExercises().get(0).setRpeFeedback(6);
+        dailyWorkoutRepository.save(started);
+        Long completedVersion = dailyWorkoutRepository.findVersionByUserIdAndDayDate(userId, DAY).orElseThrow().version();
+
+        // When - the day is regenerated on its own, then with the rest of the week
+        DailyWorkout kept = persistenceService.saveDailyWorkout(buildWorkout(userId, SportType.HIIT, 4));
+        List<DailyWorkout> week = new ArrayList<>();
+        for (int day = 0; day < 3; day++) {
+            DailyWorkout workout = buildWorkout(userId, SportType.YOGA_MOBILITY, 1);
+            workout.setDayDate(DAY.plusDays(day));
+            week.add(workout);
+        }
+        List<DailyWorkout> savedWeek = persistenceService.saveWeeklyWorkouts(week);
+
+        // Then - both days with feedback are untouched, including their markdown
+        assertEquals(completed.getId(), kept.getId());
+        assertEquals("# STRENGTH", kept.getMarkdownContent());
+        assertEquals(List.of(completed.getId(), started.getId()), savedWeek.subList(0, 2).stream().map(DailyWorkout::getId).toList());
+        assertEquals(List.of("# STRENGTH", "# STRENGTH"), savedWeek.subList(0, 2).stream().map(DailyWorkout::getMarkdownContent).toList());
+        DailyWorkout storedCompleted = dailyWorkoutRepository.findByUserIdAndDayDate(userId, DAY).orElseThrow();
+        assertEquals(completedVersion, storedCompleted.getVersion());
+        assertEquals(SportType.STRENGTH, storedCompleted.getFocusSportTypeForTheDay());
+        assertEquals(CompletionStatus.COMPLETED, storedCompleted.getCompletionStatus());
+        assertEquals(7, storedCompleted.getRpeOverallFeedback());
+        assertEquals("Felt strong", storedCompleted.getCompletionNotes());
+        assertEquals(3, storedCompleted.getScheduledExercises().size());
+        assertEquals("# STRENGTH", persistenceService.loadMarkdown(storedCompleted.getId()).orElseThrow());
+        DailyWorkout storedStarted = dailyWorkoutRepository.findByUserIdAndDayDate(userId, DAY.plusDays(1)).orElseThrow();
+        assertEquals(2, storedStarted.getScheduledExercises().size());
+        assertEquals(6, storedStarted.getScheduledExercises().get(0).getRpeFeedback());
+
+        // The untouched third day is still generated as usual
+        DailyWorkout fresh = dailyWorkoutRepository.findByUserIdAndDayDate(userId, DAY.plusDays(2)).orElseThrow();
+        assertEquals(SportType.YOGA_MOBILITY, fresh.getFocusSportTypeForTheDay());
+        assertEquals("# YOGA_MOBILITY", persistenceService.loadMarkdown(fresh.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should reject a second workout for the same user and day at the database")
+    void save_DuplicateUserAndDay_ViolatesUniqueKey() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        dailyWorkoutRepository.save(buildWorkout(userId, SportType.STRENGTH, 0));
+
+        // When / Then
+        assertThrows(DataIntegrityViolationException.class,
+            () -> dailyWorkoutRepository.save(buildWorkout(userId, SportType.YOGA_MOBILITY, 0)));
+        assertEquals(1, dailyWorkoutRepository.count());
+    }
+
+    private DailyWorkout buildWorkout(UUID userId, SportType sportType, int exerciseCount) {
+        return workouts.workout(userId, DAY, sportType, TestWorkouts.numbered(sportType.name(), exerciseCount));
+    }
+}
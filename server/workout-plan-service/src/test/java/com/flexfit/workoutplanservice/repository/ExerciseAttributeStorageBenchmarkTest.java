@@ -0,0 +1,159 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+import com.flexfit.workoutplanservice.service.TrainingLoadTracker;
+import com.flexfit.workoutplanservice.service.WorkoutPersistenceService;
+import com.flexfit.workoutplanservice.service.WorkoutPlanMapper;
+import com.flexfit.workoutplanservice.service.WorkoutReadService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write and read cost of the per-exercise attribute lists (sport types, muscle groups,
+ * equipment). Timings are logged for before/after comparisons of the storage layout;
+ * the assertions pin the statement counts of the inline JSON layout, where an exercise
+ * is a single row and needs no collection-table inserts or selects. Only those counts are
+ * asserted, so the class runs in the default suite.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutPersistenceService.class, WorkoutReadService.class, WorkoutPlanMapper.class,
+    ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ExerciseAttributeStorageBenchmarkTest {
+
+    private static final int WEEKS = 10;
+    private static final int EXERCISES_PER_DAY = 6;
+    private static final int READS = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(ExerciseAttributeStorageBenchmarkTest.class);
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private WorkoutReadService workoutReadService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    private Statistics statistics;
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should write and read exercise attribute lists with few statements")
+    void attributeStorage_WriteAndRead() {
+        UUID userId = UUID.randomUUID();
+        LocalDate start = LocalDate.of(2025, 1, 6);
+
+        // Write: one weekly plan per iteration
+        for (int i = 0; i < 3; i++) {
+            persistenceService.saveWeeklyWorkouts(buildWeek(UUID.randomUUID(), start)); // warm up
+        }
+        statistics.clear();
+        long writeStart = System.nanoTime();
+        for (int week = 0; week < WEEKS; week++) {
+            persistenceService.saveWeeklyWorkouts(buildWeek(userId, start.plusWeeks(week)));
+        }
+        long writeMicros = (System.nanoTime() - writeStart) / WEEKS / 1_000;
+        long writeStatements = statistics.getPrepareStatementCount() / WEEKS;
+
+        // Read: a single day through the entity graph and the full history through projections
+        LocalDate end = start.plusWeeks(WEEKS);
+        dailyWorkoutRepository.findByUserIdAndDayDate(userId, start); // warm up
+        workoutReadService.getWorkoutsByUserAndDateRange(userId, start, end);
+
+        statistics.clear();
+        long readStart = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            dailyWorkoutRepository.findByUserIdAndDayDate(userId, start.plusDays(i % (7 * WEEKS)));
+        }
+        long entityReadMicros = (System.nanoTime() - readStart) / READS / 1_000;
+        long entityReadStatements = statistics.getPrepareStatementCount() / READS;
+
+        statistics.clear();
+        readStart = System.nanoTime();
+        int workoutCount = 0;
+        for (int i = 0; i < READS; i++) {
+            workoutCount = workoutReadService.getWorkoutsByUserAndDateRange(userId, start, end).size();
+        }
+        long rangeReadMicros = (System.nanoTime() - readStart) / READS / 1_000;
+        long rangeReadStatements = statistics.getPrepareStatementCount() / READS;
+
+        DailyWorkout day = dailyWorkoutRepository.findByUserIdAndDayDate(userId, start).orElseThrow();
+
+        logger.info("Attribute storage write: {} statements, {} us per weekly plan", writeStatements, writeMicros);
+        logger.info("Attribute storage read (1 day, entity): {} statements, {} us per read", entityReadStatements, entityReadMicros);
+        logger.info("Attribute storage read ({} days, projection): {} statements, {} us per read", workoutCount, rangeReadStatements, rangeReadMicros);
+
+        // One lookup of existing days, one batched INSERT per table and the training load prune
+        // (these dates are past the retention window, so no summaries are written)
+        assertTrue(writeStatements <= 4, "Weekly plan used " + writeStatements + " statements");
+        assertTrue(entityReadStatements <= 2, "Single-day read used " + entityReadStatements + " statements");
+        assertTrue(rangeReadStatements <= 2, "Range read used " + rangeReadStatements + " statements");
+        assertEquals(EXERCISES_PER_DAY, day.getScheduledExercises().size());
+        assertEquals(List.of("Chest", "Triceps"), day.getScheduledExercises().get(0).getExercise().getMuscleGroupsPrimary());
+        assertEquals(List.of(EquipmentItem.DUMBBELLS_PAIR_LIGHT, EquipmentItem.BENCH_FLAT),
+            day.getScheduledExercises().get(0).getExercise().getEquipmentNeeded());
+        assertEquals(7 * WEEKS, workoutCount);
+    }
+
+    private List<DailyWorkout> buildWeek(UUID userId, LocalDate startDate) {
+        List<DailyWorkout> week = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            DailyWorkout workout = workouts.workout(userId, startDate.plusDays(day), TestWorkouts.numbered("Exercise", EXERCISES_PER_DAY));
+            // Measures workout and exercise rows only
+            workout.setMarkdownContent(null);
+            for (ScheduledExercise exercise : workout.getScheduledExercises()) {
+                Exercise catalogEntry = exercise.getExercise();
+                catalogEntry.setApplicableSportTypes(List.of(SportType.STRENGTH, SportType.HIIT));
+                catalogEntry.setMuscleGroupsPrimary(List.of("Chest", "Triceps"));
+                catalogEntry.setMuscleGroupsSecondary(List.of("Shoulders", "Core"));
+                catalogEntry.setEquipmentNeeded(List.of(EquipmentItem.DUMBBELLS_PAIR_LIGHT, EquipmentItem.BENCH_FLAT));
+            }
+            week.add(workout);
+        }
+        return week;
+    }
+}
@@ -0,0 +1,136 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.MuscleGroupLoad;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.TrainingLoadDay;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+import com.flexfit.workoutplanservice.service.TrainingLoadTracker;
+import com.flexfit.workoutplanservice.service.WorkoutPersistenceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the per-day training load summaries follow the workouts they describe and
+ * only cover the retention window.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutPersistenceService.class, ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrainingLoadSummaryTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private TrainingLoadDayRepository trainingLoadDayRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    private UUID userId;
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        trainingLoadDayRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should summarize saved workouts with exercise names and per-muscle-group counts")
+    void saveWeeklyWorkouts_WritesSummaries() {
+        // When
+        persistenceService.saveWeeklyWorkouts(List.of(
+            workout(TODAY.minusDays(2), SportType.STRENGTH, "Push-ups", "Bench Press"),
+            workout(TODAY.minusDays(1), SportType.REST)));
+
+        // Then
+        List<TrainingLoadDay> summaries = persistenceService.loadTrainingLoad(userId, TODAY.minusDays(7), TODAY);
+        assertEquals(2, summaries.size());
+        TrainingLoadDay strength = summaries.get(0);
+        assertEquals(SportType.STRENGTH, strength.getSportType());
+        assertEquals(List.of(workouts.exerciseName("Push-ups"), workouts.exerciseName("Bench Press")), strength.getExerciseNames());
+        assertEquals(List.of(new MuscleGroupLoad("Chest", 2), new MuscleGroupLoad("Triceps", 1)),
+            strength.getMuscleGroupLoad());
+        assertEquals(SportType.REST, summaries.get(1).getSportType());
+        assertTrue(summaries.get(1).getExerciseNames().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rewrite a day's summary in place when the workout is regenerated")
+    void saveDailyWorkout_RewritesSummary() {
+        // Given
+        persistenceService.saveDailyWorkout(workout(TODAY, SportType.STRENGTH, "Push-ups", "Bench Press"));
+        UUID summaryId = trainingLoadDayRepository.findAll().get(0).getId();
+
+        // When
+        persistenceService.saveDailyWorkout(workout(TODAY, SportType.HIIT, "Burpees"));
+
+        // Then
+        List<TrainingLoadDay> summaries = trainingLoadDayRepository.findAll();
+        assertEquals(1, summaries.size());
+        assertEquals(summaryId, summaries.get(0).getId());
+        assertEquals(SportType.HIIT, summaries.get(0).getSportType());
+        assertEquals(List.of(workouts.exerciseName("Burpees")), summaries.get(0).getExerciseNames());
+    }
+
+    @Test
+    @DisplayName("Should drop summaries that left the retention window and not write new ones for them")
+    void save_PrunesExpiredSummaries() {
+        // Given - retention is 28 days
+        TrainingLoadDay expired = new TrainingLoadDay();
+        expired.setUserId(userId);
+        expired.setDayDate(TODAY.minusDays(40));
+        expired.setSportType(SportType.STRENGTH);
+        expired.setCompletionStatus(CompletionStatus.COMPLETED);
+        expired.setExerciseNames(List.of());
+        expired.setMuscleGroupLoad(List.of());
+        trainingLoadDayRepository.save(expired);
+
+        // When
+        persistenceService.saveWeeklyWorkouts(List.of(
+            workout(TODAY.minusDays(30), SportType.STRENGTH, "Push-ups"),
+            workout(TODAY, SportType.STRENGTH, "Push-ups")));
+
+        // Then
+        List<TrainingLoadDay> summaries = trainingLoadDayRepository.findAll();
+        assertEquals(List.of(TODAY), summaries.stream().map(TrainingLoadDay::getDayDate).toList());
+    }
+
+    private DailyWorkout workout(LocalDate day, SportType sport, String... exerciseNames) {
+        DailyWorkout workout = workouts.workout(userId, day, sport, exerciseNames);
+        // Every exercise trains the chest; only the first one the triceps as well
+        List<ScheduledExercise> exercises = workout.getScheduledExercises();
+        for (int i = 0; i < exercises.size(); i++) {
+            exercises.get(i).getExercise()
+                .setMuscleGroupsPrimary(i == 0 ? List.of("Chest", "Triceps", "Chest") : List.of("Chest"));
+        }
+        return workout;
+    }
+}
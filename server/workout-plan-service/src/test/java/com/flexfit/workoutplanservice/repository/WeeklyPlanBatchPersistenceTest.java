@@ -0,0 +1,149 @@
+package com.flexfit.workoutplanservice.repository;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.service.ExerciseCatalog;
+import com.flexfit.workoutplanservice.service.TrainingLoadTracker;
+import com.flexfit.workoutplanservice.service.WorkoutPersistenceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the statement budget of the weekly write path: a 7-day plan, new or regenerated
+ * over existing days, must be flushed as a few batched statements, not one per row.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutPersistenceService.class, ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WeeklyPlanBatchPersistenceTest {
+
+    private static final int EXERCISES_PER_DAY = 6;
+
+    // Unbatched, this plan needs 7 + 42 + 6 + 7 = 62 INSERTs; batched it is one per table
+    private static final long STATEMENT_BUDGET = 12;
+
+    // A namespace per test, so every test starts with its catalog entries missing
+    private TestWorkouts workouts;
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should persist a weekly plan within a fixed statement budget")
+    void saveWeeklyWorkouts_StaysWithinStatementBudget() {
+        // Given
+        List<DailyWorkout> week = buildWeek(UUID.randomUUID(), LocalDate.of(2025, 1, 20));
+
+        // When
+        List<DailyWorkout> saved = persistenceService.saveWeeklyWorkouts(week);
+
+        // Then
+        assertEquals(7, saved.size());
+        // Each distinct exercise is inserted into the catalog once, however many days use it;
+        // every day also gets its markdown row
+        assertEquals(7 + 7L * EXERCISES_PER_DAY + EXERCISES_PER_DAY + 7, statistics.getEntityInsertCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= STATEMENT_BUDGET,
+            "Weekly plan used " + statements + " statements, budget is " + STATEMENT_BUDGET);
+    }
+
+    @Test
+    @DisplayName("Should regenerate a weekly plan in place, reusing exercise rows, within the statement budget")
+    void saveWeeklyWorkouts_RegenerationReplacesInPlace() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDate start = LocalDate.of(2025, 1, 20);
+        List<DailyWorkout> original = persistenceService.saveWeeklyWorkouts(buildWeek(userId, start));
+        UUID firstExerciseId = original.get(0).getScheduledExercises().get(0).getId();
+        statistics.clear();
+
+        // When - the new plan has one exercise fewer per day
+        List<DailyWorkout> regenerated = persistenceService.saveWeeklyWorkouts(
+            buildWeek(userId, start, EXERCISES_PER_DAY - 1, "Regenerated"));
+
+        // Then
+        // Only the new catalog entries, the replacement markdown rows and a tombstone per
+        // removed exercise are inserted
+        assertEquals(EXERCISES_PER_DAY - 1 + 7 + 7, statistics.getEntityInsertCount());
+        assertEquals(7, statistics.getEntityDeleteCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= STATEMENT_BUDGET,
+            "Weekly regeneration used " + statements + " statements, budget is " + STATEMENT_BUDGET);
+
+        List<DailyWorkout> stored = dailyWorkoutRepository.findByUserIdAndDayDateBetween(userId, start, start.plusDays(6));
+        assertEquals(7, stored.size());
+        assertEquals(original.get(0).getId(), regenerated.get(0).getId());
+        DailyWorkout firstDay = dailyWorkoutRepository.findByUserIdAndDayDate(userId, start).orElseThrow();
+        assertEquals(EXERCISES_PER_DAY - 1, firstDay.getScheduledExercises().size());
+        assertEquals(firstExerciseId, firstDay.getScheduledExercises().get(0).getId());
+        assertEquals(workouts.exerciseName("Regenerated 1"), firstDay.getScheduledExercises().get(0).getExercise().getName());
+    }
+
+    private List<DailyWorkout> buildWeek(UUID userId, LocalDate startDate) {
+        return buildWeek(userId, startDate, EXERCISES_PER_DAY, "Exercise");
+    }
+
+    private List<DailyWorkout> buildWeek(UUID userId, LocalDate startDate, int exercisesPerDay, String namePrefix) {
+        List<DailyWorkout> week = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            DailyWorkout workout = workouts.workout(userId, startDate.plusDays(day), TestWorkouts.numbered(namePrefix, exercisesPerDay));
+            workout.setMarkdownContent("# Day " + day);
+            for (ScheduledExercise exercise : workout.getScheduledExercises()) {
+                Exercise catalogEntry = exercise.getExercise();
+                catalogEntry.setDescription("Description " + exercise.getSequenceOrder());
+                catalogEntry.setApplicableSportTypes(List.of(SportType.STRENGTH, SportType.HIIT));
+                catalogEntry.setMuscleGroupsPrimary(List.of("Chest", "Triceps"));
+                catalogEntry.setMuscleGroupsSecondary(List.of("Shoulders", "Core"));
+                catalogEntry.setEquipmentNeeded(List.of(EquipmentItem.NO_EQUIPMENT));
+                catalogEntry.setDifficulty("Beginner");
+                exercise.setPrescribedSetsRepsDuration("3 sets x 12 reps");
+            }
+            week.add(workout);
+        }
+        return week;
+    }
+}
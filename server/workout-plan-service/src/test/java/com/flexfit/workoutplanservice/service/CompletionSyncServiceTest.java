@@ -0,0 +1,159 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.dto.CompletionSyncResponse;
+import com.flexfit.workoutplanservice.dto.ExerciseCompletionUpdate;
+import com.flexfit.workoutplanservice.dto.WorkoutCompletionUpdate;
+import com.flexfit.workoutplanservice.dto.WorkoutSyncResult;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.TrainingLoadDay;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.TrainingLoadDayRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that completion sync applies a batch across workouts and exercises, keeps the
+ * training load summaries in step, and rejects stale or unknown items without failing the rest.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CompletionSyncService.class, WorkoutPersistenceService.class, ExerciseCatalog.class,
+    TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CompletionSyncServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private CompletionSyncService completionSyncService;
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private TrainingLoadDayRepository trainingLoadDayRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    private UUID userId;
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        trainingLoadDayRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should apply completion and RPE to workouts and exercises and bump their versions")
+    void sync_AppliesBatch() {
+        // Given
+        List<DailyWorkout> week = persistenceService.saveWeeklyWorkouts(List.of(
+            workout(TODAY.minusDays(1), "Push-ups", "Squats"),
+            workout(TODAY, "Lunges")));
+        DailyWorkout yesterday = week.get(0);
+        DailyWorkout today = week.get(1);
+        UUID squats = yesterday.getScheduledExercises().get(1).getId();
+
+        // When
+        CompletionSyncResponse response = completionSyncService.sync(userId, List.of(
+            new WorkoutCompletionUpdate(yesterday.getId(), yesterday.getVersion(), CompletionStatus.COMPLETED, 8, "Heavy legs",
+                List.of(new ExerciseCompletionUpdate(squats, CompletionStatus.COMPLETED, 9))),
+            new WorkoutCompletionUpdate(today.getId(), today.getVersion(), CompletionStatus.SKIPPED, null, null, null)));
+
+        // Then
+        assertEquals(2, response.getApplied());
+        assertEquals(0, response.getRejected());
+        assertEquals(yesterday.getVersion() + 1, response.getResults().get(0).getVersion());
+
+        DailyWorkout stored = dailyWorkoutRepository.findById(yesterday.getId()).orElseThrow();
+        assertEquals(yesterday.getVersion() + 1, stored.getVersion());
+        assertEquals(CompletionStatus.COMPLETED, stored.getCompletionStatus());
+        assertEquals(8, stored.getRpeOverallFeedback());
+        assertEquals("Heavy legs", stored.getCompletionNotes());
+        ScheduledExercise storedSquats = stored.getScheduledExercises().get(1);
+        assertEquals(CompletionStatus.COMPLETED, storedSquats.getCompletionStatus());
+        assertEquals(9, storedSquats.getRpeFeedback());
+        // Exercises not in the update are left alone
+        assertEquals(CompletionStatus.PENDING, stored.getScheduledExercises().get(0).getCompletionStatus());
+
+        assertEquals(List.of(CompletionStatus.COMPLETED, CompletionStatus.SKIPPED),
+            persistenceService.loadTrainingLoad(userId, TODAY.minusDays(1), TODAY).stream()
+                .map(TrainingLoadDay::getCompletionStatus).toList());
+    }
+
+    @Test
+    @DisplayName("Should report stale, unknown and foreign items per workout and still apply the rest")
+    void sync_ReportsConflictsPerItem() {
+        // Given
+        List<DailyWorkout> week = persistenceService.saveWeeklyWorkouts(List.of(
+            workout(TODAY.minusDays(2), "Push-ups"),
+            workout(TODAY.minusDays(1), "Squats"),
+            workout(TODAY, "Lunges")));
+        DailyWorkout stale = week.get(0);
+        DailyWorkout fresh = week.get(1);
+        DailyWorkout other = week.get(2);
+        UUID foreignExercise = stale.getScheduledExercises().get(0).getId();
+
+        // When
+        CompletionSyncResponse response = completionSyncService.sync(userId, List.of(
+            new WorkoutCompletionUpdate(stale.getId(), stale.getVersion() - 1, CompletionStatus.COMPLETED, 6, null, null),
+            new WorkoutCompletionUpdate(fresh.getId(), fresh.getVersion(), CompletionStatus.COMPLETED, 7, null, null),
+            new WorkoutCompletionUpdate(UUID.randomUUID(), 0L, CompletionStatus.COMPLETED, null, null, null),
+            new WorkoutCompletionUpdate(other.getId(), other.getVersion(), CompletionStatus.COMPLETED, null, null,
+                List.of(new ExerciseCompletionUpdate(foreignExercise, CompletionStatus.COMPLETED, 5))),
+            // The second update of the same workout in one batch sees the first one's version bump
+            new WorkoutCompletionUpdate(fresh.getId(), fresh.getVersion(), CompletionStatus.SKIPPED, null, null, null)));
+
+        // Then
+        assertEquals(1, response.getApplied());
+        assertEquals(4, response.getRejected());
+        List<WorkoutSyncResult> results = response.getResults();
+        assertEquals(WorkoutSyncResult.Status.CONFLICT, results.get(0).getStatus());
+        assertEquals(stale.getVersion(), results.get(0).getVersion());
+        assertEquals(WorkoutSyncResult.Status.APPLIED, results.get(1).getStatus());
+        assertEquals(WorkoutSyncResult.Status.NOT_FOUND, results.get(2).getStatus());
+        assertEquals(WorkoutSyncResult.Status.NOT_FOUND, results.get(3).getStatus());
+        assertEquals(WorkoutSyncResult.Status.CONFLICT, results.get(4).getStatus());
+
+        assertEquals(CompletionStatus.PENDING, dailyWorkoutRepository.findById(stale.getId()).orElseThrow().getCompletionStatus());
+        assertEquals(CompletionStatus.COMPLETED, dailyWorkoutRepository.findById(fresh.getId()).orElseThrow().getCompletionStatus());
+        DailyWorkout untouched = dailyWorkoutRepository.findById(other.getId()).orElseThrow();
+        assertEquals(other.getVersion(), untouched.getVersion());
+        assertEquals(CompletionStatus.PENDING, untouched.getCompletionStatus());
+        assertEquals(CompletionStatus.PENDING,
+            dailyWorkoutRepository.findById(stale.getId()).orElseThrow().getScheduledExercises().get(0).getCompletionStatus());
+
+        // Another user cannot update the workout either
+        CompletionSyncResponse foreign = completionSyncService.sync(UUID.randomUUID(), List.of(
+            new WorkoutCompletionUpdate(other.getId(), other.getVersion(), CompletionStatus.COMPLETED, null, null, null)));
+        assertEquals(WorkoutSyncResult.Status.NOT_FOUND, foreign.getResults().get(0).getStatus());
+    }
+
+    private DailyWorkout workout(LocalDate day, String... exerciseNames) {
+        return workouts.workout(userId, day, exerciseNames);
+    }
+}
@@ -0,0 +1,127 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.config.GenAIAdmissionProperties;
+import com.flexfit.workoutplanservice.exception.GenAIRejectedException;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIAdmissionControllerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIAdmissionController admissionController;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        GenAIAdmissionProperties properties = new GenAIAdmissionProperties();
+        properties.setLocal(new GenAIAdmissionProperties.Worker(1, 2));
+        properties.getQueueTimeout().setInteractive(Duration.ofSeconds(5));
+        properties.getQueueTimeout().setWeekly(Duration.ofMillis(100));
+        properties.getQueueTimeout().setBatch(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        admissionController = new GenAIAdmissionController(properties, meterRegistry);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should admit queued interactive calls ahead of earlier batch calls")
+    void admit_QueuedByPriority() throws Exception {
+        // Given - the only slot is taken and a batch call is already waiting
+        List<GenAIPriority> admissionOrder = new CopyOnWriteArrayList<>();
+        GenAIAdmissionController.Permit held = admissionController.admit("local", GenAIPriority.INTERACTIVE);
+        Future<?> batch = executor.submit(() -> admitAndRecord(GenAIPriority.BATCH, admissionOrder));
+        awaitQueueDepth(1);
+        Future<?> interactive = executor.submit(() -> admitAndRecord(GenAIPriority.INTERACTIVE, admissionOrder));
+        awaitQueueDepth(2);
+
+        // When
+        held.close();
+        batch.get(5, TimeUnit.SECONDS);
+        interactive.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(List.of(GenAIPriority.INTERACTIVE, GenAIPriority.BATCH), admissionOrder);
+        assertEquals(0, admissionController.queueDepth("local"));
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 and Retry-After when the queue is full, displacing lower priorities first")
+    void admit_QueueFull_ShedsThenRejects() throws Exception {
+        // Given - one call running and the queue full of batch calls
+        GenAIAdmissionController.Permit held = admissionController.admit("local", GenAIPriority.INTERACTIVE);
+        Future<?> firstBatch = executor.submit(() -> admissionController.admit("local", GenAIPriority.BATCH).close());
+        awaitQueueDepth(1);
+        Future<?> secondBatch = executor.submit(() -> admissionController.admit("local", GenAIPriority.BATCH).close());
+        awaitQueueDepth(2);
+
+        // When - an interactive call takes the newest batch call's place; another batch call is turned away
+        Future<?> interactive = executor.submit(() -> admissionController.admit("local", GenAIPriority.INTERACTIVE).close());
+        ExecutionException shed = assertThrows(ExecutionException.class, () -> secondBatch.get(5, TimeUnit.SECONDS));
+        GenAIRejectedException rejected = assertThrows(GenAIRejectedException.class,
+            () -> admissionController.admit("local", GenAIPriority.BATCH));
+
+        // Then
+        assertInstanceOf(GenAIRejectedException.class, shed.getCause());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+        assertTrue(rejected.getRetryAfter().compareTo(Duration.ofSeconds(1)) >= 0);
+        assertEquals(1.0, meterRegistry.get("genai_admission_rejections_total").tag("reason", "shed").counter().count());
+        assertEquals(1.0, meterRegistry.get("genai_admission_rejections_total").tag("reason", "queue_full").counter().count());
+
+        held.close();
+        interactive.get(5, TimeUnit.SECONDS);
+        firstBatch.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should give up once a call has waited longer than its priority's queue timeout")
+    void admit_QueueTimeout_Rejects() {
+        // Given
+        GenAIAdmissionController.Permit held = admissionController.admit("local", GenAIPriority.INTERACTIVE);
+
+        // When
+        GenAIRejectedException rejected = assertThrows(GenAIRejectedException.class,
+            () -> admissionController.admit("local", GenAIPriority.WEEKLY));
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+        assertEquals(0, admissionController.queueDepth("local"));
+        assertEquals(1.0, meterRegistry.get("genai_admission_rejections_total").tag("reason", "deadline").counter().count());
+        held.close();
+        admissionController.admit("local", GenAIPriority.WEEKLY).close();
+    }
+
+    private void admitAndRecord(GenAIPriority priority, List<GenAIPriority> admissionOrder) {
+        try (GenAIAdmissionController.Permit permit = admissionController.admit("local", priority)) {
+            admissionOrder.add(priority);
+        }
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admissionController.queueDepth("local") < depth) {
+            assertTrue(System.nanoTime() < deadline, "Queue never reached depth " + depth);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.gains.GenAIDailyWorkout;
+import com.flexfit.workoutplanservice.dto.gains.GenAIResponse;
+import com.flexfit.workoutplanservice.dto.gains.PromptContext;
+import com.flexfit.workoutplanservice.dto.gains.WeeklyPromptContext;
+import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIResponseCacheTest {
+
+    private final PromptFingerprinter fingerprinter = new PromptFingerprinter();
+
+    @Test
+    @DisplayName("Should produce the same fingerprint regardless of map and list ordering")
+    void fingerprint_IgnoresOrdering() {
+        // Given
+        PromptContext first = new PromptContext(
+            orderedMap("age", 31, "gender", "M", "height_cm", 180, "weight_kg", 75.0),
+            preferences(List.of("DUMBBELLS_PAIR_LIGHT", "YOGA_MAT")),
+            orderedMap("day_date", "2025-01-20", "focus_sport_type_for_the_day", "STRENGTH", "target_total_duration_minutes", 45)
+        );
+        PromptContext second = new PromptContext(
+            orderedMap("weight_kg", 75.0, "height_cm", 180, "gender", "M", "age", 31),
+            preferences(List.of("YOGA_MAT", "DUMBBELLS_PAIR_LIGHT")),
+            orderedMap("target_total_duration_minutes", 45, "focus_sport_type_for_the_day", "STRENGTH", "day_date", "2025-01-20")
+        );
+
+        // When & Then
+        assertEquals(fingerprinter.fingerprint("daily", "cloud", first), fingerprinter.fingerprint("daily", "cloud", second));
+    }
+
+    @Test
+    @DisplayName("Should bucket ages and ignore the daily date but not the sport focus or worker")
+    void fingerprint_NormalizesVolatileFields() {
+        // Given
+        PromptContext base = dailyContext(31, "2025-01-20", "STRENGTH");
+
+        // When & Then
+        String fingerprint = fingerprinter.fingerprint("daily", "cloud", base);
+        assertEquals(fingerprint, fingerprinter.fingerprint("daily", "cloud", dailyContext(33, "2025-01-21", "STRENGTH")));
+        assertNotEquals(fingerprint, fingerprinter.fingerprint("daily", "cloud", dailyContext(36, "2025-01-20", "STRENGTH")));
+        assertNotEquals(fingerprint, fingerprinter.fingerprint("daily", "cloud", dailyContext(31, "2025-01-20", "HIIT")));
+        assertNotEquals(fingerprint, fingerprinter.fingerprint("daily", "local", base));
+    }
+
+    @Test
+    @DisplayName("Should key weekly prompts by their start date, since the cached days carry absolute dates")
+    void fingerprint_WeeklyStartDate() {
+        // Given - a user without training history, so only the start date changes from day to day
+        WeeklyPromptContext thisWeek = new WeeklyPromptContext(orderedMap("age", 31), preferences(List.of("YOGA_MAT")),
+            "Balanced week", List.of(), "2025-01-20");
+        WeeklyPromptContext nextDay = new WeeklyPromptContext(orderedMap("age", 31), preferences(List.of("YOGA_MAT")),
+            "Balanced week", List.of(), "2025-01-21");
+
+        // When & Then
+        assertNotEquals(fingerprinter.fingerprint("weekly", "cloud", thisWeek), fingerprinter.fingerprint("weekly", "cloud", nextDay));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated prompts from memory and honor the bypass flag")
+    void get_CachesAndBypasses() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GenAIResponseCache cache = new GenAIResponseCache(fingerprinter, meterRegistry, 100,
+            Duration.ofHours(1), false, null, Duration.ofDays(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        GenAIResponse first = cache.get("daily", "cloud", dailyContext(31, "2025-01-20", "STRENGTH"), false,
+            GenAIResponse.class, () -> response(calls.incrementAndGet()));
+        GenAIResponse second = cache.get("daily", "cloud", dailyContext(31, "2025-01-21", "STRENGTH"), false,
+            GenAIResponse.class, () -> response(calls.incrementAndGet()));
+        GenAIResponse bypassed = cache.get("daily", "cloud", dailyContext(31, "2025-01-20", "STRENGTH"), true,
+            GenAIResponse.class, () -> response(calls.incrementAndGet()));
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, bypassed);
+        assertEquals(2, calls.get());
+        assertEquals(0.5, meterRegistry.get("genai_response_cache_hit_ratio").gauge().value());
+        assertEquals(1L, meterRegistry.get("genai_response_cache_saved_latency_seconds").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed worker calls")
+    void get_NullResponse_NotCached() {
+        // Given
+        GenAIResponseCache cache = new GenAIResponseCache(fingerprinter, new SimpleMeterRegistry(), 100,
+            Duration.ofHours(1), false, null, Duration.ofDays(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        cache.get("daily", "cloud", dailyContext(31, "2025-01-20", "STRENGTH"), false, GenAIResponse.class,
+            () -> { calls.incrementAndGet(); return null; });
+        cache.get("daily", "cloud", dailyContext(31, "2025-01-20", "STRENGTH"), false, GenAIResponse.class,
+            () -> { calls.incrementAndGet(); return null; });
+
+        // Then
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should read entries back from the disk tier after the memory tier is lost")
+    void get_DiskTier_SurvivesNewInstance(@TempDir Path directory) {
+        // Given
+        GenAIResponseCache writer = new GenAIResponseCache(fingerprinter, new SimpleMeterRegistry(), 100,
+            Duration.ofHours(1), true, directory, Duration.ofDays(1));
+        writer.get("daily", "cloud", dailyContext(31, "2025-01-20", "STRENGTH"), false, GenAIResponse.class,
+            () -> response(1));
+        GenAIResponseCache reader = new GenAIResponseCache(fingerprinter, new SimpleMeterRegistry(), 100,
+            Duration.ofHours(1), true, directory, Duration.ofDays(1));
+
+        // When
+        GenAIResponse cached = reader.get("daily", "cloud", dailyContext(31, "2025-01-20", "STRENGTH"), false,
+            GenAIResponse.class, () -> fail("Expected a disk hit"));
+
+        // Then
+        assertEquals("Plan 1", cached.daily_workout().markdown_content());
+    }
+
+    private PromptContext dailyContext(int age, String date, String sportType) {
+        return new PromptContext(
+            Map.of("age", age, "gender", "M", "height_cm", 180, "weight_kg", 75.0),
+            preferences(List.of("NO_EQUIPMENT")),
+            Map.of("day_date", date, "focus_sport_type_for_the_day", sportType, "target_total_duration_minutes", 45)
+        );
+    }
+
+    private UserPreferencesResponse preferences(List<String> equipment) {
+        return new UserPreferencesResponse("INTERMEDIATE", List.of("BUILD_MUSCLE"), List.of("STRENGTH"),
+            equipment, "30-45", "MODERATE", null, List.of());
+    }
+
+    private GenAIResponse response(int index) {
+        return new GenAIResponse(new GenAIDailyWorkout("2025-01-20", "STRENGTH", List.of(), "Plan " + index));
+    }
+
+    private Map<String, Object> orderedMap(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,146 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.config.GenAIAdmissionProperties;
+import com.flexfit.workoutplanservice.config.GenAIRoutingProperties;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class GenAIWorkerRouterTest {
+
+    private final RestTemplate cloud = mock(RestTemplate.class);
+    private final RestTemplate local = mock(RestTemplate.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private GenAIWorkerRouter router;
+
+    @BeforeEach
+    void setUp() {
+        GenAIRoutingProperties properties = new GenAIRoutingProperties();
+        properties.getHedging().setInitialDelay(Duration.ofMillis(50));
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        router = new GenAIWorkerRouter(cloud, local, properties,
+            new GenAIAdmissionController(new GenAIAdmissionProperties(), meterRegistry), meterRegistry, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the preferred worker answers within the hedge delay")
+    void hedged_FastPrimary_NoHedge() {
+        // Given
+        AtomicInteger localCalls = new AtomicInteger();
+
+        // When
+        String result = router.hedged("daily", "cloud", GenAIPriority.INTERACTIVE, template -> {
+            if (template == local) {
+                localCalls.incrementAndGet();
+            }
+            return template == cloud ? "cloud" : "local";
+        });
+
+        // Then
+        assertEquals("cloud", result);
+        assertEquals(0, localCalls.get());
+        assertNull(meterRegistry.find("genai_hedged_requests_total").counter());
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow call on the other worker, take the first answer and cancel the loser")
+    void hedged_SlowPrimary_HedgeWins() throws InterruptedException {
+        // Given
+        CountDownLatch loserInterrupted = new CountDownLatch(1);
+
+        // When
+        String result = router.hedged("daily", "cloud", GenAIPriority.INTERACTIVE, template -> {
+            if (template == local) {
+                return "local";
+            }
+            try {
+                Thread.sleep(5_000);
+                return "cloud";
+            } catch (InterruptedException e) {
+                loserInterrupted.countDown();
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("cancelled");
+            }
+        });
+
+        // Then
+        assertEquals("local", result);
+        assertTrue(loserInterrupted.await(1, TimeUnit.SECONDS), "The slower call should be cancelled");
+        assertEquals(1.0, meterRegistry.get("genai_hedged_requests_total").tag("primary", "cloud").counter().count());
+        assertEquals(1.0, meterRegistry.get("genai_hedge_wins_total").tag("winner", "hedge").counter().count());
+        assertEquals(WorkerCircuitBreaker.State.CLOSED, router.circuitState(GenAIWorkerRouter.Worker.CLOUD),
+            "A cancelled call says nothing about the worker's health");
+    }
+
+    @Test
+    @DisplayName("Should fail over to the other worker when the preferred one errors")
+    void hedged_PrimaryError_FailsOver() {
+        // When
+        String result = router.hedged("daily", "local", GenAIPriority.INTERACTIVE, template -> {
+            if (template == local) {
+                throw new ResourceAccessException("connection refused");
+            }
+            return "cloud";
+        });
+
+        // Then
+        assertEquals("cloud", result);
+        assertEquals(1.0, meterRegistry.get("genai_worker_failovers_total")
+            .tag("from", "local").tag("reason", "error").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after repeated failures and route straight to the other worker")
+    void hedged_OpenCircuit_SkipsWorker() {
+        // Given - the local worker is down, so two calls fail over and open its circuit
+        AtomicInteger localCalls = new AtomicInteger();
+        Function<RestTemplate, String> call = template -> {
+            if (template == local) {
+                localCalls.incrementAndGet();
+                throw new ResourceAccessException("connection refused");
+            }
+            return "cloud";
+        };
+        router.hedged("daily", "local", GenAIPriority.INTERACTIVE, call);
+        router.hedged("daily", "local", GenAIPriority.INTERACTIVE, call);
+        assertEquals(WorkerCircuitBreaker.State.OPEN, router.circuitState(GenAIWorkerRouter.Worker.LOCAL));
+
+        // When
+        String hedgedResult = router.hedged("daily", "local", GenAIPriority.INTERACTIVE, call);
+        String streamedResult = router.withFailover("weekly_stream", "local", GenAIPriority.WEEKLY, call);
+
+        // Then
+        assertEquals("cloud", hedgedResult);
+        assertEquals("cloud", streamedResult);
+        assertEquals(2, localCalls.get(), "No calls should reach a worker whose circuit is open");
+        assertEquals(2.0, meterRegistry.get("genai_worker_failovers_total")
+            .tag("from", "local").tag("reason", "circuit_open").counters().stream()
+            .mapToDouble(counter -> counter.count()).sum());
+    }
+}
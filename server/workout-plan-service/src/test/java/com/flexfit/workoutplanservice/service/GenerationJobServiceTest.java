@@ -0,0 +1,138 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.model.GenerationJob;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobStatus;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import com.flexfit.workoutplanservice.model.enums.GenerationJobType;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GenerationJobServiceTest {
+
+    private WorkoutPlanService workoutPlanService;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        workoutPlanService = mock(WorkoutPlanService.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run a daily job in the background and expose its result to its owner only")
+    void submit_DailyJob_Succeeds() {
+        // Given
+        GenerationJobService jobService = new GenerationJobService(
+            workoutPlanService, executor, meterRegistry, 2, 10, Duration.ofHours(1));
+        WorkoutPlanGenerationRequest request = buildRequest();
+        DailyWorkoutResponse generated = new DailyWorkoutResponse();
+        when(workoutPlanService.generateWorkoutPlan(any(), anyString(), eq(GenAIPriority.BATCH))).thenReturn(generated);
+
+        // When
+        GenerationJob job = jobService.submit(request, GenerationJobType.DAILY, "Bearer test-token");
+
+        // Then
+        GenerationJob finished = awaitFinished(jobService, job);
+        assertEquals(GenerationJobStatus.SUCCEEDED, finished.getStatus());
+        assertEquals(List.of(generated), finished.getWorkouts());
+        // Another user holding the job id does not get the workouts
+        assertTrue(jobService.getJob(job.getId(), UUID.randomUUID()).isEmpty());
+        assertNotNull(finished.getStartedAt());
+        assertEquals(1L, meterRegistry.get("workout_generation_job_stage_duration_seconds")
+            .tag("stage", "running").tag("type", "DAILY").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should record the error message when generation fails")
+    void submit_WeeklyJob_Fails() {
+        // Given
+        GenerationJobService jobService = new GenerationJobService(
+            workoutPlanService, executor, meterRegistry, 2, 10, Duration.ofHours(1));
+        when(workoutPlanService.generateWeeklyPlan(any(), anyString(), eq(GenAIPriority.BATCH)))
+            .thenThrow(new IllegalStateException("Failed to generate weekly workout plan from GenAI service."));
+
+        // When
+        GenerationJob job = jobService.submit(buildRequest(), GenerationJobType.WEEKLY, "Bearer test-token");
+
+        // Then
+        GenerationJob finished = awaitFinished(jobService, job);
+        assertEquals(GenerationJobStatus.FAILED, finished.getStatus());
+        assertEquals("Failed to generate weekly workout plan from GenAI service.", finished.getError());
+    }
+
+    @Test
+    @DisplayName("Should reject jobs once the waiting queue is full")
+    void submit_QueueFull_Rejects() throws InterruptedException {
+        // Given a single running slot that stays busy and room for one waiting job
+        GenerationJobService jobService = new GenerationJobService(
+            workoutPlanService, executor, meterRegistry, 1, 1, Duration.ofHours(1));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(workoutPlanService.generateWorkoutPlan(any(), anyString(), eq(GenAIPriority.BATCH))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new DailyWorkoutResponse();
+        });
+
+        // When
+        jobService.submit(buildRequest(), GenerationJobType.DAILY, "Bearer test-token");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.submit(buildRequest(), GenerationJobType.DAILY, "Bearer test-token");
+
+        // Then
+        assertThrows(RejectedExecutionException.class,
+            () -> jobService.submit(buildRequest(), GenerationJobType.DAILY, "Bearer test-token"));
+        assertEquals(1.0, meterRegistry.get("workout_generation_jobs_queue_depth").gauge().value());
+        release.countDown();
+    }
+
+    private GenerationJob awaitFinished(GenerationJobService jobService, GenerationJob submitted) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            GenerationJob job = jobService.getJob(submitted.getId(), submitted.getUserId()).orElseThrow();
+            // The runner records its timings just after publishing the result
+            if (job.isFinished() && meterRegistry.get("workout_generation_jobs_running").gauge().value() == 0) {
+                return job;
+            }
+            Thread.onSpinWait();
+        }
+        fail("Job did not finish in time");
+        return null;
+    }
+
+    private WorkoutPlanGenerationRequest buildRequest() {
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.gains.GenAIDailyWorkout;
+import com.flexfit.workoutplanservice.dto.gains.GenAIExercise;
+import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateWorkoutGeneratorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private final TemplateWorkoutGenerator generator =
+        new TemplateWorkoutGenerator(true, Duration.ofSeconds(20), Duration.ofSeconds(90));
+
+    @Test
+    @DisplayName("Should only pick exercises for the sport that use the user's equipment and avoid disliked ones")
+    void generate_FiltersBySportEquipmentAndDislikes() {
+        // Given
+        UserPreferencesResponse preferences = preferences("INTERMEDIATE", List.of("KETTLEBELL"), List.of("push-up", "Burpees"));
+
+        // When
+        GenAIDailyWorkout workout = generator.generate(preferences, DAY, SportType.STRENGTH, 45);
+
+        // Then
+        assertEquals("STRENGTH", workout.focus_sport_type_for_the_day());
+        assertFalse(workout.scheduled_exercises().isEmpty());
+        for (GenAIExercise exercise : workout.scheduled_exercises()) {
+            assertTrue(exercise.applicable_sport_types().contains("STRENGTH"), exercise.exercise_name());
+            assertTrue(Set.of("NO_EQUIPMENT", "KETTLEBELL").containsAll(exercise.equipment_needed()), exercise.exercise_name());
+            assertFalse(exercise.exercise_name().toLowerCase().contains("push-up"), exercise.exercise_name());
+            assertNotEquals("Advanced", exercise.difficulty(), exercise.exercise_name());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fill longer sessions with more exercises and number them in order")
+    void generate_ScalesWithDuration() {
+        // Given
+        UserPreferencesResponse preferences = preferences("ADVANCED", List.of(), List.of());
+
+        // When
+        GenAIDailyWorkout shortWorkout = generator.generate(preferences, DAY, SportType.HIIT, 20);
+        GenAIDailyWorkout longWorkout = generator.generate(preferences, DAY, SportType.HIIT, 75);
+
+        // Then
+        assertTrue(shortWorkout.scheduled_exercises().size() >= TemplateWorkoutGenerator.MIN_EXERCISES);
+        assertTrue(longWorkout.scheduled_exercises().size() > shortWorkout.scheduled_exercises().size());
+        for (int i = 0; i < longWorkout.scheduled_exercises().size(); i++) {
+            assertEquals(i + 1, longWorkout.scheduled_exercises().get(i).sequence_order());
+        }
+        assertTrue(longWorkout.markdown_content().startsWith("# HIIT - "));
+        assertTrue(longWorkout.markdown_content().contains("Date: " + DAY));
+        assertTrue(longWorkout.markdown_content().contains("## Coach's Notes"));
+    }
+
+    @Test
+    @DisplayName("Should give the same workout for the same inputs and vary it across days")
+    void generate_IsDeterministicPerDay() {
+        // Given
+        UserPreferencesResponse preferences = preferences("INTERMEDIATE", List.of("DUMBBELLS_PAIR_MEDIUM"), List.of());
+
+        // When
+        GenAIDailyWorkout first = generator.generate(preferences, DAY, SportType.STRENGTH, 45);
+        GenAIDailyWorkout again = generator.generate(preferences, DAY, SportType.STRENGTH, 45);
+        GenAIDailyWorkout nextDay = generator.generate(preferences, DAY.plusDays(1), SportType.STRENGTH, 45);
+
+        // Then
+        assertEquals(first, again);
+        assertNotEquals(first.scheduled_exercises().get(0).exercise_name(),
+            nextDay.scheduled_exercises().get(0).exercise_name());
+    }
+
+    @Test
+    @DisplayName("Should build rest days without exercises")
+    void generate_RestDay() {
+        // When
+        GenAIDailyWorkout workout = generator.generate(null, DAY, SportType.REST, null);
+
+        // Then
+        assertEquals("REST", workout.focus_sport_type_for_the_day());
+        assertTrue(workout.scheduled_exercises().isEmpty());
+        assertTrue(workout.markdown_content().contains("## Rest Day Overview"));
+    }
+
+    private UserPreferencesResponse preferences(String experienceLevel, List<String> equipment, List<String> disliked) {
+        return new UserPreferencesResponse(experienceLevel, null, null, equipment, null, null, null, disliked);
+    }
+}
@@ -0,0 +1,266 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexfit.workoutplanservice.config.GenAIAdmissionProperties;
+import com.flexfit.workoutplanservice.config.GenAIRoutingProperties;
+import com.flexfit.workoutplanservice.config.RootUriTemplateHandler;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.metrics.WorkoutPlanMetrics;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.model.enums.WeeklyGenerationMode;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutMarkdownRepository;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.ExerciseRepository;
+import com.flexfit.workoutplanservice.repository.TrainingLoadDayRepository;
+import com.flexfit.workoutplanservice.repository.ScheduledExerciseRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the single-call and fan-out weekly modes against an in-process stub worker that,
+ * like an LLM, takes a fixed time per generated day. The timing comparison asserts on wall-clock
+ * time and is tagged {@code benchmark}, so it only runs with {@code mvn test -Pbenchmark}; the
+ * default suite checks that fan-out has every day in flight at once without timing anything.
+ */
+class WeeklyGenerationModeBenchmarkTest {
+
+    private static final long DAY_LATENCY_MS = 150;
+    private static final int ITERATIONS = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(WeeklyGenerationModeBenchmarkTest.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger dailyCalls = new AtomicInteger();
+    private final AtomicInteger weeklyCalls = new AtomicInteger();
+    private final AtomicBoolean barrierTimedOut = new AtomicBoolean();
+
+    // When set, day calls wait on it instead of sleeping for the per-day latency
+    private volatile CountDownLatch dayBarrier;
+
+    private HttpServer stubServer;
+    private WorkoutPlanService workoutPlanService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userId = UUID.randomUUID();
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.createContext("/api/v1/users/", exchange -> respond(exchange, 0, userJson()));
+        stubServer.createContext("/generate", this::generateDay);
+        stubServer.createContext("/generate-weekly", exchange -> {
+            weeklyCalls.incrementAndGet();
+            LocalDate start = LocalDate.now();
+            List<Map<String, Object>> days = new ArrayList<>();
+            for (int day = 0; day < 7; day++) {
+                days.add(dayJson(start.plusDays(day).toString(), "STRENGTH"));
+            }
+            respond(exchange, 7 * DAY_LATENCY_MS, Map.of("workouts", days));
+        });
+        stubServer.start();
+
+        RestTemplate stubWorker = new RestTemplate();
+        stubWorker.setUriTemplateHandler(new RootUriTemplateHandler("http://localhost:" + stubServer.getAddress().getPort()));
+
+        DailyWorkoutRepository dailyWorkoutRepository = mock(DailyWorkoutRepository.class);
+        when(dailyWorkoutRepository.findByUserIdAndDayDateBetween(any(), any(), any())).thenReturn(List.of());
+        when(dailyWorkoutRepository.findByUserIdAndDayDateIn(any(), any())).thenReturn(List.of());
+        when(dailyWorkoutRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        workoutPlanService = new WorkoutPlanService(
+            dailyWorkoutRepository,
+            mock(ScheduledExerciseRepository.class),
+            new WorkoutPlanMapper(),
+            new WorkoutPersistenceService(dailyWorkoutRepository, mock(EntityManager.class),
+                new ExerciseCatalog(mock(ExerciseRepository.class), new SimpleMeterRegistry(), 100),
+                mock(TrainingLoadTracker.class), mock(TrainingLoadDayRepository.class),
+                mock(DailyWorkoutMarkdownRepository.class)),
+            new UserProfileCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
+            new GenAIResponseCache(new PromptFingerprinter(), new SimpleMeterRegistry(), 100,
+                Duration.ofHours(1), false, null, Duration.ofDays(1)),
+            new WorkoutPlanMetrics(new SimpleMeterRegistry()),
+            new WeeklySportPlanner(),
+            new BoundedFanOut(14),
+            new GenAIWorkerRouter(stubWorker, stubWorker, new GenAIRoutingProperties(),
+                new GenAIAdmissionController(new GenAIAdmissionProperties(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(), Executors.newVirtualThreadPerTaskExecutor()),
+            new TemplateWorkoutGenerator(true, Duration.ofSeconds(20), Duration.ofSeconds(90)),
+            stubWorker
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Fan-out weekly generation should take about one day's latency instead of seven")
+    void compareWeeklyGenerationModes() {
+        // Warm up the HTTP client and the JIT on both paths
+        generate(WeeklyGenerationMode.SINGLE_CALL);
+        generate(WeeklyGenerationMode.FAN_OUT);
+        dailyCalls.set(0);
+        weeklyCalls.set(0);
+
+        long singleCallMillis = measure(WeeklyGenerationMode.SINGLE_CALL);
+        long fanOutMillis = measure(WeeklyGenerationMode.FAN_OUT);
+
+        logger.info("Weekly generation with {} ms per day: single call {} ms, fan-out {} ms ({}x faster)",
+            DAY_LATENCY_MS, singleCallMillis, fanOutMillis, String.format("%.1f", (double) singleCallMillis / fanOutMillis));
+
+        assertEquals(ITERATIONS, weeklyCalls.get());
+        assertEquals(7 * ITERATIONS, dailyCalls.get());
+        assertTrue(singleCallMillis >= 7 * DAY_LATENCY_MS);
+        assertTrue(fanOutMillis < 3 * DAY_LATENCY_MS, "Fan-out took " + fanOutMillis + " ms per week");
+    }
+
+    @Test
+    @DisplayName("Fan-out weekly generation should have all seven day calls in flight at once")
+    void fanOut_CallsDaysConcurrently() {
+        // Given - each day call is held until all seven have arrived, so a sequential fan-out would stall
+        dayBarrier = new CountDownLatch(7);
+
+        // When
+        List<DailyWorkoutResponse> week = generate(WeeklyGenerationMode.FAN_OUT);
+
+        // Then
+        assertEquals(7, week.size());
+        assertEquals(7, dailyCalls.get());
+        assertEquals(0, weeklyCalls.get());
+        assertFalse(barrierTimedOut.get(), "Day calls were not all in flight at the same time");
+    }
+
+    @Test
+    @DisplayName("Fan-out weekly generation should save the planned sport and date for every day")
+    void fanOut_StampsPlannedDays() {
+        // When
+        List<DailyWorkoutResponse> week = generate(WeeklyGenerationMode.FAN_OUT);
+
+        // Then - the stub always answers STRENGTH, but the stored sport comes from the pre-pass
+        assertEquals(7, week.size());
+        LocalDate start = LocalDate.now();
+        for (int day = 0; day < 7; day++) {
+            assertEquals(start.plusDays(day), week.get(day).getDayDate());
+        }
+        assertEquals(2, week.stream().filter(workout -> workout.getFocusSportTypeForTheDay() == SportType.REST).count());
+        assertTrue(week.stream().map(DailyWorkoutResponse::getFocusSportTypeForTheDay).distinct().count() > 2);
+    }
+
+    private long measure(WeeklyGenerationMode mode) {
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            List<DailyWorkoutResponse> week = generate(mode);
+            total += System.nanoTime() - start;
+            assertEquals(7, week.size());
+        }
+        return total / ITERATIONS / 1_000_000;
+    }
+
+    private List<DailyWorkoutResponse> generate(WeeklyGenerationMode mode) {
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(userId);
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setBypassCache(true);
+        request.setWeeklyMode(mode);
+        return workoutPlanService.generateWeeklyPlan(request, "Bearer test");
+    }
+
+    private void generateDay(HttpExchange exchange) throws IOException {
+        dailyCalls.incrementAndGet();
+        JsonNode dailyFocus = objectMapper.readTree(exchange.getRequestBody()).path("daily_focus");
+        CountDownLatch barrier = dayBarrier;
+        if (barrier != null) {
+            barrier.countDown();
+            try {
+                barrierTimedOut.compareAndSet(false, !barrier.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        respond(exchange, barrier != null ? 0 : DAY_LATENCY_MS, Map.of("daily_workout", dayJson(
+            dailyFocus.path("day_date").asText(), "STRENGTH")));
+    }
+
+    private Map<String, Object> dayJson(String dayDate, String sportType) {
+        Map<String, Object> exercise = Map.ofEntries(
+            Map.entry("sequence_order", 1),
+            Map.entry("exercise_name", "Squat"),
+            Map.entry("description", "Bodyweight squat"),
+            Map.entry("applicable_sport_types", List.of(sportType)),
+            Map.entry("muscle_groups_primary", List.of("Legs")),
+            Map.entry("muscle_groups_secondary", List.of("Core")),
+            Map.entry("equipment_needed", List.of("NO_EQUIPMENT")),
+            Map.entry("difficulty", "Beginner"),
+            Map.entry("prescribed_sets_reps_duration", "3x12"),
+            Map.entry("voice_script_cue_text", "Sit back"),
+            Map.entry("video_url", ""));
+        return Map.of(
+            "day_date", dayDate,
+            "focus_sport_type_for_the_day", sportType,
+            "scheduled_exercises", List.of(exercise),
+            "markdown_content", "# Workout");
+    }
+
+    private Map<String, Object> userJson() {
+        return Map.of(
+            "id", userId.toString(),
+            "username", "bench",
+            "dateOfBirth", "1990-01-01",
+            "heightCm", 180,
+            "weightKg", 75.0,
+            "gender", "MALE",
+            "preferences", Map.of("preferredSportTypes", List.of("STRENGTH", "HIIT", "RUNNING_INTERVALS")));
+    }
+
+    private void respond(HttpExchange exchange, long delayMillis, Object body) throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.config.PregenerationProperties;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.PregenerationRun;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.GenAIPriority;
+import com.flexfit.workoutplanservice.model.enums.PregenerationRunStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.model.enums.WeeklyGenerationMode;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.PregenerationRunRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WeeklyPregenerationServiceTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private PregenerationRunRepository runRepository;
+
+    private final WorkoutPlanService workoutPlanService = mock(WorkoutPlanService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private WeeklyPregenerationService pregenerationService;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        runRepository.deleteAll();
+        PregenerationProperties properties = new PregenerationProperties();
+        properties.setServiceToken("service-token");
+        properties.setParallelism(2);
+        properties.setPageSize(2);
+        pregenerationService = new WeeklyPregenerationService(workoutPlanService, dailyWorkoutRepository,
+            runRepository, executor, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should pregenerate only active users with nothing planned for the week, as batch fan-out requests")
+    void run_GeneratesActiveUsersWithoutPlannedWeek() {
+        // Given
+        List<UUID> unplanned = sortedUserIds(3);
+        unplanned.forEach(userId -> saveWorkout(userId, RUN_DATE.minusDays(2)));
+        UUID alreadyPlanned = UUID.randomUUID();
+        saveWorkout(alreadyPlanned, RUN_DATE.minusDays(1));
+        saveWorkout(alreadyPlanned, RUN_DATE.plusDays(3));
+        UUID inactive = UUID.randomUUID();
+        saveWorkout(inactive, RUN_DATE.minusDays(30));
+
+        // When
+        PregenerationRun run = pregenerationService.run(RUN_DATE).orElseThrow();
+
+        // Then
+        ArgumentCaptor<WorkoutPlanGenerationRequest> requests = ArgumentCaptor.forClass(WorkoutPlanGenerationRequest.class);
+        verify(workoutPlanService, times(3)).generateWeeklyPlan(requests.capture(), eq("Bearer service-token"), eq(GenAIPriority.BATCH));
+        assertEquals(unplanned, requests.getAllValues().stream().map(WorkoutPlanGenerationRequest::getUserId).sorted().toList());
+        requests.getAllValues().forEach(request -> {
+            assertEquals(RUN_DATE, request.getDayDate());
+            assertEquals(WeeklyGenerationMode.FAN_OUT, request.getWeeklyMode());
+        });
+        assertEquals(PregenerationRunStatus.COMPLETED, run.getStatus());
+        assertEquals(3, run.getUsersSucceeded());
+        assertEquals(0, run.getUsersFailed());
+
+        // A later trigger the same night does nothing
+        pregenerationService.run(RUN_DATE);
+        verify(workoutPlanService, times(3)).generateWeeklyPlan(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip a user whose only recent workouts are untouched pregenerated days")
+    void run_PregeneratedOnlyUser_Skipped() {
+        // Given - last active three weeks ago; last week was pregenerated and never opened
+        UUID lapsed = UUID.randomUUID();
+        saveWorkout(lapsed, RUN_DATE.minusDays(21));
+        for (int day = 1; day <= 7; day++) {
+            saveWorkout(lapsed, RUN_DATE.minusDays(day), CompletionStatus.PENDING);
+        }
+        // Feedback on a single day still counts as activity
+        UUID rated = UUID.randomUUID();
+        DailyWorkout ratedDay = pendingWorkout(rated, RUN_DATE.minusDays(3));
+        ratedDay.setRpeOverallFeedback(6);
+        dailyWorkoutRepository.save(ratedDay);
+
+        // When
+        PregenerationRun run = pregenerationService.run(RUN_DATE).orElseThrow();
+
+        // Then
+        verify(workoutPlanService, times(1)).generateWeeklyPlan(argThat(request -> request.getUserId().equals(rated)), anyString(), any());
+        verify(workoutPlanService, never()).generateWeeklyPlan(argThat(request -> request.getUserId().equals(lapsed)), anyString(), any());
+        assertEquals(1, run.getUsersSucceeded());
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted run after its checkpoint and count failures without retrying them")
+    void run_ResumesFromCheckpoint() {
+        // Given - a run that stopped after the first user
+        List<UUID> userIds = sortedUserIds(3);
+        userIds.forEach(userId -> saveWorkout(userId, RUN_DATE.minusDays(2)));
+        PregenerationRun interrupted = new PregenerationRun();
+        interrupted.setRunDate(RUN_DATE);
+        interrupted.setWeekStart(RUN_DATE);
+        interrupted.setStartedAt(Instant.now());
+        interrupted.setCheckpointUserId(userIds.get(0));
+        interrupted.setUsersSucceeded(1);
+        runRepository.save(interrupted);
+        when(workoutPlanService.generateWeeklyPlan(argThat(request -> request.getUserId().equals(userIds.get(2))), anyString(), any()))
+            .thenThrow(new IllegalStateException("worker down"));
+
+        // When
+        PregenerationRun run = pregenerationService.run(RUN_DATE).orElseThrow();
+
+        // Then
+        ArgumentCaptor<WorkoutPlanGenerationRequest> requests = ArgumentCaptor.forClass(WorkoutPlanGenerationRequest.class);
+        verify(workoutPlanService, times(2)).generateWeeklyPlan(requests.capture(), anyString(), any());
+        assertEquals(userIds.subList(1, 3), requests.getAllValues().stream().map(WorkoutPlanGenerationRequest::getUserId).sorted().toList());
+        assertEquals(PregenerationRunStatus.COMPLETED, run.getStatus());
+        assertEquals(1, run.getResumeCount());
+        assertEquals(2, run.getUsersSucceeded());
+        assertEquals(1, run.getUsersFailed());
+        assertEquals(userIds.get(2), run.getCheckpointUserId());
+    }
+
+    // The database orders UUIDs by their unsigned bytes; these share a prefix so both orders agree
+    private List<UUID> sortedUserIds(int count) {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            userIds.add(new UUID(0x1000L, i));
+        }
+        userIds.sort(Comparator.naturalOrder());
+        return userIds;
+    }
+
+    private void saveWorkout(UUID userId, LocalDate dayDate) {
+        saveWorkout(userId, dayDate, CompletionStatus.COMPLETED);
+    }
+
+    private void saveWorkout(UUID userId, LocalDate dayDate, CompletionStatus status) {
+        DailyWorkout workout = pendingWorkout(userId, dayDate);
+        workout.setCompletionStatus(status);
+        dailyWorkoutRepository.save(workout);
+    }
+
+    private DailyWorkout pendingWorkout(UUID userId, LocalDate dayDate) {
+        DailyWorkout workout = new DailyWorkout();
+        workout.setUserId(userId);
+        workout.setDayDate(dayDate);
+        workout.setFocusSportTypeForTheDay(SportType.STRENGTH);
+        return workout;
+    }
+}
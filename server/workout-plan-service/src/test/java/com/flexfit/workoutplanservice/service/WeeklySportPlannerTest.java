@@ -0,0 +1,89 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklySportPlannerTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 10);
+
+    private final WeeklySportPlanner planner = new WeeklySportPlanner();
+
+    @Test
+    @DisplayName("Should rest twice a week and never train more than three days in a row")
+    void plan_SpreadsRestDays() {
+        // Given - the user trained on each of the three days before the week
+        List<DailyWorkout> history = List.of(
+            workout(START.minusDays(3), SportType.STRENGTH),
+            workout(START.minusDays(2), SportType.HIIT),
+            workout(START.minusDays(1), SportType.STRENGTH));
+
+        // When
+        List<SportType> week = planner.plan(preferences("STRENGTH", "HIIT", "YOGA_MOBILITY"), history, START, 7);
+
+        // Then
+        assertEquals(7, week.size());
+        assertEquals(SportType.REST, week.get(0), "Three training days before the week should force a rest day");
+        assertEquals(2, week.stream().filter(sport -> sport == SportType.REST).count());
+        int streak = 0;
+        for (SportType sport : week) {
+            streak = sport == SportType.REST ? 0 : streak + 1;
+            assertTrue(streak <= WeeklySportPlanner.MAX_CONSECUTIVE_TRAINING_DAYS, "Plan was " + week);
+        }
+    }
+
+    @Test
+    @DisplayName("Should rotate preferred sports by least recent use without repeating a day")
+    void plan_RotatesLeastRecentlyUsedSports() {
+        // Given - yoga is the sport done longest ago, strength the most recent
+        List<DailyWorkout> history = List.of(
+            workout(START.minusDays(5), SportType.YOGA_MOBILITY),
+            workout(START.minusDays(4), SportType.HIIT),
+            workout(START.minusDays(2), SportType.STRENGTH));
+        UserPreferencesResponse preferences = preferences("STRENGTH", "HIIT", "YOGA_MOBILITY", "NOT_A_SPORT");
+
+        // When
+        List<SportType> week = planner.plan(preferences, history, START, 7);
+
+        // Then
+        assertEquals(SportType.YOGA_MOBILITY, week.get(0));
+        assertEquals(SportType.HIIT, week.get(1));
+        for (int day = 1; day < week.size(); day++) {
+            assertTrue(week.get(day) == SportType.REST || week.get(day) != week.get(day - 1), "Plan was " + week);
+        }
+        assertEquals(week, planner.plan(preferences, new ArrayList<>(history.reversed()), START, 7),
+            "The same inputs should always give the same week");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default rotation when the user has no preferred sports")
+    void plan_WithoutPreferences_UsesDefaultRotation() {
+        // When
+        List<SportType> week = planner.plan(null, List.of(), START, 7);
+
+        // Then
+        assertEquals(List.of(SportType.STRENGTH, SportType.HIIT, SportType.RUNNING_INTERVALS, SportType.REST,
+            SportType.YOGA_MOBILITY, SportType.STRENGTH, SportType.REST), week);
+    }
+
+    private UserPreferencesResponse preferences(String... sportTypes) {
+        return new UserPreferencesResponse("BEGINNER", List.of(), List.of(sportTypes), List.of(),
+            null, null, null, List.of());
+    }
+
+    private DailyWorkout workout(LocalDate date, SportType sport) {
+        DailyWorkout workout = new DailyWorkout();
+        workout.setDayDate(date);
+        workout.setFocusSportTypeForTheDay(sport);
+        return workout;
+    }
+}
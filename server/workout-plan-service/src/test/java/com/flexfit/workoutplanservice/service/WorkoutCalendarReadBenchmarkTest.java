@@ -0,0 +1,181 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.config.JacksonConfig;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutFields;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares a 30-day calendar read in the default list view with the summary view: statements,
+ * serialized payload and time. Timings are logged for reference only; the statement counts
+ * and payload sizes asserted on are deterministic, so the class runs in the default suite.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutReadService.class, WorkoutPlanMapper.class, WorkoutPersistenceService.class,
+    ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WorkoutCalendarReadBenchmarkTest {
+
+    private static final int DAYS = 30;
+    private static final int EXERCISES_PER_DAY = 6;
+    private static final int ITERATIONS = 5;
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = START.plusDays(DAYS - 1);
+
+    private final Logger logger = LoggerFactory.getLogger(WorkoutCalendarReadBenchmarkTest.class);
+
+    // Configured like the application's mapper, so responses are trimmed the same way
+    private final ObjectMapper objectMapper = applicationObjectMapper();
+
+    @Autowired
+    private WorkoutReadService workoutReadService;
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        userId = UUID.randomUUID();
+        persistenceService.saveWeeklyWorkouts(buildWorkouts(TestWorkouts.inFreshNamespace(exerciseCatalog)));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should read a month's summary in one statement and a fraction of the full payload")
+    void readRange_SummaryView_SmallerAndSingleStatement() throws Exception {
+        Measurement full = measure("list", WorkoutFields.LIST);
+        Measurement summary = measure("summary", WorkoutFields.SUMMARY);
+
+        List<DailyWorkoutResponse> workouts = workoutReadService.getWorkoutsByUserAndDateRange(userId, START, END, WorkoutFields.SUMMARY);
+        assertEquals(DAYS, workouts.size());
+        DailyWorkoutResponse first = workouts.get(0);
+        assertEquals(START, first.getDayDate());
+        assertEquals(SportType.STRENGTH, first.getFocusSportTypeForTheDay());
+        assertEquals(CompletionStatus.COMPLETED, first.getCompletionStatus());
+        assertNull(first.getScheduledExercises());
+
+        // Only the selected properties are written
+        Map<?, ?> json = objectMapper.readValue(writer(WorkoutFields.SUMMARY).writeValueAsBytes(first), Map.class);
+        assertEquals(List.of("id", "dayDate", "focusSportTypeForTheDay", "completionStatus"), List.copyOf(json.keySet()));
+
+        assertEquals(1, summary.statements());
+        assertTrue(summary.statements() < full.statements());
+        assertTrue(summary.bytes() * 10 < full.bytes(),
+            "Summary payload " + summary.bytes() + " bytes vs full " + full.bytes() + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should read only the listed fields, and exercises only when asked for")
+    void readRange_Fields_PushedDown() {
+        WorkoutFields fields = WorkoutFields.parse(null, "dayDate,rpeOverallFeedback,scheduledExercises", WorkoutFields.LIST);
+
+        statistics.clear();
+        List<DailyWorkoutResponse> workouts = workoutReadService.getWorkoutsByUserAndDateRange(userId, START, END, fields);
+
+        assertEquals(DAYS, workouts.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        DailyWorkoutResponse first = workouts.get(0);
+        assertEquals(7, first.getRpeOverallFeedback());
+        assertNull(first.getFocusSportTypeForTheDay());
+        assertEquals(EXERCISES_PER_DAY, first.getScheduledExercises().size());
+        assertEquals("dayDate+rpeOverallFeedback+scheduledExercises", fields.variant());
+    }
+
+    private Measurement measure(String label, WorkoutFields fields) throws Exception {
+        ObjectWriter writer = writer(fields);
+        writer.writeValueAsBytes(workoutReadService.getWorkoutsByUserAndDateRange(userId, START, END, fields)); // warm up
+        statistics.clear();
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = writer.writeValueAsBytes(workoutReadService.getWorkoutsByUserAndDateRange(userId, START, END, fields)).length;
+        }
+        long averageMicros = (System.nanoTime() - start) / ITERATIONS / 1_000;
+        long statements = statistics.getPrepareStatementCount() / ITERATIONS;
+        logger.info("Calendar read [{}]: {} statements, {} bytes, {} us per read", label, statements, bytes, averageMicros);
+        return new Measurement(statements, bytes, averageMicros);
+    }
+
+    private ObjectWriter writer(WorkoutFields fields) {
+        return fields.isFull() ? objectMapper.writer() : objectMapper.writer(fields.filters());
+    }
+
+    private static ObjectMapper applicationObjectMapper() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().workoutFieldsFilter().customize(builder);
+        return builder.build();
+    }
+
+    private List<DailyWorkout> buildWorkouts(TestWorkouts workouts) {
+        List<DailyWorkout> days = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            DailyWorkout workout = workouts.workout(userId, START.plusDays(day),
+                TestWorkouts.numbered("Calendar exercise", EXERCISES_PER_DAY));
+            workout.setCompletionStatus(CompletionStatus.COMPLETED);
+            workout.setRpeOverallFeedback(7);
+            workout.setCompletionNotes("Felt strong on the last sets");
+            workout.setMarkdownContent("# Day " + day);
+            for (ScheduledExercise exercise : workout.getScheduledExercises()) {
+                exercise.setPrescribedSetsRepsDuration("3 sets of 10 reps");
+                exercise.setVoiceScriptCueText("Keep your core braced and move with control through the full range.");
+                Exercise catalogEntry = exercise.getExercise();
+                catalogEntry.setDescription("A compound movement for the upper body.");
+                catalogEntry.setApplicableSportTypes(List.of(SportType.STRENGTH));
+                catalogEntry.setMuscleGroupsPrimary(List.of("Chest", "Triceps"));
+                catalogEntry.setMuscleGroupsSecondary(List.of("Shoulders"));
+            }
+            days.add(workout);
+        }
+        return days;
+    }
+
+    private record Measurement(long statements, long bytes, long averageMicros) {}
+}
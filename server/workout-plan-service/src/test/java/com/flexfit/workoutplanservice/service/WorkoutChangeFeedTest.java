@@ -0,0 +1,155 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.dto.ChangeCursor;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutChangesResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutCompletionUpdate;
+import com.flexfit.workoutplanservice.dto.WorkoutTombstoneResponse;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.enums.CompletionStatus;
+import com.flexfit.workoutplanservice.model.enums.TombstoneType;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the change feed delivers every change exactly up to its cursor: a full sync
+ * first, then only what was created, changed or deleted since, page by page.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutChangeService.class, WorkoutReadService.class, WorkoutPlanMapper.class, CompletionSyncService.class,
+    WorkoutPersistenceService.class, ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"flexfit.changes.settle-time=0s", "flexfit.changes.page-size=2"})
+class WorkoutChangeFeedTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private WorkoutChangeService workoutChangeService;
+
+    @Autowired
+    private CompletionSyncService completionSyncService;
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    private UUID userId;
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should page through a full sync and then return only the changed workouts and tombstones")
+    void getChanges_ReturnsOnlyDelta() {
+        // Given - a full sync over several pages
+        List<DailyWorkout> week = persistenceService.saveWeeklyWorkouts(List.of(
+            workout(DAY, "Push-ups", "Squats"),
+            workout(DAY.plusDays(1), "Lunges"),
+            workout(DAY.plusDays(2), "Plank"),
+            workout(DAY.plusDays(3), "Burpees"),
+            workout(DAY.plusDays(4), "Rows")));
+        // Another user's changes never show up
+        persistenceService.saveDailyWorkout(workouts.workout(UUID.randomUUID(), DAY, "Push-ups"));
+
+        Sync full = drain(ChangeCursor.START);
+        assertEquals(3, full.pages());
+        assertEquals(week.stream().map(DailyWorkout::getId).sorted().toList(),
+            full.workouts().stream().map(DailyWorkoutResponse::getId).sorted().toList());
+        assertEquals(2, full.workouts().stream().filter(w -> w.getDayDate().equals(DAY)).findFirst().orElseThrow()
+            .getScheduledExercises().size());
+        assertTrue(drain(full.cursor()).workouts().isEmpty());
+
+        // When - one workout is completed and another regenerated with fewer exercises
+        DailyWorkout completed = week.get(1);
+        completionSyncService.sync(userId, List.of(
+            new WorkoutCompletionUpdate(completed.getId(), completed.getVersion(), CompletionStatus.COMPLETED, 7, null, null)));
+        UUID removedExercise = week.get(0).getScheduledExercises().get(1).getId();
+        persistenceService.saveDailyWorkout(workout(DAY, "Push-ups"));
+
+        // Then
+        Sync delta = drain(full.cursor());
+        assertEquals(List.of(completed.getId(), week.get(0).getId()),
+            delta.workouts().stream().map(DailyWorkoutResponse::getId).toList());
+        assertEquals(CompletionStatus.COMPLETED, delta.workouts().get(0).getCompletionStatus());
+        assertEquals(1, delta.workouts().get(1).getScheduledExercises().size());
+        assertEquals(1, delta.tombstones().size());
+        WorkoutTombstoneResponse tombstone = delta.tombstones().get(0);
+        assertEquals(TombstoneType.SCHEDULED_EXERCISE, tombstone.getEntityType());
+        assertEquals(removedExercise, tombstone.getId());
+        assertEquals(week.get(0).getId(), tombstone.getDailyWorkoutId());
+
+        assertTrue(drain(delta.cursor()).workouts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered cursors and expire ones older than the tombstone retention")
+    void cursor_DecodeAndExpiry() {
+        ChangeCursor cursor = new ChangeCursor(Instant.parse("2025-03-10T07:30:00.123456Z"), UUID.randomUUID());
+        assertEquals(cursor, ChangeCursor.decode(cursor.encode()));
+        assertEquals(ChangeCursor.START, ChangeCursor.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode("not-a-cursor"));
+
+        assertTrue(workoutChangeService.isExpired(new ChangeCursor(Instant.now().minus(Duration.ofDays(31)), null)));
+        assertFalse(workoutChangeService.isExpired(new ChangeCursor(Instant.now().minus(Duration.ofDays(1)), null)));
+        assertFalse(workoutChangeService.isExpired(ChangeCursor.START));
+    }
+
+    // Polls until the feed has no more pages, as a client catching up would
+    private Sync drain(String cursor) {
+        return drain(ChangeCursor.decode(cursor));
+    }
+
+    private Sync drain(ChangeCursor cursor) {
+        List<DailyWorkoutResponse> workouts = new ArrayList<>();
+        List<WorkoutTombstoneResponse> tombstones = new ArrayList<>();
+        int pages = 0;
+        WorkoutChangesResponse response;
+        do {
+            response = workoutChangeService.getChanges(userId, cursor);
+            workouts.addAll(response.getWorkouts());
+            tombstones.addAll(response.getTombstones());
+            cursor = ChangeCursor.decode(response.getCursor());
+            pages++;
+        } while (response.isHasMore());
+        return new Sync(workouts, tombstones, response.getCursor(), pages);
+    }
+
+    private DailyWorkout workout(LocalDate day, String... exerciseNames) {
+        return workouts.workout(userId, day, exerciseNames);
+    }
+
+    private record Sync(List<DailyWorkoutResponse> workouts, List<WorkoutTombstoneResponse> tombstones,
+                        String cursor, int pages) {}
+}
@@ -0,0 +1,134 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.HistoryPageToken;
+import com.flexfit.workoutplanservice.dto.WorkoutHistoryPage;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the workout history pages newest first without gaps or repeats, and that a
+ * deep page takes the same statements as the first one.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutHistoryService.class, WorkoutReadService.class, WorkoutPlanMapper.class, WorkoutPersistenceService.class,
+    ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WorkoutHistoryPaginationTest {
+
+    private static final int DAYS = 45;
+    private static final int PAGE_SIZE = 10;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private WorkoutHistoryService workoutHistoryService;
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        userId = UUID.randomUUID();
+        persistenceService.saveWeeklyWorkouts(buildWorkouts(userId));
+        // Another user's history must not leak into the pages
+        persistenceService.saveWeeklyWorkouts(buildWorkouts(UUID.randomUUID()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should page through the whole history newest first in a fixed number of statements per page")
+    void getHistory_KeysetPages() {
+        List<DailyWorkoutResponse> all = new ArrayList<>();
+        List<Long> statementsPerPage = new ArrayList<>();
+        HistoryPageToken token = null;
+        WorkoutHistoryPage page;
+        do {
+            statistics.clear();
+            page = workoutHistoryService.getHistory(userId, token, PAGE_SIZE);
+            statementsPerPage.add(statistics.getPrepareStatementCount());
+            all.addAll(page.getWorkouts());
+            token = HistoryPageToken.decode(page.getNextPageToken());
+        } while (token != null);
+
+        // Every workout once, newest first, each with its exercises
+        assertEquals(DAYS, all.size());
+        assertEquals(all.stream().map(DailyWorkoutResponse::getDayDate).sorted(Comparator.reverseOrder()).toList(),
+            all.stream().map(DailyWorkoutResponse::getDayDate).toList());
+        assertEquals(DAYS, all.stream().map(DailyWorkoutResponse::getId).distinct().count());
+        all.forEach(workout -> assertEquals(2, workout.getScheduledExercises().size()));
+
+        // The last page is partial; every page, however deep, costs the same
+        assertEquals(5, statementsPerPage.size());
+        assertEquals(DAYS % PAGE_SIZE, page.getWorkouts().size());
+        statementsPerPage.forEach(statements -> assertEquals(2L, statements));
+    }
+
+    @Test
+    @DisplayName("Should not shift pages when newer workouts are added, and reject bad tokens and sizes")
+    void getHistory_StableAndValidated() {
+        WorkoutHistoryPage first = workoutHistoryService.getHistory(userId, null, PAGE_SIZE);
+        HistoryPageToken token = HistoryPageToken.decode(first.getNextPageToken());
+
+        // A new day at the top of the history does not move the next page
+        persistenceService.saveDailyWorkout(workout(userId, START.plusDays(DAYS)));
+        WorkoutHistoryPage second = workoutHistoryService.getHistory(userId, token, PAGE_SIZE);
+        assertEquals(first.getWorkouts().get(PAGE_SIZE - 1).getDayDate().minusDays(1), second.getWorkouts().get(0).getDayDate());
+
+        assertNull(workoutHistoryService.getHistory(userId, null, 100).getNextPageToken());
+        assertThrows(IllegalArgumentException.class, () -> workoutHistoryService.getHistory(userId, null, 101));
+        assertThrows(IllegalArgumentException.class, () -> workoutHistoryService.getHistory(userId, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> HistoryPageToken.decode("bm90LWEtdG9rZW4"));
+    }
+
+    private List<DailyWorkout> buildWorkouts(UUID owner) {
+        List<DailyWorkout> workouts = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            workouts.add(workout(owner, START.plusDays(day)));
+        }
+        return workouts;
+    }
+
+    private DailyWorkout workout(UUID owner, LocalDate day) {
+        return workouts.workout(owner, day, "History exercise 1", "History exercise 2");
+    }
+}
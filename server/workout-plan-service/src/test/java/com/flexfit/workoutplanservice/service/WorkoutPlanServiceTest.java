@@ -4,28 +4,56 @@ import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
 import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
 import com.flexfit.workoutplanservice.model.DailyWorkout;
 import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutMarkdownRepository;
 import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.flexfit.workoutplanservice.repository.ExerciseRepository;
+import com.flexfit.workoutplanservice.repository.TrainingLoadDayRepository;
 import com.flexfit.workoutplanservice.repository.ScheduledExerciseRepository;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import com.flexfit.workoutplanservice.dto.user.UserResponse;
 import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
 import com.flexfit.workoutplanservice.dto.gains.GenAIResponse;
 import com.flexfit.workoutplanservice.dto.gains.GenAIDailyWorkout;
+import com.flexfit.workoutplanservice.dto.gains.GenAIWeeklyResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+import com.flexfit.workoutplanservice.config.GenAIAdmissionProperties;
+import com.flexfit.workoutplanservice.config.GenAIRoutingProperties;
+import com.flexfit.workoutplanservice.metrics.WorkoutPlanMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +70,9 @@ class WorkoutPlanServiceTest {
     @Mock
     private WorkoutPlanMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     @Mock
     private RestTemplate userSvcRestTemplate;
 
@@ -53,16 +84,35 @@ class WorkoutPlanServiceTest {
 
     private WorkoutPlanService workoutPlanService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        workoutPlanService = new WorkoutPlanService(
+        meterRegistry = new SimpleMeterRegistry();
+        workoutPlanService = newService(new TemplateWorkoutGenerator(true, Duration.ofSeconds(20), Duration.ofSeconds(90)));
+    }
+
+    private WorkoutPlanService newService(TemplateWorkoutGenerator templateGenerator) {
+        return new WorkoutPlanService(
             dailyWorkoutRepository,
             scheduledExerciseRepository,
             mapper,
-            userSvcRestTemplate,
-            genaiCloudRestTemplate,
-            genaiLocalRestTemplate
+            new WorkoutPersistenceService(dailyWorkoutRepository, entityManager,
+                new ExerciseCatalog(mock(ExerciseRepository.class), new SimpleMeterRegistry(), 100),
+                mock(TrainingLoadTracker.class), mock(TrainingLoadDayRepository.class),
+                mock(DailyWorkoutMarkdownRepository.class)),
+            new UserProfileCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
+            new GenAIResponseCache(new PromptFingerprinter(), new SimpleMeterRegistry(), 100,
+                Duration.ofHours(1), false, null, Duration.ofDays(1)),
+            new WorkoutPlanMetrics(meterRegistry),
+            new WeeklySportPlanner(),
+            new BoundedFanOut(7),
+            new GenAIWorkerRouter(genaiCloudRestTemplate, genaiLocalRestTemplate, new GenAIRoutingProperties(),
+                new GenAIAdmissionController(new GenAIAdmissionProperties(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(), Executors.newVirtualThreadPerTaskExecutor()),
+            templateGenerator,
+            userSvcRestTemplate
         );
     }
 
@@ -291,4 +341,345 @@ class WorkoutPlanServiceTest {
         verify(genaiCloudRestTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class));
         verify(genaiLocalRestTemplate, never()).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should fall back to the template generator when both GenAI workers fail")
+    void generateWorkoutPlan_WorkersFail_UsesTemplate() {
+        // Given
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setAiPreference("cloud");
+
+        UserPreferencesResponse mockPreferences = new UserPreferencesResponse(
+            "BEGINNER", null, null, List.of("NO_EQUIPMENT"), null, null, null, null
+        );
+        UserResponse mockUser = new UserResponse(
+            request.getUserId(), "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", mockPreferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(mockUser, HttpStatus.OK));
+        when(genaiCloudRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class)))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+        when(genaiLocalRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class)))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+        when(dailyWorkoutRepository.save(any(DailyWorkout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDailyWorkoutResponse(any(DailyWorkout.class))).thenReturn(new DailyWorkoutResponse());
+
+        // When
+        DailyWorkoutResponse result = workoutPlanService.generateWorkoutPlan(request, "Bearer test-token");
+
+        // Then
+        assertNotNull(result);
+        ArgumentCaptor<DailyWorkout> saved = ArgumentCaptor.forClass(DailyWorkout.class);
+        verify(dailyWorkoutRepository).save(saved.capture());
+        assertFalse(saved.getValue().getScheduledExercises().isEmpty());
+        assertTrue(saved.getValue().getMarkdownContent().startsWith("# STRENGTH - "));
+        assertEquals(1.0, meterRegistry.get("workout_generation_template_total")
+            .tag("operation", "daily").tag("reason", "worker_failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached user profile for repeated generations")
+    void generateWorkoutPlan_RepeatedCalls_FetchProfileOnce() {
+        // Given
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setAiPreference("cloud");
+
+        UserPreferencesResponse mockPreferences = new UserPreferencesResponse(
+            "INTERMEDIATE", null, null, null, null, null, null, null
+        );
+        UserResponse mockUser = new UserResponse(
+            request.getUserId(), "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", mockPreferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(mockUser, HttpStatus.OK));
+
+        GenAIDailyWorkout mockDailyWorkout = new GenAIDailyWorkout(
+            LocalDate.now().toString(), "STRENGTH", List.of(), "Test workout plan"
+        );
+        when(genaiCloudRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class)))
+            .thenReturn(new ResponseEntity<>(new GenAIResponse(mockDailyWorkout), HttpStatus.OK));
+        when(dailyWorkoutRepository.save(any(DailyWorkout.class))).thenReturn(new DailyWorkout());
+        when(mapper.toDailyWorkoutResponse(any(DailyWorkout.class))).thenReturn(new DailyWorkoutResponse());
+
+        // When
+        workoutPlanService.generateWorkoutPlan(request, "Bearer test-token");
+        workoutPlanService.generateWorkoutPlan(request, "Bearer test-token");
+
+        // Then
+        verify(userSvcRestTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent identical requests into one GenAI call and one saved workout")
+    void generateWorkoutPlan_ConcurrentDuplicates_Coalesced() throws Exception {
+        // Given
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setAiPreference("cloud");
+
+        UserPreferencesResponse mockPreferences = new UserPreferencesResponse(
+            "INTERMEDIATE", null, null, null, null, null, null, null
+        );
+        UserResponse mockUser = new UserResponse(
+            request.getUserId(), "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", mockPreferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(mockUser, HttpStatus.OK));
+
+        CountDownLatch genAIEntered = new CountDownLatch(1);
+        CountDownLatch releaseGenAI = new CountDownLatch(1);
+        GenAIDailyWorkout mockDailyWorkout = new GenAIDailyWorkout(
+            LocalDate.now().toString(), "STRENGTH", List.of(), "Test workout plan"
+        );
+        when(genaiCloudRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class)))
+            .thenAnswer(invocation -> {
+                genAIEntered.countDown();
+                releaseGenAI.await(5, TimeUnit.SECONDS);
+                return new ResponseEntity<>(new GenAIResponse(mockDailyWorkout), HttpStatus.OK);
+            });
+        when(dailyWorkoutRepository.save(any(DailyWorkout.class))).thenReturn(new DailyWorkout());
+        when(mapper.toDailyWorkoutResponse(any(DailyWorkout.class))).thenReturn(new DailyWorkoutResponse());
+
+        // When
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<DailyWorkoutResponse> first = executor.submit(() -> workoutPlanService.generateWorkoutPlan(request, "Bearer test-token"));
+        assertTrue(genAIEntered.await(5, TimeUnit.SECONDS));
+        Future<DailyWorkoutResponse> second = executor.submit(() -> workoutPlanService.generateWorkoutPlan(request, "Bearer test-token"));
+        while (meterRegistry.get("workout_generation_coalesced_requests_total").tag("type", "daily").counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        releaseGenAI.countDown();
+
+        // Then
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(genaiCloudRestTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class));
+        verify(dailyWorkoutRepository, times(1)).save(any(DailyWorkout.class));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should not coalesce concurrent requests that differ in aiPreference")
+    void generateWorkoutPlan_ConcurrentDifferentPreference_NotCoalesced() throws Exception {
+        // Given
+        WorkoutPlanGenerationRequest cloudRequest = new WorkoutPlanGenerationRequest();
+        cloudRequest.setUserId(UUID.randomUUID());
+        cloudRequest.setDayDate(LocalDate.now());
+        cloudRequest.setFocusSportType(SportType.STRENGTH);
+        cloudRequest.setTargetDurationMinutes(45);
+        cloudRequest.setAiPreference("cloud");
+        WorkoutPlanGenerationRequest templateRequest = new WorkoutPlanGenerationRequest();
+        templateRequest.setUserId(cloudRequest.getUserId());
+        templateRequest.setDayDate(cloudRequest.getDayDate());
+        templateRequest.setFocusSportType(SportType.STRENGTH);
+        templateRequest.setTargetDurationMinutes(45);
+        templateRequest.setAiPreference("template");
+
+        UserPreferencesResponse mockPreferences = new UserPreferencesResponse(
+            "BEGINNER", null, null, List.of("NO_EQUIPMENT"), null, null, null, null
+        );
+        UserResponse mockUser = new UserResponse(
+            cloudRequest.getUserId(), "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", mockPreferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(mockUser, HttpStatus.OK));
+
+        CountDownLatch genAIEntered = new CountDownLatch(1);
+        CountDownLatch releaseGenAI = new CountDownLatch(1);
+        GenAIDailyWorkout mockDailyWorkout = new GenAIDailyWorkout(
+            LocalDate.now().toString(), "STRENGTH", List.of(), "Test workout plan"
+        );
+        when(genaiCloudRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class)))
+            .thenAnswer(invocation -> {
+                genAIEntered.countDown();
+                releaseGenAI.await(5, TimeUnit.SECONDS);
+                return new ResponseEntity<>(new GenAIResponse(mockDailyWorkout), HttpStatus.OK);
+            });
+        when(dailyWorkoutRepository.save(any(DailyWorkout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDailyWorkoutResponse(any(DailyWorkout.class))).thenAnswer(invocation -> new DailyWorkoutResponse());
+
+        // When - the template request arrives while the cloud call for the same day is in flight
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<DailyWorkoutResponse> cloud = executor.submit(() -> workoutPlanService.generateWorkoutPlan(cloudRequest, "Bearer test-token"));
+        assertTrue(genAIEntered.await(5, TimeUnit.SECONDS));
+        DailyWorkoutResponse template = executor.submit(() -> workoutPlanService.generateWorkoutPlan(templateRequest, "Bearer test-token"))
+            .get(5, TimeUnit.SECONDS);
+
+        // Then - it was answered from the template without waiting for the cloud call
+        assertFalse(cloud.isDone());
+        releaseGenAI.countDown();
+        assertNotSame(cloud.get(5, TimeUnit.SECONDS), template);
+        assertEquals(0.0, meterRegistry.get("workout_generation_coalesced_requests_total").tag("type", "daily").counter().count());
+        verify(genaiCloudRestTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class));
+        verify(dailyWorkoutRepository, times(2)).save(any(DailyWorkout.class));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should save and emit each streamed weekly day before reading the next one")
+    void streamWeeklyPlan_SavesEachDayAsItArrives() throws Exception {
+        // Given
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setAiPreference("local");
+
+        UserPreferencesResponse mockPreferences = new UserPreferencesResponse(
+            "INTERMEDIATE", null, null, null, null, null, null, null
+        );
+        UserResponse mockUser = new UserResponse(
+            request.getUserId(), "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", mockPreferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(mockUser, HttpStatus.OK));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        StringBuilder ndjson = new StringBuilder();
+        for (int day = 0; day < 3; day++) {
+            ndjson.append(objectMapper.writeValueAsString(new GenAIDailyWorkout(
+                LocalDate.now().plusDays(day).toString(), "HIIT", List.of(), "Day " + day))).append("\n");
+        }
+        when(genaiLocalRestTemplate.execute(eq("/generate-weekly/stream"), eq(HttpMethod.POST), any(), any()))
+            .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3)
+                .extractData(new MockClientHttpResponse(ndjson.toString().getBytes(StandardCharsets.UTF_8), HttpStatus.OK)));
+        when(dailyWorkoutRepository.save(any(DailyWorkout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDailyWorkoutResponse(any(DailyWorkout.class))).thenAnswer(invocation -> {
+            DailyWorkoutResponse response = new DailyWorkoutResponse();
+            response.setDayDate(invocation.<DailyWorkout>getArgument(0).getDayDate());
+            return response;
+        });
+
+        // When
+        List<Integer> savesSeenAtEmit = new ArrayList<>();
+        List<DailyWorkoutResponse> days = workoutPlanService.streamWeeklyPlan(request, "Bearer test-token",
+            day -> savesSeenAtEmit.add(mockingDetails(dailyWorkoutRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("save"))
+                .toList().size()));
+
+        // Then
+        assertEquals(3, days.size());
+        assertEquals(LocalDate.now().plusDays(2), days.get(2).getDayDate());
+        assertEquals(List.of(1, 2, 3), savesSeenAtEmit);
+        verify(genaiLocalRestTemplate, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(GenAIWeeklyResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should complete a stalled weekly stream from the template library once the deadline passes")
+    void streamWeeklyPlan_WorkerStalls_FillsRemainingDaysFromTemplate() throws Exception {
+        // Given - a worker that streams two days and then stops responding
+        WorkoutPlanService service = newService(new TemplateWorkoutGenerator(true, Duration.ofSeconds(20), Duration.ofMillis(300)));
+        WorkoutPlanGenerationRequest request = weeklyStreamRequest(LocalDate.now());
+        InputStream stalling = new SequenceInputStream(
+            new ByteArrayInputStream(streamedDays(LocalDate.now(), 2).getBytes(StandardCharsets.UTF_8)),
+            new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        Thread.sleep(Long.MAX_VALUE);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException("Stream cancelled");
+                    }
+                    return -1;
+                }
+            });
+        mockWeeklyStream(stalling);
+
+        // When
+        List<DailyWorkoutResponse> emitted = new ArrayList<>();
+        List<DailyWorkoutResponse> days = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> service.streamWeeklyPlan(request, "Bearer test-token", emitted::add));
+
+        // Then - the streamed days are kept and the rest of the week is emitted as ordinary days
+        assertEquals(days, emitted);
+        assertEquals(7, days.size());
+        assertEquals(List.of("Day 0", "Day 1"), days.subList(0, 2).stream().map(DailyWorkoutResponse::getMarkdownContent).toList());
+        for (int day = 0; day < 7; day++) {
+            assertEquals(LocalDate.now().plusDays(day), days.get(day).getDayDate());
+        }
+        assertTrue(days.subList(2, 7).stream().allMatch(day -> day.getMarkdownContent().startsWith("# ")));
+        assertEquals(1.0, meterRegistry.get("workout_generation_template_total")
+            .tag("operation", "weekly").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should date streamed and fallback days from the request when the worker's week starts elsewhere")
+    void streamWeeklyPlan_StreamFailsPartway_OneWeekFromRequestDate() throws Exception {
+        // Given - a week starting next Monday; the worker dates its days from today and fails after three
+        LocalDate weekStart = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+        WorkoutPlanGenerationRequest request = weeklyStreamRequest(weekStart);
+        String ndjson = streamedDays(LocalDate.now(), 3) + "{\"error\": \"model crashed\"}\n";
+        mockWeeklyStream(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        List<DailyWorkoutResponse> days = workoutPlanService.streamWeeklyPlan(request, "Bearer test-token", day -> {});
+
+        // Then - exactly the requested week, streamed days first
+        assertEquals(weekStart.datesUntil(weekStart.plusDays(7)).toList(),
+            days.stream().map(DailyWorkoutResponse::getDayDate).toList());
+        assertEquals(List.of("Day 0", "Day 1", "Day 2"), days.subList(0, 3).stream().map(DailyWorkoutResponse::getMarkdownContent).toList());
+        assertTrue(days.subList(3, 7).stream().allMatch(day -> day.getMarkdownContent().startsWith("# ")));
+        assertEquals(1.0, meterRegistry.get("workout_generation_template_total")
+            .tag("operation", "weekly").tag("reason", "worker_failed").counter().count());
+    }
+
+    private WorkoutPlanGenerationRequest weeklyStreamRequest(LocalDate weekStart) {
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(weekStart);
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setAiPreference("local");
+
+        UserPreferencesResponse mockPreferences = new UserPreferencesResponse(
+            "BEGINNER", null, null, List.of("NO_EQUIPMENT"), null, null, null, null
+        );
+        UserResponse mockUser = new UserResponse(
+            request.getUserId(), "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", mockPreferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(mockUser, HttpStatus.OK));
+        return request;
+    }
+
+    // NDJSON lines for HIIT days "Day 0".."Day n-1", dated from the given start
+    private static String streamedDays(LocalDate start, int count) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        StringBuilder ndjson = new StringBuilder();
+        for (int day = 0; day < count; day++) {
+            ndjson.append(objectMapper.writeValueAsString(new GenAIDailyWorkout(
+                start.plusDays(day).toString(), "HIIT", List.of(), "Day " + day))).append("\n");
+        }
+        return ndjson.toString();
+    }
+
+    private void mockWeeklyStream(InputStream body) throws IOException {
+        when(genaiLocalRestTemplate.execute(eq("/generate-weekly/stream"), eq(HttpMethod.POST), any(), any()))
+            .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3)
+                .extractData(new MockClientHttpResponse(body, HttpStatus.OK)));
+        when(dailyWorkoutRepository.save(any(DailyWorkout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDailyWorkoutResponse(any(DailyWorkout.class))).thenAnswer(invocation -> {
+            DailyWorkoutResponse response = new DailyWorkoutResponse();
+            response.setDayDate(invocation.<DailyWorkout>getArgument(0).getDayDate());
+            response.setMarkdownContent(invocation.<DailyWorkout>getArgument(0).getMarkdownContent());
+            return response;
+        });
+    }
+}
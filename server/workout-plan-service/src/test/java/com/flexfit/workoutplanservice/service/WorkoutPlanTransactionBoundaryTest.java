@@ -0,0 +1,158 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutPlanGenerationRequest;
+import com.flexfit.workoutplanservice.dto.gains.GenAIDailyWorkout;
+import com.flexfit.workoutplanservice.dto.gains.GenAIExercise;
+import com.flexfit.workoutplanservice.dto.gains.GenAIResponse;
+import com.flexfit.workoutplanservice.dto.gains.GenAIWeeklyResponse;
+import com.flexfit.workoutplanservice.dto.user.UserPreferencesResponse;
+import com.flexfit.workoutplanservice.dto.user.UserResponse;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies that generation never holds a transaction or a pooled JDBC connection
+ * while it waits on the GenAI worker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "eureka.client.enabled=false",
+    "spring.cloud.discovery.enabled=false",
+    "spring.jpa.open-in-view=false"
+})
+class WorkoutPlanTransactionBoundaryTest {
+
+    @Autowired
+    private WorkoutPlanService workoutPlanService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean(name = "userSvcRestTemplate")
+    private RestTemplate userSvcRestTemplate;
+
+    @MockitoBean(name = "genaiCloudRestTemplate")
+    private RestTemplate genaiCloudRestTemplate;
+
+    @MockitoBean(name = "genaiLocalRestTemplate")
+    private RestTemplate genaiLocalRestTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        dailyWorkoutRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should not hold a transaction or connection during the daily GenAI call")
+    void generateWorkoutPlan_GenAIStage_HoldsNoConnection() throws SQLException {
+        // Given
+        WorkoutPlanGenerationRequest request = buildRequest();
+        mockUserProfile(request.getUserId());
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        when(genaiCloudRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class)))
+            .thenAnswer(invocation -> {
+                assertFalse(TransactionSynchronizationManager.isActualTransactionActive(),
+                    "GenAI call must run outside a transaction");
+                assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections(),
+                    "No JDBC connection may be leased during the GenAI call");
+                return new ResponseEntity<>(new GenAIResponse(buildAiWorkout(request.getDayDate())), HttpStatus.OK);
+            });
+
+        // When
+        DailyWorkoutResponse result = workoutPlanService.generateWorkoutPlan(request, "Bearer test-token");
+
+        // Then
+        assertNotNull(result.getId());
+        assertEquals(1, result.getScheduledExercises().size());
+        assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections());
+        verify(genaiCloudRestTemplate).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should not hold a transaction or connection during the weekly GenAI call")
+    void generateWeeklyPlan_GenAIStage_HoldsNoConnection() throws SQLException {
+        // Given
+        WorkoutPlanGenerationRequest request = buildRequest();
+        mockUserProfile(request.getUserId());
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        when(genaiCloudRestTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(GenAIWeeklyResponse.class)))
+            .thenAnswer(invocation -> {
+                assertFalse(TransactionSynchronizationManager.isActualTransactionActive(),
+                    "GenAI call must run outside a transaction");
+                assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections(),
+                    "No JDBC connection may be leased during the GenAI call");
+                return new ResponseEntity<>(new GenAIWeeklyResponse(List.of(
+                    buildAiWorkout(request.getDayDate()),
+                    buildAiWorkout(request.getDayDate().plusDays(1))
+                )), HttpStatus.OK);
+            });
+
+        // When
+        List<DailyWorkoutResponse> result = workoutPlanService.generateWeeklyPlan(request, "Bearer test-token");
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    private void mockUserProfile(UUID userId) {
+        UserPreferencesResponse preferences = new UserPreferencesResponse(
+            "INTERMEDIATE", null, null, null, null, null, null, null
+        );
+        UserResponse user = new UserResponse(
+            userId, "testuser", "test@example.com",
+            LocalDate.of(1990, 1, 1), 180, 75.0, "M", preferences
+        );
+        when(userSvcRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserResponse.class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>(user, HttpStatus.OK));
+    }
+
+    private GenAIDailyWorkout buildAiWorkout(LocalDate date) {
+        GenAIExercise exercise = new GenAIExercise(
+            1, "Push-ups", "Classic upper body strength exercise",
+            List.of("STRENGTH"), List.of("Chest", "Triceps"), List.of("Shoulders"), List.of("NO_EQUIPMENT"),
+            "Beginner", "3 sets x 12 reps", "Keep your core tight", null
+        );
+        return new GenAIDailyWorkout(date.toString(), "STRENGTH", List.of(exercise), "# Strength");
+    }
+
+    private WorkoutPlanGenerationRequest buildRequest() {
+        WorkoutPlanGenerationRequest request = new WorkoutPlanGenerationRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setDayDate(LocalDate.now());
+        request.setFocusSportType(SportType.STRENGTH);
+        request.setTargetDurationMinutes(45);
+        request.setAiPreference("cloud");
+        return request;
+    }
+}
@@ -0,0 +1,164 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.model.Exercise;
+import com.flexfit.workoutplanservice.model.ScheduledExercise;
+import com.flexfit.workoutplanservice.model.enums.EquipmentItem;
+import com.flexfit.workoutplanservice.model.enums.SportType;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the entity-graph range read with the projection read path over a 90-day range.
+ * Timings are logged for reference; the assertions only cover statement counts and results,
+ * so the class runs in the default suite.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutReadService.class, WorkoutPlanMapper.class, WorkoutPersistenceService.class,
+    ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WorkoutRangeReadBenchmarkTest {
+
+    private static final int DAYS = 90;
+    private static final int EXERCISES_PER_DAY = 6;
+    private static final int ITERATIONS = 5;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final Logger logger = LoggerFactory.getLogger(WorkoutRangeReadBenchmarkTest.class);
+
+    @Autowired
+    private WorkoutReadService workoutReadService;
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private WorkoutPlanMapper mapper;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private UUID userId;
+    private TestWorkouts workouts;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        userId = UUID.randomUUID();
+        persistenceService.saveWeeklyWorkouts(buildWorkouts(userId, DAYS));
+        // Another user's history must not leak into or slow down the range query
+        persistenceService.saveWeeklyWorkouts(buildWorkouts(UUID.randomUUID(), 30));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should read a 90-day range in a fixed number of statements")
+    void readRange_ProjectionPath_BoundedStatements() {
+        LocalDate end = START.plusDays(DAYS - 1);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<DailyWorkoutResponse>> entityPath = () -> readOnly.execute(status ->
+            dailyWorkoutRepository.findByUserIdAndDayDateBetween(userId, START, end).stream()
+                .map(mapper::toDailyWorkoutResponse)
+                .collect(Collectors.toList()));
+        Supplier<List<DailyWorkoutResponse>> projectionPath = () ->
+            workoutReadService.getWorkoutsByUserAndDateRange(userId, START, end);
+
+        Measurement entity = measure("entity graph", entityPath);
+        Measurement projection = measure("projection", projectionPath);
+        Measurement shortRange = measure("projection (7 days)", () ->
+            workoutReadService.getWorkoutsByUserAndDateRange(userId, START, START.plusDays(6)));
+
+        // Same content either way
+        List<DailyWorkoutResponse> expected = entityPath.get();
+        List<DailyWorkoutResponse> actual = projectionPath.get();
+        assertEquals(DAYS, actual.size());
+        assertEquals(
+            expected.stream().map(DailyWorkoutResponse::getId).sorted().toList(),
+            actual.stream().map(DailyWorkoutResponse::getId).sorted().toList());
+        actual.forEach(workout -> {
+            assertEquals(EXERCISES_PER_DAY, workout.getScheduledExercises().size());
+            assertEquals(2, workout.getScheduledExercises().get(0).getMuscleGroupsPrimary().size());
+            assertEquals(List.of(EquipmentItem.DUMBBELLS_PAIR_LIGHT), workout.getScheduledExercises().get(0).getEquipmentNeeded());
+        });
+
+        // Statement count is fixed and independent of range size
+        assertTrue(projection.statements() <= 2, "Projection path used " + projection.statements() + " statements");
+        assertEquals(shortRange.statements(), projection.statements());
+        assertTrue(projection.statements() < entity.statements());
+    }
+
+    private Measurement measure(String label, Supplier<List<DailyWorkoutResponse>> read) {
+        read.get(); // warm up
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        long averageMicros = (System.nanoTime() - start) / ITERATIONS / 1_000;
+        long statements = statistics.getPrepareStatementCount() / ITERATIONS;
+        logger.info("Range read [{}]: {} statements, {} us per read", label, statements, averageMicros);
+        return new Measurement(statements, averageMicros);
+    }
+
+    private List<DailyWorkout> buildWorkouts(UUID owner, int days) {
+        List<DailyWorkout> range = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            DailyWorkout workout = workouts.workout(owner, START.plusDays(day), TestWorkouts.numbered("Exercise", EXERCISES_PER_DAY));
+            workout.setMarkdownContent("# Day " + day);
+            for (ScheduledExercise exercise : workout.getScheduledExercises()) {
+                Exercise catalogEntry = exercise.getExercise();
+                catalogEntry.setApplicableSportTypes(List.of(SportType.STRENGTH));
+                catalogEntry.setMuscleGroupsPrimary(List.of("Chest", "Triceps"));
+                catalogEntry.setMuscleGroupsSecondary(List.of("Shoulders"));
+                catalogEntry.setEquipmentNeeded(List.of(EquipmentItem.DUMBBELLS_PAIR_LIGHT));
+            }
+            range.add(workout);
+        }
+        return range;
+    }
+
+    private record Measurement(long statements, long averageMicros) {}
+}
@@ -0,0 +1,134 @@
+package com.flexfit.workoutplanservice.service;
+
+import com.flexfit.workoutplanservice.TestWorkouts;
+import com.flexfit.workoutplanservice.dto.DailyWorkoutResponse;
+import com.flexfit.workoutplanservice.dto.WorkoutFields;
+import com.flexfit.workoutplanservice.model.DailyWorkout;
+import com.flexfit.workoutplanservice.repository.DailyWorkoutRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the streaming range read hands workouts to the sink in date order across its
+ * keyset pages, and never while a transaction (and its connection) is open.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({WorkoutPersistenceService.class, WorkoutReadService.class, WorkoutPlanMapper.class,
+    ExerciseCatalog.class, TrainingLoadTracker.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkoutRangeStreamingTest {
+
+    // More than one page, ending partway through the last
+    private static final int DAYS = WorkoutReadService.STREAM_PAGE_SIZE + 30;
+    private static final int EXERCISES_PER_DAY = 4;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private WorkoutPersistenceService persistenceService;
+
+    @Autowired
+    private WorkoutReadService workoutReadService;
+
+    @Autowired
+    private DailyWorkoutRepository dailyWorkoutRepository;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        dailyWorkoutRepository.deleteAll();
+        TestWorkouts workouts = TestWorkouts.inFreshNamespace(exerciseCatalog);
+        userId = UUID.randomUUID();
+        persistenceService.saveWeeklyWorkouts(buildDays(workouts, userId, START, DAYS));
+        persistenceService.saveWeeklyWorkouts(buildDays(workouts, UUID.randomUUID(), START, 7));
+    }
+
+    @Test
+    @DisplayName("Should stream every workout in the range in date order with exercises in sequence")
+    void streamWorkoutsByUserAndDateRange_StreamsInOrder() {
+        // Given
+        List<DailyWorkoutResponse> received = new ArrayList<>();
+
+        // When
+        long count = workoutReadService.streamWorkoutsByUserAndDateRange(
+            userId, START, START.plusDays(DAYS - 1), received::add);
+
+        // Then
+        assertEquals(DAYS, count);
+        assertEquals(DAYS, received.size());
+        for (int day = 0; day < DAYS; day++) {
+            DailyWorkoutResponse workout = received.get(day);
+            assertEquals(START.plusDays(day), workout.getDayDate());
+            assertEquals(userId, workout.getUserId());
+            assertEquals(EXERCISES_PER_DAY, workout.getScheduledExercises().size());
+            for (int order = 0; order < EXERCISES_PER_DAY; order++) {
+                assertEquals(order + 1, workout.getScheduledExercises().get(order).getSequenceOrder());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand workouts to the sink only after the page's read transaction has ended")
+    void streamWorkoutsByUserAndDateRange_SinkRunsOutsideTransaction() {
+        // Given
+        List<Boolean> transactionActive = new ArrayList<>();
+
+        // When
+        workoutReadService.streamWorkoutsByUserAndDateRange(userId, START, START.plusDays(DAYS - 1), workout ->
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive()));
+
+        // Then
+        assertEquals(DAYS, transactionActive.size());
+        assertFalse(transactionActive.contains(true));
+    }
+
+    @Test
+    @DisplayName("Should page a summary stream by day even though dayDate is not selected")
+    void streamWorkoutsByUserAndDateRange_FieldsWithoutDayDate_PagesThroughRange() {
+        // Given
+        WorkoutFields fields = WorkoutFields.parse(null, "completionStatus", WorkoutFields.LIST);
+        List<DailyWorkoutResponse> received = new ArrayList<>();
+
+        // When
+        long count = workoutReadService.streamWorkoutsByUserAndDateRange(
+            userId, START, START.plusDays(DAYS - 1), fields, received::add);
+
+        // Then
+        assertEquals(DAYS, count);
+        assertEquals(DAYS, received.stream().map(DailyWorkoutResponse::getId).distinct().count());
+        assertTrue(received.stream().allMatch(workout -> workout.getScheduledExercises() == null));
+    }
+
+    private List<DailyWorkout> buildDays(TestWorkouts workouts, UUID userId, LocalDate startDate, int days) {
+        List<DailyWorkout> range = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            DailyWorkout workout = workouts.workout(userId, startDate.plusDays(day), TestWorkouts.numbered("Exercise", EXERCISES_PER_DAY));
+            workout.getScheduledExercises().forEach(exercise -> exercise.getExercise().setMuscleGroupsPrimary(List.of("Legs")));
+            // Insert in reverse so the test relies on the query ordering, not insertion order
+            Collections.reverse(workout.getScheduledExercises());
+            range.add(workout);
+        }
+        return range;
+    }
+}